@@ -10,14 +10,24 @@ CREATE TABLE IF NOT EXISTS notifications (
     target_type VARCHAR(50),
     target_id BIGINT,
     `read` BOOLEAN NOT NULL DEFAULT FALSE,
+    dispatched BOOLEAN NOT NULL DEFAULT TRUE, -- SSE 전송 여부 (발송함이 false로 저장하고 전송 시 true로 변경)
     created_at DATETIME NOT NULL,
     read_at DATETIME,
     CONSTRAINT FK_notifications_receiver 
         FOREIGN KEY (receiver_id) 
         REFERENCES users (user_id)
-        ON DELETE CASCADE
+        ON DELETE CASCADE,
+    INDEX idx_notifications_receiver_read_created (receiver_id, `read`, created_at),
+    INDEX idx_notifications_receiver_id (receiver_id, notification_id),
+    INDEX idx_notifications_dispatched (dispatched, notification_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
+-- 이미 notifications 테이블이 있는 경우 아래 변경을 실행하세요 (기존 알림은 전송된 것으로 봄)
+-- ALTER TABLE notifications ADD COLUMN dispatched BOOLEAN NOT NULL DEFAULT TRUE AFTER `read`;
+-- CREATE INDEX idx_notifications_receiver_read_created ON notifications (receiver_id, `read`, created_at);
+-- CREATE INDEX idx_notifications_dispatched ON notifications (dispatched, notification_id);
+-- CREATE INDEX idx_notifications_receiver_id ON notifications (receiver_id, notification_id);
+
 -- ============================================
 -- 더미 계정 생성 SQL
 -- ============================================
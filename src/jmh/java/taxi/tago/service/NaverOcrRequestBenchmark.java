@@ -0,0 +1,65 @@
+package taxi.tago.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// OCR 요청 본문 작성 비교 - 이전 방식(Base64 문자열 + Map + ObjectMapper) vs 스트림에 바로 쓰는 방식
+// 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 확인
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NaverOcrRequestBenchmark {
+
+    // 이미지 크기 (바이트)
+    @Param({"200000", "2000000"})
+    private int imageSize;
+
+    private byte[] imageBytes;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final NaverOcrService ocrService = new NaverOcrService(null);
+
+    @Setup
+    public void setUp() {
+        imageBytes = new byte[imageSize];
+        new Random(42).nextBytes(imageBytes);
+    }
+
+    // 이전 방식: Base64 문자열과 요청 Map을 만든 뒤 byte[]로 직렬화
+    @Benchmark
+    public byte[] mapAndBase64String() throws IOException {
+        Map<String, Object> image = new HashMap<>();
+        image.put("format", "jpg");
+        image.put("name", "library_card");
+        image.put("data", Base64.getEncoder().encodeToString(imageBytes));
+        image.put("url", null);
+
+        Map<String, Object> body = new HashMap<>();
+        body.put("version", "V2");
+        body.put("requestId", "benchmark");
+        body.put("timestamp", System.currentTimeMillis());
+        body.put("images", List.of(image));
+        return objectMapper.writeValueAsBytes(body);
+    }
+
+    // 현재 방식: 생성기로 연결 스트림에 바로 씀 (여기서는 버리는 스트림)
+    @Benchmark
+    public void streaming() throws IOException {
+        ocrService.writeOcrBody(OutputStream.nullOutputStream(), "benchmark", imageBytes);
+    }
+}
@@ -0,0 +1,56 @@
+package taxi.tago.util;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import taxi.tago.constant.UserRole;
+import taxi.tago.entity.User;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// JWT 검증 비교 - 매 요청 서명 검증 / 파싱(캐시 없음) vs 검증된 Claims 캐시 사용
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class JwtValidateBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-for-jwt-token-generation-minimum-256-bits";
+
+    private JwtUtil jwtUtil;
+    private JwtParser parser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 86_400_000L, 10_000);
+        parser = Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build();
+
+        User user = new User();
+        user.setId(1L);
+        user.setEmail("benchmark@swu.ac.kr");
+        user.setRole(UserRole.USER);
+        token = jwtUtil.generateToken(user);
+    }
+
+    // 캐시 없음: 요청마다 서명 검증 + JSON 파싱
+    @Benchmark
+    public Object cold() {
+        return parser.parseSignedClaims(token).getPayload();
+    }
+
+    // 캐시 사용: 첫 호출 이후에는 캐시에서 Claims 조회
+    @Benchmark
+    public boolean cached() {
+        return jwtUtil.validateToken(token);
+    }
+}
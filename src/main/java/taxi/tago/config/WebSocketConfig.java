@@ -2,12 +2,18 @@ package taxi.tago.config;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.server.ServerHttpRequest;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
+import org.springframework.web.socket.WebSocketHandler;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
 import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.server.support.DefaultHandshakeHandler;
 import taxi.tago.security.JwtHandshakeInterceptor;
 
+import java.security.Principal;
+import java.util.Map;
+
 // STOMP 기반 WebSocket 설정 클래스
 @Configuration
 @EnableWebSocketMessageBroker
@@ -21,15 +27,29 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
         registry.addEndpoint("/ws") // WebSocket 연결 엔드포인트
                 .setAllowedOriginPatterns("*") // CORS 허용
                 .addInterceptors(jwtHandshakeInterceptor) // handshake 시 JWT 검사 & Principal 설정
+                .setHandshakeHandler(new PrincipalHandshakeHandler()) // 인터셉터가 설정한 Principal을 세션 사용자로 사용
                 .withSockJS(); // WebSocket 미지원 브라우저를 위한 SockJS fallback
     }
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
         // 서버 -> 클라이언트 방향 (브로커가 관리하는 구독 경로 prefix)
-        registry.enableSimpleBroker("/topic");
+        // "/queue"는 사용자별 전송용 ("/user/queue/..." 구독, convertAndSendToUser로 발행)
+        registry.enableSimpleBroker("/topic", "/queue");
+        registry.setUserDestinationPrefix("/user");
 
         // 클라이언트 -> 서버 방향 (@MessageMapping 메서드로 라우팅될 prefix)
         registry.setApplicationDestinationPrefixes("/app");
     }
+
+    // handshake 요청에는 Spring Security 인증 정보가 없을 수 있으므로(?token= 쿼리 파라미터), 인터셉터가 검증 후 넣은 Principal을 사용
+    private static class PrincipalHandshakeHandler extends DefaultHandshakeHandler {
+
+        @Override
+        protected Principal determineUser(ServerHttpRequest request, WebSocketHandler wsHandler,
+                                          Map<String, Object> attributes) {
+            Object principal = attributes.get("principal");
+            return principal instanceof Principal p ? p : super.determineUser(request, wsHandler, attributes);
+        }
+    }
 }
@@ -0,0 +1,8 @@
+package taxi.tago.constant;
+
+public enum OcrJobStatus {
+    PENDING,    // 처리 대기
+    RUNNING,    // OCR 처리 중
+    SUCCEEDED,  // 인증 성공
+    FAILED      // 인증 실패 (인식 실패, 오류 포함)
+}
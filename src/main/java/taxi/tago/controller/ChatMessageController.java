@@ -11,10 +11,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import taxi.tago.dto.chat.ChatMessagePageResponse;
 import taxi.tago.dto.chat.ChatMessageResponse;
 import taxi.tago.dto.chat.ChatMessageSendRequest;
 import taxi.tago.security.CustomUserDetails;
 import taxi.tago.service.ChatMessageService;
+import taxi.tago.util.ChatMessageWriteQueue;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import java.security.Principal;
@@ -30,6 +32,7 @@ public class ChatMessageController {
 
     private final ChatMessageService chatMessageService;
     private final SimpMessagingTemplate messagingTemplate; // 서버 -> 클라이언트 브로드캐스트 용도
+    private final ChatMessageWriteQueue chatMessageWriteQueue; // 비동기 저장 모드 여부 확인용
 
     // WebSocket/STOMP 기반 채팅 메시지 전송 엔드포인트
     // HTTP 관점이 아니라, STOMP 프레임 기준으로 -> 클라이언트가 /app/chat/send로 SEND 하면 이 메서드가 호출됨
@@ -59,7 +62,10 @@ public class ChatMessageController {
         Long senderId = userDetails.getUserId();
 
         // 서비스 계층에 위임해서 권한 검증, 메시지 엔티티 생성 및 저장, ChatMessageResponse DTO 생성
-        ChatMessageResponse response = chatMessageService.sendTextMessage(request, senderId);
+        // 비동기 저장 모드면 순번만 부여된 메시지를 바로 브로드캐스트하고, 저장 결과는 보낸 사람에게 "/user/queue/chat-acks"로 전달
+        ChatMessageResponse response = chatMessageWriteQueue.isEnabled()
+                ? chatMessageService.sendTextMessageAsync(request, userDetails.getUser())
+                : chatMessageService.sendTextMessage(request, senderId);
 
         // 해당 채팅방을 구독 중인 모든 클라이언트에게 브로드캐스트
         // (클라이언트는 "/topic/chatrooms/{chatRoomId}"를 구독하고 있어야 함)
@@ -90,4 +96,26 @@ public class ChatMessageController {
         Long userId = userDetails.getUserId(); // JWT에서 복원된 현재 로그인 유저 ID
         return chatMessageService.getMessages(chatRoomId, userId);
     }
+
+    // HTTP API: 특정 채팅방의 메시지 커서 페이지 조회
+    @GetMapping("/api/chat/rooms/{chatRoomId}/messages/history")
+    @Operation(
+            summary = "채팅방 메시지 커서 페이지 조회",
+            description = """
+                    - 특정 채팅방의 메시지를 최근 것부터 limit개씩 조회합니다. (기본 50개, 최대 100개)
+                    - 채팅방 최초 입장 시에는 beforeMessageId 없이 호출해서 최근 메시지를 불러옵니다.
+                    - 위로 스크롤해서 이전 대화를 불러올 때는 응답의 nextBeforeMessageId를 beforeMessageId로 보냅니다.
+                    - 응답의 messages는 시간순(오래된 -> 최신)으로 정렬되어 있습니다.
+                    - 채팅방 멤버가 아닌 유저가 조회를 시도할 경우 400 에러를 반환합니다.
+                    """
+    )
+    public ChatMessagePageResponse getChatMessageHistory(
+            @PathVariable Long chatRoomId,
+            @RequestParam(required = false) Long beforeMessageId,
+            @RequestParam(required = false) Integer limit,
+            @AuthenticationPrincipal CustomUserDetails userDetails // JWT 기반 인증 정보
+    ) {
+        Long userId = userDetails.getUserId(); // JWT에서 복원된 현재 로그인 유저 ID
+        return chatMessageService.getMessagesBefore(chatRoomId, userId, beforeMessageId, limit);
+    }
 }
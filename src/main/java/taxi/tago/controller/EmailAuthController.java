@@ -1,6 +1,8 @@
 package taxi.tago.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -9,10 +11,12 @@ import taxi.tago.dto.Email.EmailAuthRequest;
 import taxi.tago.dto.Email.EmailAuthResponse;
 import taxi.tago.dto.Email.EmailSendRequest;
 import taxi.tago.dto.Password.PasswordSetRequest;
+import taxi.tago.exception.MailQueueFullException;
 import taxi.tago.service.EmailAuthService;
 import taxi.tago.service.LibraryCardAuthService;
 import taxi.tago.service.LibraryCardAuthService.LibraryCardAuthInfo;
 import taxi.tago.service.User.UserService;
+import taxi.tago.util.VerificationCodeRateLimiter;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -26,6 +30,7 @@ public class EmailAuthController {
     private final EmailAuthService emailAuthService;
     private final UserService userService;
     private final LibraryCardAuthService libraryCardAuthService;
+    private final VerificationCodeRateLimiter verificationCodeRateLimiter;
 
     // 인증 코드 전송
     @PostMapping("/send")
@@ -33,14 +38,27 @@ public class EmailAuthController {
             summary = "인증 코드 전송",
             description = "회원가입을 위한 이메일 인증 코드를 전송합니다."
     )
-    public ResponseEntity<EmailAuthResponse> sendAuthCode(@RequestBody EmailSendRequest request) {
+    public ResponseEntity<EmailAuthResponse> sendAuthCode(@RequestBody EmailSendRequest request, HttpServletRequest httpRequest) {
+        // 서울여대 웹메일 검증 (메일을 보낼 수 없는 요청이 발송 요청 제한 토큰을 쓰지 않도록 제한 확인보다 먼저)
+        if (!EmailAuthService.isSwuEmail(request.getEmail())) {
+            return invalidEmailDomain(request.getEmail());
+        }
+
+        // 발송 요청 제한 확인 (이메일 / IP별, 초과 시 429 + Retry-After)
+        VerificationCodeRateLimiter.Decision decision = verificationCodeRateLimiter.tryAcquire(request.getEmail(), httpRequest);
+        if (!decision.allowed()) {
+            return tooManyRequests(request.getEmail(), decision);
+        }
+
         try {
-            emailAuthService.sendAuthCode(request.getEmail());
+            // 메일은 발송함에서 전송되므로 바로 응답 (발송 요청 ID 포함)
+            String requestId = emailAuthService.sendAuthCode(request.getEmail());
             return ResponseEntity.ok(new EmailAuthResponse(
                     true,
                     "인증 코드가 전송되었습니다.",
                     request.getEmail(),
-                    null
+                    null,
+                    requestId
             ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new EmailAuthResponse(
@@ -49,6 +67,10 @@ public class EmailAuthController {
                     request.getEmail(),
                     null
             ));
+        } catch (MailQueueFullException e) {
+            // 메일을 보내지 못했으므로 사용한 발송 요청 제한 토큰은 돌려줌
+            verificationCodeRateLimiter.refund(request.getEmail(), httpRequest);
+            return mailQueueFull(request.getEmail(), e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new EmailAuthResponse(
                     false,
@@ -130,14 +152,26 @@ public class EmailAuthController {
             summary = "인증 코드 재전송",
             description = "기존 인증 코드를 초기화하고 새로운 인증 코드를 재전송합니다."
     )
-    public ResponseEntity<EmailAuthResponse> resendAuthCode(@RequestBody EmailSendRequest request) {
+    public ResponseEntity<EmailAuthResponse> resendAuthCode(@RequestBody EmailSendRequest request, HttpServletRequest httpRequest) {
+        // 서울여대 웹메일 검증 (메일을 보낼 수 없는 요청이 발송 요청 제한 토큰을 쓰지 않도록 제한 확인보다 먼저)
+        if (!EmailAuthService.isSwuEmail(request.getEmail())) {
+            return invalidEmailDomain(request.getEmail());
+        }
+
+        // 발송 요청 제한 확인 (이메일 / IP별, 초과 시 429 + Retry-After)
+        VerificationCodeRateLimiter.Decision decision = verificationCodeRateLimiter.tryAcquire(request.getEmail(), httpRequest);
+        if (!decision.allowed()) {
+            return tooManyRequests(request.getEmail(), decision);
+        }
+
         try {
-            emailAuthService.resendAuthCode(request.getEmail());
+            String requestId = emailAuthService.resendAuthCode(request.getEmail());
             return ResponseEntity.ok(new EmailAuthResponse(
                     true,
                     "인증 코드가 재전송되었습니다. (기존 코드는 초기화되었습니다.)",
                     request.getEmail(),
-                    null
+                    null,
+                    requestId
             ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new EmailAuthResponse(
@@ -146,6 +180,10 @@ public class EmailAuthController {
                     request.getEmail(),
                     null
             ));
+        } catch (MailQueueFullException e) {
+            // 메일을 보내지 못했으므로 사용한 발송 요청 제한 토큰은 돌려줌
+            verificationCodeRateLimiter.refund(request.getEmail(), httpRequest);
+            return mailQueueFull(request.getEmail(), e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new EmailAuthResponse(
                     false,
@@ -221,5 +259,38 @@ public class EmailAuthController {
             ));
         }
     }
-}
 
+    // 인증 코드 발송 요청 제한 초과 응답
+    private ResponseEntity<EmailAuthResponse> tooManyRequests(String email, VerificationCodeRateLimiter.Decision decision) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()))
+                .body(new EmailAuthResponse(
+                        false,
+                        "인증 코드 요청이 너무 많습니다. " + decision.retryAfterSeconds() + "초 후에 다시 시도해주세요.",
+                        email,
+                        null
+                ));
+    }
+
+    // 서울여대 웹메일이 아닌 경우 응답
+    private ResponseEntity<EmailAuthResponse> invalidEmailDomain(String email) {
+        return ResponseEntity.badRequest().body(new EmailAuthResponse(
+                false,
+                EmailAuthService.SWU_EMAIL_REQUIRED_MESSAGE,
+                email,
+                null
+        ));
+    }
+
+    // 메일 발송함이 가득 찬 경우 응답 (잠시 후 다시 요청하도록 Retry-After 포함)
+    private ResponseEntity<EmailAuthResponse> mailQueueFull(String email, MailQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new EmailAuthResponse(
+                        false,
+                        e.getMessage(),
+                        email,
+                        null
+                ));
+    }
+}
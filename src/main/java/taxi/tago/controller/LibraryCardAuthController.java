@@ -1,13 +1,18 @@
 package taxi.tago.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import taxi.tago.constant.OcrJobStatus;
 import taxi.tago.dto.LibraryCard.LibraryCardAuthResponse;
+import taxi.tago.dto.LibraryCard.LibraryCardOcrJobResponse;
+import taxi.tago.exception.OcrJobInProgressException;
 import taxi.tago.service.LibraryCardAuthService;
 import taxi.tago.service.LibraryCardAuthService.LibraryCardAuthResult;
+import taxi.tago.service.LibraryCardOcrJobService;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -19,36 +24,29 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class LibraryCardAuthController {
 
     private final LibraryCardAuthService libraryCardAuthService;
+    private final LibraryCardOcrJobService libraryCardOcrJobService;
 
-    // 도서관 전자출입증 이미지 업로드 및 OCR 인식 (회원가입 플로우: 비밀번호 설정 완료 후)
+    // 도서관 전자출입증 이미지 업로드 (회원가입 플로우: 비밀번호 설정 완료 후)
+    // OCR은 작업 스레드에서 처리하므로 작업 ID만 바로 응답하고, 결과는 /jobs/{jobId}로 조회
+    // 같은 이메일의 작업이 아직 진행 중이면 409 + 진행 중인 작업 ID (결과를 확인한 뒤 다시 업로드)
     @PostMapping(value = "/upload", consumes = "multipart/form-data")
     @Operation(
-            summary = "도서관 전자출입증 이미지 업로드 및 OCR 인식",
-            description = "도서관 전자출입증 이미지를 업로드하고 OCR을 통해 이름과 학번을 자동으로 추출합니다. 회원가입 플로우에서 비밀번호 설정 완료 후 사용하며, 이메일로 사용자를 찾아 학번과 이름을 업데이트합니다."
+            summary = "도서관 전자출입증 이미지 업로드 및 OCR 인식 요청",
+            description = "도서관 전자출입증 이미지를 업로드하고 OCR 인식 작업을 접수합니다. 회원가입 플로우에서 비밀번호 설정 완료 후 사용하며, 응답의 jobId로 인증 결과(이름, 학번 추출 및 회원가입 완료 여부)를 조회합니다. 같은 이메일의 인증이 진행 중이면 409와 진행 중인 jobId를 반환합니다."
     )
-    public ResponseEntity<LibraryCardAuthResponse> uploadLibraryCard(
+    public ResponseEntity<LibraryCardOcrJobResponse> uploadLibraryCard(
             @RequestParam(name = "email", required = true) String email,
             @RequestParam(name = "image", required = true) MultipartFile imageFile) {
         
         try {
             // 이메일 입력 검증
             if (email == null || email.trim().isEmpty()) {
-                return ResponseEntity.badRequest().body(new LibraryCardAuthResponse(
-                    false,
-                    "이메일을 입력해주세요.",
-                    null,
-                    null
-                ));
+                return ResponseEntity.badRequest().body(failedJobResponse("이메일을 입력해주세요."));
             }
 
             // 이미지 파일 검증
             if (imageFile == null || imageFile.isEmpty()) {
-                return ResponseEntity.badRequest().body(new LibraryCardAuthResponse(
-                    false,
-                    "이미지를 등록해주세요.",
-                    null,
-                    null
-                ));
+                return ResponseEntity.badRequest().body(failedJobResponse("이미지를 등록해주세요."));
             }
 
             // 이미지 파일 형식 검증
@@ -57,40 +55,77 @@ public class LibraryCardAuthController {
                 (!contentType.startsWith("image/jpeg") && 
                  !contentType.startsWith("image/jpg") && 
                  !contentType.startsWith("image/png"))) {
-                return ResponseEntity.badRequest().body(new LibraryCardAuthResponse(
-                    false,
-                    "이미지 파일만 업로드 가능합니다. (JPG, PNG)",
-                    null,
-                    null
-                ));
+                return ResponseEntity.badRequest().body(failedJobResponse("이미지 파일만 업로드 가능합니다. (JPG, PNG)"));
             }
 
-            // OCR 처리 및 사용자 정보 업데이트
-            LibraryCardAuthResult result = libraryCardAuthService.processLibraryCardImageForRegistration(email, imageFile);
+            // OCR 작업 접수 (업로드 파일은 요청이 끝나면 삭제되므로 내용을 읽어서 전달)
+            String jobId = libraryCardOcrJobService.submitRegistration(email, imageFile.getBytes());
 
-            LibraryCardAuthResponse response = new LibraryCardAuthResponse(
-                result.isSuccess(),
-                result.getMessage(),
-                result.getExtractedName(),
-                result.getExtractedStudentId()
-            );
-
-            if (result.isSuccess()) {
-                return ResponseEntity.ok(response);
-            } else {
-                return ResponseEntity.badRequest().body(response);
-            }
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .header(HttpHeaders.LOCATION, "/api/auth/library-card/jobs/" + jobId)
+                    .body(new LibraryCardOcrJobResponse(
+                        jobId,
+                        OcrJobStatus.PENDING,
+                        true,
+                        "인증 요청이 접수되었습니다. 잠시 후 결과를 확인해주세요.",
+                        null,
+                        null
+                    ));
 
+        } catch (OcrJobInProgressException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .header(HttpHeaders.LOCATION, "/api/auth/library-card/jobs/" + e.getJobId())
+                    .body(new LibraryCardOcrJobResponse(
+                        e.getJobId(),
+                        e.getStatus(),
+                        false,
+                        e.getMessage(),
+                        null,
+                        null
+                    ));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(failedJobResponse(e.getMessage()));
+        } catch (IllegalStateException e) {
+            // 작업 큐가 가득 찬 경우
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(failedJobResponse(e.getMessage()));
         } catch (Exception e) {
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new LibraryCardAuthResponse(
-                false,
-                "인증 처리 중 오류가 발생했습니다: " + e.getMessage(),
-                null,
-                null
-            ));
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(failedJobResponse("인증 처리 중 오류가 발생했습니다: " + e.getMessage()));
         }
     }
 
+    // 도서관 전자출입증 OCR 작업 결과 조회 (polling)
+    @GetMapping("/jobs/{jobId}")
+    @Operation(
+            summary = "도서관 전자출입증 OCR 인증 결과 조회",
+            description = "이미지 업로드 시 받은 jobId로 OCR 인증 결과를 조회합니다. status가 PENDING / RUNNING이면 잠시 후 다시 조회하고, SUCCEEDED면 회원가입이 완료된 것입니다."
+    )
+    public ResponseEntity<LibraryCardOcrJobResponse> getOcrJob(
+            @PathVariable String jobId,
+            @RequestParam(name = "email", required = true) String email) { // 업로드 시 사용한 이메일 (다른 사용자의 결과 조회 방지)
+        return libraryCardOcrJobService.getJob(jobId, email)
+                .map(job -> {
+                    LibraryCardAuthResult result = job.result();
+                    if (result == null) {
+                        return ResponseEntity.ok(new LibraryCardOcrJobResponse(
+                            job.jobId(), job.status(), false, "인증 처리 중입니다.", null, null
+                        ));
+                    }
+                    return ResponseEntity.ok(new LibraryCardOcrJobResponse(
+                        job.jobId(),
+                        job.status(),
+                        result.isSuccess(),
+                        result.getMessage(),
+                        result.getExtractedName(),
+                        result.getExtractedStudentId()
+                    ));
+                })
+                .orElse(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body(failedJobResponse("인증 요청을 찾을 수 없습니다. 이미지를 다시 등록해주세요.")));
+    }
+
     // 수동 인증 요청 제출 API
     @PostMapping(value = "/submit", consumes = "multipart/form-data")
     @Operation(
@@ -147,5 +182,9 @@ public class LibraryCardAuthController {
             ));
         }
     }
-}
 
+    // 작업 접수 / 조회 실패 응답
+    private LibraryCardOcrJobResponse failedJobResponse(String message) {
+        return new LibraryCardOcrJobResponse(null, null, false, message, null, null);
+    }
+}
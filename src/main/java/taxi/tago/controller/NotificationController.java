@@ -58,23 +58,46 @@ public class NotificationController {
     @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
     @Operation(
             summary = "SSE 실시간 알림 스트림 연결",
-            description = "클라이언트가 이 엔드포인트에 연결하면 서버에서 알림이 발생할 때마다 실시간으로 이벤트를 전송합니다."
+            description = "클라이언트가 이 엔드포인트에 연결하면 서버에서 알림이 발생할 때마다 실시간으로 이벤트를 전송합니다. " +
+                    "알림 이벤트의 id는 알림 ID이며, 재연결 시 Last-Event-ID 헤더를 보내면 그 이후 놓친 알림을 먼저 전송합니다. " +
+                    "늦게 저장된 알림을 놓치지 않도록 이미 받은 알림이 다시 올 수 있으니 클라이언트는 id로 중복을 제거해야 합니다."
     )
-    public SseEmitter streamNotifications(@RequestParam(name = "userId") Long userId) { // 현재 사용자 ID (쿼리 파라미터)
-        SseEmitter emitter = sseEmitters.create(userId); // SSE 연결 생성
-        
-        // 연결 즉시 초기 이벤트 전송 (연결 확인용)
+    public SseEmitter streamNotifications(
+            @RequestParam(name = "userId") Long userId, // 현재 사용자 ID (쿼리 파라미터)
+            @RequestHeader(name = "Last-Event-ID", required = false) String lastEventIdHeader // 재연결 시 브라우저가 자동으로 보내는 마지막 이벤트 ID
+    ) {
+        Long lastEventId = parseLastEventId(lastEventIdHeader);
+
+        // SSE 연결 생성 (같은 사용자의 다른 탭/기기 연결은 유지, 연결 확인용 초기 이벤트는 SseEmitters에서 전송)
+        // 최근 이벤트 버퍼로 커버되지 않는 경우에만 DB에서 놓친 알림 조회
+        return sseEmitters.create(userId, lastEventId,
+                after -> notificationService.getMissedNotificationEvents(userId, after));
+    }
+
+    // Last-Event-ID 헤더 파싱 (숫자가 아니면 첫 연결로 취급)
+    private Long parseLastEventId(String header) {
+        if (header == null || header.isBlank()) {
+            return null;
+        }
         try {
-            emitter.send(SseEmitter.event()
-                    .name("connect")
-                    .data("SSE 연결이 성공적으로 설정되었습니다."));
-            log.info("SSE 초기 연결 이벤트 전송 성공: userId={}", userId);
-        } catch (Exception e) {
-            log.error("SSE 초기 연결 이벤트 전송 실패: userId={}, error={}", userId, e.getMessage(), e);
-            emitter.completeWithError(e);
+            return Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            log.warn("잘못된 Last-Event-ID 헤더 무시: {}", header);
+            return null;
         }
-        
-        return emitter; // SSE 연결 반환
+    }
+
+    // 모든 알림 읽음 처리 API
+    @PatchMapping("/read-all")
+    @Operation(
+            summary = "모든 알림 읽음 처리",
+            description = "사용자의 미확인 알림을 한 번에 모두 읽음 처리합니다. 읽음 처리된 알림 개수를 반환합니다."
+    )
+    public ResponseEntity<Integer> markAllAsRead(
+            @RequestParam(name = "userId") Long userId // 현재 사용자 ID (쿼리 파라미터)
+    ) {
+        int updated = notificationService.markAllAsRead(userId);
+        return ResponseEntity.ok(updated);
     }
 
     // 알림 읽음 처리 API
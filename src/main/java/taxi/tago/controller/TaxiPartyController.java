@@ -1,6 +1,7 @@
 package taxi.tago.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 import taxi.tago.dto.TaxiPartyDto;
 import taxi.tago.dto.TaxiUserDto;
@@ -11,6 +12,7 @@ import taxi.tago.security.CustomUserDetails;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -52,6 +54,42 @@ public class TaxiPartyController {
         return taxiPartyService.getTaxiParties(userId);
     }
 
+    // 택시팟 목록 스냅샷 조회
+    @GetMapping("/api/taxi-party/snapshot")
+    @Operation(
+            summary = "택시팟 목록 스냅샷 조회",
+            description = "현재 매칭 중인 택시팟 목록과 스냅샷 시점의 이벤트 순번을 조회합니다. " +
+                    "이후 변경은 /user/queue/taxi-parties 구독으로 받고, 순번이 건너뛰면 스냅샷을 다시 조회합니다."
+    )
+    public TaxiPartyDto.FeedSnapshotResponse getTaxiPartySnapshot(
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        Long userId = (userDetails != null) ? userDetails.getUserId() : null;
+
+        return taxiPartyService.getTaxiPartySnapshot(userId);
+    }
+
+    // 택시팟 목록 커서 페이지 조회
+    @GetMapping("/api/taxi-party/feed")
+    @Operation(
+            summary = "택시팟 목록 커서 페이지 조회",
+            description = "현재 상태가 '매칭 중'인 택시팟을 최신순으로 size개씩 조회합니다. " +
+                    "다음 페이지는 응답의 nextCursorCreatedAt, nextCursorId를 cursorCreatedAt, cursorId로 보내 조회합니다. " +
+                    "departure, destination을 보내면 승차지/하차지에 해당 문자열이 포함된 택시팟만 조회합니다."
+    )
+    public TaxiPartyDto.FeedResponse getTaxiPartyFeed(
+            @RequestParam(required = false) String departure,
+            @RequestParam(required = false) String destination,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime cursorCreatedAt,
+            @RequestParam(required = false) Long cursorId,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal CustomUserDetails userDetails
+    ) {
+        Long userId = (userDetails != null) ? userDetails.getUserId() : null;
+
+        return taxiPartyService.getTaxiPartyFeed(userId, departure, destination, cursorCreatedAt, cursorId, size);
+    }
+
     // 택시팟 정보
     @GetMapping("/api/taxi-party/{id}")
     @Operation(
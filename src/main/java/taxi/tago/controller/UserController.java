@@ -1,5 +1,6 @@
 package taxi.tago.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -12,12 +13,17 @@ import taxi.tago.dto.Login.LoginRequest;
 import taxi.tago.dto.Login.LoginResponse;
 import taxi.tago.dto.Password.PasswordResetRequest;
 import taxi.tago.dto.UserMapDto;
+import taxi.tago.exception.MailQueueFullException;
+import taxi.tago.service.EmailAuthService;
 import taxi.tago.service.User.UserMapService;
 import taxi.tago.service.User.UserService;
 import taxi.tago.service.FileStorageService;
 import taxi.tago.repository.UserRepository;
 import taxi.tago.entity.User;
+import taxi.tago.util.DefaultProfileImage;
 import taxi.tago.util.JwtUtil;
+import taxi.tago.util.ProfileThumbnailGenerator;
+import taxi.tago.util.VerificationCodeRateLimiter;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import taxi.tago.security.CustomUserDetails;
@@ -39,11 +45,18 @@ public class UserController {
     // 기본 프로필 이미지 경로
     private static final String DEFAULT_PROFILE_IMAGE = "/images/default.png";
 
+    // 프로필 이미지 캐시 정책 (1분 동안은 그대로 사용, 이후에는 ETag로 변경 여부 확인)
+    private static final org.springframework.http.CacheControl PROFILE_IMAGE_CACHE_CONTROL =
+            org.springframework.http.CacheControl.maxAge(java.time.Duration.ofMinutes(1)).mustRevalidate();
+
     private final UserMapService userMapService;
     private final UserService userService;
     private final FileStorageService fileStorageService;
     private final UserRepository userRepository;
     private final JwtUtil jwtUtil;
+    private final DefaultProfileImage defaultProfileImage; // 시작 시 읽어 둔 기본 프로필 이미지
+    private final ProfileThumbnailGenerator profileThumbnailGenerator; // 프로필 사진 썸네일 조회용
+    private final VerificationCodeRateLimiter verificationCodeRateLimiter; // 비밀번호 변경 인증코드 발송 제한
 
     // 사용자 로그인
     @PostMapping("/api/login")
@@ -127,14 +140,18 @@ public class UserController {
     @GetMapping("/api/map")
     @Operation(
             summary = "현재 접속 중인 유저 조회",
-            description = "마지막 활동 시간이 3분 이내인 모든 유저를 조회하여 지도 위에 마커로 띄웁니다."
+            description = "마지막 활동 시간이 3분 이내인 모든 유저를 조회하여 지도 위에 마커로 띄웁니다. " +
+                    "latitude, longitude, radius(미터)를 함께 보내면 해당 반경 안의 유저만 조회합니다."
     )
     public List<UserMapDto.Response> getActiveUsers(
+            @RequestParam(required = false) Double latitude,
+            @RequestParam(required = false) Double longitude,
+            @RequestParam(required = false) Double radius,
             @AuthenticationPrincipal CustomUserDetails userDetails
     ) {
         Long userId = (userDetails != null) ? userDetails.getUserId() : null;
 
-        return userMapService.getActiveUsers(userId);
+        return userMapService.getActiveUsers(userId, latitude, longitude, radius);
     }
 
     // 비밀번호 변경용 인증코드 발송
@@ -143,26 +160,38 @@ public class UserController {
             summary = "비밀번호 변경용 인증코드 발송",
             description = "비밀번호 변경을 위한 이메일 인증 코드를 전송합니다."
     )
-    public ResponseEntity<EmailAuthResponse> sendPasswordResetCode(@RequestBody EmailAuthRequest request) {
-        try {
-            // 입력값 검증
-            if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
-                return ResponseEntity.badRequest().body(new EmailAuthResponse(
-                        false,
-                        "이메일을 입력해주세요.",
-                        null,
-                        null
-                ));
-            }
+    public ResponseEntity<EmailAuthResponse> sendPasswordResetCode(@RequestBody EmailAuthRequest request, HttpServletRequest httpRequest) {
+        // 입력값 검증
+        if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(new EmailAuthResponse(
+                    false,
+                    "이메일을 입력해주세요.",
+                    null,
+                    null
+            ));
+        }
 
-            // 인증코드 발송
-            userService.sendPasswordResetCode(request.getEmail());
+        // 서울여대 웹메일 검증 (메일을 보낼 수 없는 요청이 발송 요청 제한 토큰을 쓰지 않도록 제한 확인보다 먼저)
+        if (!EmailAuthService.isSwuEmail(request.getEmail())) {
+            return invalidEmailDomain(request.getEmail());
+        }
+
+        // 발송 요청 제한 확인 (이메일 / IP별, 초과 시 429 + Retry-After)
+        VerificationCodeRateLimiter.Decision decision = verificationCodeRateLimiter.tryAcquire(request.getEmail(), httpRequest);
+        if (!decision.allowed()) {
+            return tooManyRequests(request.getEmail(), decision);
+        }
+
+        try {
+            // 인증코드 발송 (메일은 발송함에서 전송되므로 바로 응답, 발송 요청 ID 포함)
+            String requestId = userService.sendPasswordResetCode(request.getEmail());
 
             return ResponseEntity.ok(new EmailAuthResponse(
                     true,
                     "인증 코드가 전송되었습니다.",
                     request.getEmail(),
-                    null
+                    null,
+                    requestId
             ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new EmailAuthResponse(
@@ -171,6 +200,10 @@ public class UserController {
                     request.getEmail(),
                     null
             ));
+        } catch (MailQueueFullException e) {
+            // 메일을 보내지 못했으므로 사용한 발송 요청 제한 토큰은 돌려줌
+            verificationCodeRateLimiter.refund(request.getEmail(), httpRequest);
+            return mailQueueFull(request.getEmail(), e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new EmailAuthResponse(
                     false,
@@ -249,26 +282,38 @@ public class UserController {
             summary = "비밀번호 변경용 인증코드 재전송",
             description = "기존 인증 코드를 초기화하고 새로운 인증 코드를 재전송합니다."
     )
-    public ResponseEntity<EmailAuthResponse> resendPasswordResetCode(@RequestBody EmailAuthRequest request) {
-        try {
-            // 입력값 검증
-            if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
-                return ResponseEntity.badRequest().body(new EmailAuthResponse(
-                        false,
-                        "이메일을 입력해주세요.",
-                        null,
-                        null
-                ));
-            }
+    public ResponseEntity<EmailAuthResponse> resendPasswordResetCode(@RequestBody EmailAuthRequest request, HttpServletRequest httpRequest) {
+        // 입력값 검증
+        if (request.getEmail() == null || request.getEmail().trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(new EmailAuthResponse(
+                    false,
+                    "이메일을 입력해주세요.",
+                    null,
+                    null
+            ));
+        }
+
+        // 서울여대 웹메일 검증 (메일을 보낼 수 없는 요청이 발송 요청 제한 토큰을 쓰지 않도록 제한 확인보다 먼저)
+        if (!EmailAuthService.isSwuEmail(request.getEmail())) {
+            return invalidEmailDomain(request.getEmail());
+        }
 
+        // 발송 요청 제한 확인 (이메일 / IP별, 초과 시 429 + Retry-After)
+        VerificationCodeRateLimiter.Decision decision = verificationCodeRateLimiter.tryAcquire(request.getEmail(), httpRequest);
+        if (!decision.allowed()) {
+            return tooManyRequests(request.getEmail(), decision);
+        }
+
+        try {
             // 인증코드 재전송 (기존 코드 초기화 후 새 코드 전송)
-            userService.resendPasswordResetCode(request.getEmail());
+            String requestId = userService.resendPasswordResetCode(request.getEmail());
 
             return ResponseEntity.ok(new EmailAuthResponse(
                     true,
                     "인증 코드가 재전송되었습니다. (기존 코드는 초기화되었습니다.)",
                     request.getEmail(),
-                    null
+                    null,
+                    requestId
             ));
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(new EmailAuthResponse(
@@ -277,6 +322,10 @@ public class UserController {
                     request.getEmail(),
                     null
             ));
+        } catch (MailQueueFullException e) {
+            // 메일을 보내지 못했으므로 사용한 발송 요청 제한 토큰은 돌려줌
+            verificationCodeRateLimiter.refund(request.getEmail(), httpRequest);
+            return mailQueueFull(request.getEmail(), e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new EmailAuthResponse(
                     false,
@@ -393,107 +442,76 @@ public class UserController {
     }
 
     // 프로필 이미지 제공 API 
+    // 파일을 메모리에 올리지 않고 스트리밍, ETag / Last-Modified가 같으면 304, Range 요청이면 206으로 응답 (Spring MVC가 처리)
+    // size를 주면 그 크기 이상인 썸네일(64 / 128 / 256px JPEG)로 응답, 썸네일이 아직 없으면 원본으로 응답
     @GetMapping(value = "/api/users/{userId}/profile-image", produces = {MediaType.IMAGE_JPEG_VALUE, MediaType.IMAGE_PNG_VALUE, MediaType.IMAGE_GIF_VALUE, "image/svg+xml"})
-    @Operation(summary = "프로필 이미지 조회", description = "사용자의 프로필 이미지를 조회합니다.")
+    @Operation(summary = "프로필 이미지 조회", description = "사용자의 프로필 이미지를 조회합니다. size(px)를 주면 썸네일을 반환합니다.")
     public ResponseEntity<org.springframework.core.io.Resource> getProfileImage(
-            @PathVariable Long userId
+            @PathVariable Long userId,
+            @RequestParam(required = false) Integer size
     ) {
         try {
             User user = userRepository.findById(userId)
                     .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
 
             String imgUrl = user.getImgUrl();
-            log.info("프로필 이미지 조회: userId={}, imgUrl={}", userId, imgUrl);
+            log.debug("프로필 이미지 조회: userId={}, imgUrl={}", userId, imgUrl);
 
-            // 기본 이미지인 경우 정적 리소스에서 읽기
+            // 기본 이미지인 경우 미리 읽어 둔 기본 이미지 반환
             if (imgUrl == null || imgUrl.isEmpty() || 
                 imgUrl.equals(DEFAULT_PROFILE_IMAGE) || 
                 imgUrl.equals("/images/default.png")) {
-                log.info("기본 이미지 조회 시도: userId={}", userId);
-                
-                org.springframework.core.io.Resource classPathResource = 
-                    new org.springframework.core.io.ClassPathResource("static/images/default.png");
-                if (!classPathResource.exists()) {
-                    log.debug("default.png를 찾을 수 없어 default.svg 시도: userId={}", userId);
-                    classPathResource = new org.springframework.core.io.ClassPathResource("static/images/default.svg");
-                }
-                
-                if (classPathResource.exists()) {
-                    try {
-                        byte[] imageBytes = classPathResource.getInputStream().readAllBytes();
-                        org.springframework.core.io.ByteArrayResource resource = 
-                            new org.springframework.core.io.ByteArrayResource(imageBytes);
-                        
-                        String contentType = classPathResource.getFilename() != null && classPathResource.getFilename().endsWith(".svg")
-                            ? "image/svg+xml" : "image/png";
-                        log.debug("기본 이미지 조회 성공: userId={}, contentType={}", userId, contentType);
-                        return ResponseEntity.ok()
-                                .contentType(MediaType.parseMediaType(contentType))
-                                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"profile\"")
-                                .body(resource);
-                    } catch (IOException e) {
-                        log.error("기본 이미지 읽기 실패: userId={}, error={}", userId, e.getMessage(), e);
-                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-                    }
-                } else {
-                    log.warn("기본 이미지 파일을 찾을 수 없음: userId={}", userId);
-                    return ResponseEntity.notFound().build();
-                }
+                return defaultProfileImageResponse(userId);
             }
 
-            // 업로드된 이미지인 경우 FileStorageService로 읽기 
+            // 업로드된 이미지인 경우 파일 경로만 확인하고 본문은 응답할 때 스트리밍
+            java.nio.file.Path imagePath;
+            long lastModified;
+            long fileSize;
             try {
-                log.info("업로드된 이미지 조회 시도: userId={}, imgUrl={}", userId, imgUrl);
-                byte[] imageBytes = fileStorageService.loadImageFile(imgUrl);
-                org.springframework.core.io.ByteArrayResource resource = new org.springframework.core.io.ByteArrayResource(imageBytes);
-
-                // 이미지 타입 결정
-                String contentType = "image/jpeg";
-                String imagePath = imgUrl.toLowerCase();
-                if (imagePath.endsWith(".png")) {
-                    contentType = "image/png";
-                } else if (imagePath.endsWith(".gif")) {
-                    contentType = "image/gif";
-                } else if (imagePath.endsWith(".svg")) {
-                    contentType = "image/svg+xml";
-                }
-
-                log.info("업로드된 이미지 조회 성공: userId={}, contentType={}, 크기={} bytes", userId, contentType, imageBytes.length);
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(contentType))
-                        .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"profile\"")
-                        .body(resource);
+                imagePath = fileStorageService.resolveImagePath(imgUrl);
+                lastModified = java.nio.file.Files.getLastModifiedTime(imagePath).toMillis();
+                fileSize = java.nio.file.Files.size(imagePath);
             } catch (IOException e) {
                 log.error("업로드된 이미지 읽기 실패: userId={}, imgUrl={}, error={}", userId, imgUrl, e.getMessage(), e);
                 // 업로드된 이미지를 읽을 수 없으면 기본 이미지로 폴백
-                log.info("기본 이미지로 폴백 시도: userId={}", userId);
-                org.springframework.core.io.Resource classPathResource = 
-                    new org.springframework.core.io.ClassPathResource("static/images/default.png");
-                if (!classPathResource.exists()) {
-                    log.info("default.png를 찾을 수 없어 default.svg 시도: userId={}", userId);
-                    classPathResource = new org.springframework.core.io.ClassPathResource("static/images/default.svg");
-                }
-                if (classPathResource.exists()) {
-                    try {
-                        byte[] imageBytes = classPathResource.getInputStream().readAllBytes();
-                        org.springframework.core.io.ByteArrayResource resource = 
-                            new org.springframework.core.io.ByteArrayResource(imageBytes);
-                        String contentType = classPathResource.getFilename() != null && classPathResource.getFilename().endsWith(".svg")
-                            ? "image/svg+xml" : "image/png";
-                        log.info("업로드된 이미지 읽기 실패로 기본 이미지 반환: userId={}", userId);
-                        return ResponseEntity.ok()
-                                .contentType(MediaType.parseMediaType(contentType))
-                                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"profile\"")
-                                .body(resource);
-                    } catch (IOException fallbackException) {
-                        log.error("기본 이미지 폴백도 실패: userId={}, error={}", userId, fallbackException.getMessage(), fallbackException);
-                        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
-                    }
-                } else {
-                    log.error("기본 이미지 파일을 찾을 수 없음: userId={}", userId);
-                    return ResponseEntity.notFound().build();
+                log.info("업로드된 이미지 읽기 실패로 기본 이미지 반환: userId={}", userId);
+                return defaultProfileImageResponse(userId);
+            }
+
+            // 썸네일 요청이면 썸네일 파일로 교체
+            if (size != null && size > 0) {
+                java.nio.file.Path variant = profileThumbnailGenerator.findVariant(imagePath, size);
+                if (variant != null) {
+                    imagePath = variant;
+                    imgUrl = variant.toString();
+                    lastModified = java.nio.file.Files.getLastModifiedTime(variant).toMillis();
+                    fileSize = java.nio.file.Files.size(variant);
                 }
             }
+
+            // 이미지 타입 결정
+            String contentType = "image/jpeg";
+            String imagePathName = imgUrl.toLowerCase();
+            if (imagePathName.endsWith(".png")) {
+                contentType = "image/png";
+            } else if (imagePathName.endsWith(".gif")) {
+                contentType = "image/gif";
+            } else if (imagePathName.endsWith(".svg")) {
+                contentType = "image/svg+xml";
+            }
+
+            // 파일명(UUID) + 수정 시각 + 크기로 ETag 생성 (이미지를 바꾸면 파일명이 바뀌므로 ETag도 바뀜)
+            String etag = "\"" + Integer.toHexString(imagePath.getFileName().toString().hashCode())
+                    + "-" + Long.toHexString(lastModified) + "-" + Long.toHexString(fileSize) + "\"";
+
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType(contentType))
+                    .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"profile\"")
+                    .cacheControl(PROFILE_IMAGE_CACHE_CONTROL)
+                    .eTag(etag)
+                    .lastModified(lastModified)
+                    .body(new org.springframework.core.io.FileSystemResource(imagePath));
         } catch (IllegalArgumentException e) {
             log.error("사용자를 찾을 수 없음: userId={}, error={}", userId, e.getMessage());
             return ResponseEntity.notFound().build();
@@ -502,4 +520,53 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    // 기본 프로필 이미지 응답 (시작 시 읽어 둔 내용 사용)
+    private ResponseEntity<org.springframework.core.io.Resource> defaultProfileImageResponse(Long userId) {
+        if (!defaultProfileImage.exists()) {
+            log.warn("기본 이미지 파일을 찾을 수 없음: userId={}", userId);
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok()
+                .contentType(defaultProfileImage.getContentType())
+                .header(org.springframework.http.HttpHeaders.CONTENT_DISPOSITION, "inline; filename=\"profile\"")
+                .cacheControl(PROFILE_IMAGE_CACHE_CONTROL)
+                .eTag(defaultProfileImage.getEtag())
+                .lastModified(defaultProfileImage.getLastModified())
+                .body(defaultProfileImage.asResource());
+    }
+
+    // 인증 코드 발송 요청 제한 초과 응답
+    private ResponseEntity<EmailAuthResponse> tooManyRequests(String email, VerificationCodeRateLimiter.Decision decision) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(org.springframework.http.HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()))
+                .body(new EmailAuthResponse(
+                        false,
+                        "인증 코드 요청이 너무 많습니다. " + decision.retryAfterSeconds() + "초 후에 다시 시도해주세요.",
+                        email,
+                        null
+                ));
+    }
+
+    // 서울여대 웹메일이 아닌 경우 응답
+    private ResponseEntity<EmailAuthResponse> invalidEmailDomain(String email) {
+        return ResponseEntity.badRequest().body(new EmailAuthResponse(
+                false,
+                EmailAuthService.SWU_EMAIL_REQUIRED_MESSAGE,
+                email,
+                null
+        ));
+    }
+
+    // 메일 발송함이 가득 찬 경우 응답 (잠시 후 다시 요청하도록 Retry-After 포함)
+    private ResponseEntity<EmailAuthResponse> mailQueueFull(String email, MailQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(org.springframework.http.HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(new EmailAuthResponse(
+                        false,
+                        e.getMessage(),
+                        email,
+                        null
+                ));
+    }
+}
@@ -14,5 +14,10 @@ public class EmailAuthResponse {
     private String message;
     private String email; // 응답에 이메일 포함 (선택사항)
     private String token;
+    private String requestId; // 메일 발송 요청 ID (인증 코드 전송 API에서만 포함)
+
+    public EmailAuthResponse(boolean success, String message, String email, String token) {
+        this(success, message, email, token, null);
+    }
 }
 
@@ -0,0 +1,20 @@
+package taxi.tago.dto.LibraryCard;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import taxi.tago.constant.OcrJobStatus;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LibraryCardOcrJobResponse {
+    private String jobId; // OCR 작업 ID (결과 조회용)
+    private OcrJobStatus status; // 작업 상태
+    private boolean success; // 인증 성공 여부 (작업이 끝난 경우)
+    private String message; // 응답 메시지
+    private String extractedName; // OCR로 추출한 이름
+    private String extractedStudentId; // OCR로 추출한 학번
+}
@@ -1,13 +1,17 @@
 package taxi.tago.dto;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import taxi.tago.entity.TaxiParty;
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
 
 public class TaxiPartyDto {
 
@@ -39,7 +43,6 @@ public class TaxiPartyDto {
     }
 
     @Getter
-    @AllArgsConstructor
     public static class InfoResponse {
         private Long id;                 // 클릭 시 이동을 위한 ID
         private String departure;        // 승차지
@@ -51,6 +54,79 @@ public class TaxiPartyDto {
         private Integer currentParticipants; // 현재 인원
         private Integer maxParticipants;     // 모집 인원
         private Integer expectedPrice;       // 예상 가격
+
+        @JsonIgnore
+        private Long hostId;                 // 총대슈니 ID (차단 필터링용)
+
+        @JsonIgnore
+        private LocalDateTime createdAt;     // 생성 일시 (커서 페이지네이션용)
+
+        // JPQL 생성자 프로젝션용 (TaxiPartyRepository 목록 조회 쿼리에서 사용)
+        public InfoResponse(Long id, Long hostId, String departure, String destination, LocalDateTime meetingTime,
+                            Integer currentParticipants, Integer maxParticipants, Integer expectedPrice,
+                            LocalDateTime createdAt) {
+            this.id = id;
+            this.hostId = hostId;
+            this.departure = departure;
+            this.destination = destination;
+            this.meetingTime = meetingTime.toLocalTime();
+            this.currentParticipants = currentParticipants;
+            this.maxParticipants = maxParticipants;
+            this.expectedPrice = expectedPrice;
+            this.createdAt = createdAt;
+        }
+
+        // 엔티티 -> 목록 DTO 변환 (실시간 변경 이벤트용)
+        public static InfoResponse from(TaxiParty party) {
+            return new InfoResponse(
+                    party.getId(),
+                    party.getUser().getId(),
+                    party.getDeparture(),
+                    party.getDestination(),
+                    party.getMeetingTime(),
+                    party.getCurrentParticipants(),
+                    party.getMaxParticipants(),
+                    party.getExpectedPrice(),
+                    party.getCreatedAt()
+            );
+        }
+    }
+
+    // 택시팟 목록 커서 페이지 응답
+    @Getter
+    @AllArgsConstructor
+    public static class FeedResponse {
+        private List<InfoResponse> parties;  // 이번 페이지의 택시팟 목록
+        private boolean hasNext;             // 다음 페이지 존재 여부
+        private LocalDateTime nextCursorCreatedAt; // 다음 페이지 요청 시 보낼 커서 (생성 일시)
+        private Long nextCursorId;                 // 다음 페이지 요청 시 보낼 커서 (택시팟 ID)
+    }
+
+    // 택시팟 목록 실시간 변경 이벤트 (구독자마다 /user/queue/taxi-parties 로 발행)
+    // 클라이언트는 sequence가 직전 값 + 1이 아니면 스냅샷을 다시 받아 동기화
+    // 차단 관계(양방향)인 총대슈니의 택시팟은 해당 구독자에게 내용 없이 REMOVED로 보냄 (순번은 이어지도록)
+    @Getter
+    @AllArgsConstructor
+    public static class FeedEvent {
+        private long sequence;               // 이벤트 순번 (1씩 증가)
+        private FeedEventType type;          // 변경 종류
+        private Long partyId;                // 변경된 택시팟 ID
+        private Long hostId;                 // 총대슈니 ID (REMOVED면 null일 수 있음)
+        private InfoResponse party;          // 변경 후 목록 정보 (REMOVED면 null)
+    }
+
+    public enum FeedEventType {
+        CREATED,  // 새 택시팟 등록
+        UPDATED,  // 내용 수정 또는 인원 변경
+        REMOVED   // 매칭 종료 또는 삭제로 목록에서 제외
+    }
+
+    // 택시팟 목록 스냅샷 (재동기화용)
+    @Getter
+    @AllArgsConstructor
+    public static class FeedSnapshotResponse {
+        private long sequence;               // 스냅샷 시점의 이벤트 순번 (이후 이벤트부터 적용)
+        private List<InfoResponse> parties;  // 현재 매칭중인 택시팟 목록
     }
 
     // 택시팟 정보
@@ -0,0 +1,19 @@
+package taxi.tago.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 비동기 저장 모드에서 메시지가 DB에 저장되었는지 알려주는 확인(ack) DTO
+// 보낸 사람에게만 "/user/queue/chat-acks" 로 전달되며, 클라이언트는 chatRoomId + sequence로 먼저 받은 메시지와 매칭
+@Getter
+@NoArgsConstructor // json 역직렬화
+@AllArgsConstructor
+public class ChatMessageAck {
+
+    private Long sequence; // 서버가 부여한 채팅방별 메시지 순번
+    private Long chatRoomId; // 채팅방 ID
+    private Long senderId; // 보낸 사람 ID
+    private Long messageId; // 저장된 메시지 ID (저장 실패 시 null)
+    private boolean persisted; // 저장 성공 여부
+}
@@ -0,0 +1,18 @@
+package taxi.tago.dto.chat;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 채팅 메시지 커서 페이지 응답 DTO (채팅방 입장 시 최근 메시지부터, 위로 스크롤하면 이전 메시지를 이어서 조회)
+@Getter
+@NoArgsConstructor // json 역직렬화
+@AllArgsConstructor
+public class ChatMessagePageResponse {
+
+    private List<ChatMessageResponse> messages; // 시간순(오래된 -> 최신) 정렬된 메시지 목록
+    private boolean hasNext; // 더 이전 메시지 존재 여부
+    private Long nextBeforeMessageId; // 이전 메시지 조회 시 beforeMessageId로 보낼 값 (없으면 null)
+}
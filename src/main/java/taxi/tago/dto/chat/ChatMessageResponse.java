@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonFormat;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import taxi.tago.entity.ChatMessage;
+import taxi.tago.entity.User;
 
 import java.time.LocalDateTime;
 
@@ -26,6 +27,9 @@ public class ChatMessageResponse {
     @JsonFormat(pattern = "yyyy-MM-dd'T'HH:mm:ss")
     private LocalDateTime sentAt;
 
+    // 비동기 저장 모드에서 서버가 부여한 메시지 순번 (동기 저장 모드에서는 null)
+    private Long sequence;
+
     public ChatMessageResponse(
             Long messageId,
             Long chatRoomId,
@@ -46,6 +50,45 @@ public class ChatMessageResponse {
         this.sentAt = sentAt;
     }
 
+    // JPQL 생성자 프로젝션용 (ChatMessageRepository 커서 조회 쿼리에서 보낸 사람 정보와 함께 한 번에 조회)
+    public ChatMessageResponse(
+            Long messageId,
+            Long chatRoomId,
+            Long senderId,
+            String name,
+            String shortStudentId,
+            String content,
+            ChatMessage.MessageType messageType,
+            LocalDateTime sentAt
+    ) {
+        this(messageId, chatRoomId, senderId, name, shortStudentId, content, messageType.name(), sentAt);
+    }
+
+    // 비동기 저장 모드용 - DB 저장 전에 순번만 부여해서 먼저 브로드캐스트하는 메시지 (messageId는 저장 후 ack로 전달)
+    public static ChatMessageResponse pending(Long sequence, Long chatRoomId, User sender, String content,
+                                              LocalDateTime sentAt) {
+        ChatMessageResponse response = new ChatMessageResponse(
+                null,
+                chatRoomId,
+                sender.getId(),
+                sender.getName(),
+                sender.getShortStudentId(),
+                content,
+                ChatMessage.MessageType.TEXT.name(),
+                sentAt
+        );
+        response.sequence = sequence;
+        return response;
+    }
+
+    // 저장 완료 후 메시지 ID를 채운 사본
+    public ChatMessageResponse withMessageId(Long messageId) {
+        ChatMessageResponse response = new ChatMessageResponse(
+                messageId, chatRoomId, senderId, name, shortStudentId, content, messageType, sentAt);
+        response.sequence = sequence;
+        return response;
+    }
+
     public static ChatMessageResponse from(ChatMessage message) {
         return new ChatMessageResponse(
                 message.getId(),
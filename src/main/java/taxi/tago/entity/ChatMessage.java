@@ -10,7 +10,13 @@ import java.time.LocalDateTime;
 
 // 채팅 메시지 엔티티
 @Entity
-@Table(name = "chat_message")
+@Table(
+        name = "chat_message",
+        indexes = {
+                // 채팅방별 메시지 커서 페이지 조회용 (chatroom_id, chatmessage_id)
+                @Index(name = "idx_chat_message_room_id", columnList = "chatroom_id, chatmessage_id")
+        }
+)
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class ChatMessage {
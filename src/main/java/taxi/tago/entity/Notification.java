@@ -11,7 +11,14 @@ import java.time.LocalDateTime;
 
 // 알림 엔티티 - 웹앱 내부 알림 센터에 표시되는 알림 데이터를 저장
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        // 미확인 개수 조회, 모든 알림 읽음 처리 (receiver_id, read 조건 + 최신순)
+        @Index(name = "idx_notifications_receiver_read_created", columnList = "receiver_id, `read`, created_at"),
+        // SSE 재연결 시 놓친 알림 조회 (receiver_id 조건 + ID 범위, ID순)
+        @Index(name = "idx_notifications_receiver_id", columnList = "receiver_id, notification_id"),
+        // 발송함(NotificationOutbox)의 SSE 미전송 알림 조회 (dispatched = false, ID순)
+        @Index(name = "idx_notifications_dispatched", columnList = "dispatched, notification_id")
+})
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -52,6 +59,12 @@ public class Notification {
     @Column(name = "`read`", nullable = false)
     private boolean read = false;
 
+    // SSE 전송 여부 (발송함이 JDBC로 false로 저장하고 전송 후 true로 변경, 컬럼 추가 전 알림은 전송된 것으로 봄)
+    // 발송 스레드만 변경하므로 JPA에서는 쓰지 않음 (읽음 처리 UPDATE가 전송 표시를 덮어쓰지 않도록)
+    @Column(name = "dispatched", nullable = false, insertable = false, updatable = false,
+            columnDefinition = "boolean default true")
+    private boolean dispatched = true;
+
     // 생성 시각
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -14,6 +14,13 @@ import java.time.LocalDateTime;
 @Getter
 @Setter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(
+        name = "taxi_party",
+        indexes = {
+                // 매칭 상태별 최신순 목록 조회 및 커서 페이지네이션용
+                @Index(name = "idx_taxi_party_status_created_at", columnList = "status, created_at, taxiparty_id")
+        }
+)
 public class TaxiParty {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
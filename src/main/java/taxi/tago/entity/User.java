@@ -28,8 +28,13 @@ public class User {
     @Column(nullable = false, length = 20)
     private UserRole role = UserRole.USER; // 사용자 역할 (ADMIN, USER)
 
+    // 위치 / 마지막 활동 시간은 UserLocationWriteBuffer와 UserRepository.touchLastActiveAt으로만 갱신
+    // (JPA로 저장할 때 오래된 값으로 덮어쓰지 않도록 수정 불가, 가입 시 INSERT에는 포함)
+    @Column(updatable = false)
     private Double latitude; // 현재 위도
+    @Column(updatable = false)
     private Double longitude; // 현재 경도
+    @Column(updatable = false)
     private LocalDateTime lastActiveAt; // 마지막으로 접속해서 활동한 시간
     
     @Column(length = 20)
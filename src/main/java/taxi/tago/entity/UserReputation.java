@@ -0,0 +1,138 @@
+package taxi.tago.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// 사용자 평판 요약 엔티티 - 프로필 화면에 보여줄 후기 / 미정산 집계를 미리 계산해 둔 테이블
+// 후기 작성, 정산 생성, 정산 완료 처리 때 증분으로 갱신하므로 프로필 조회 시 집계 쿼리를 돌리지 않음
+@Entity
+@Table(name = "user_reputation")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class UserReputation {
+
+    // 사용자 ID (users.user_id와 동일)
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    // 받은 전체 후기 수
+    @Column(name = "total_reviews", nullable = false)
+    private long totalReviews;
+
+    // 받은 후기 중 "다시 만나고 싶어요" 수
+    @Column(name = "positive_match_count", nullable = false)
+    private long positiveMatchCount;
+
+    // 미정산 이력 수 (납부하지 않은 정산 참여 건수)
+    @Column(name = "unpaid_count", nullable = false)
+    private long unpaidCount;
+
+    // 받은 긍정 태그별 개수 (예: "KIND=3,GOOD_MANNER=1")
+    @Convert(converter = TagCountsConverter.class)
+    @Column(name = "positive_tag_counts", length = 500, nullable = false)
+    private Map<String, Long> positiveTagCounts = new LinkedHashMap<>();
+
+    // 받은 부정 태그별 개수
+    @Convert(converter = TagCountsConverter.class)
+    @Column(name = "negative_tag_counts", length = 500, nullable = false)
+    private Map<String, Long> negativeTagCounts = new LinkedHashMap<>();
+
+    // 마지막 갱신 시각
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    public void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    // 기존 후기 / 정산 데이터를 집계한 값으로 생성 (처음 조회되거나 갱신될 때 한 번만)
+    public static UserReputation of(Long userId, long totalReviews, long positiveMatchCount, long unpaidCount,
+                                    Map<String, Long> positiveTagCounts, Map<String, Long> negativeTagCounts) {
+        UserReputation reputation = new UserReputation();
+        reputation.userId = userId;
+        reputation.totalReviews = totalReviews;
+        reputation.positiveMatchCount = positiveMatchCount;
+        reputation.unpaidCount = unpaidCount;
+        reputation.positiveTagCounts = new LinkedHashMap<>(positiveTagCounts);
+        reputation.negativeTagCounts = new LinkedHashMap<>(negativeTagCounts);
+        return reputation;
+    }
+
+    // 후기 하나 받음
+    // (컨버터 컬럼은 변경 감지를 위해 Map을 새로 만들어서 교체)
+    public void addReview(boolean wantToMeetAgain,
+                          Set<Review.PositiveReviewTag> positiveTags,
+                          Set<Review.NegativeReviewTag> negativeTags) {
+        this.totalReviews++;
+        if (wantToMeetAgain) {
+            this.positiveMatchCount++;
+        }
+        this.positiveTagCounts = incremented(this.positiveTagCounts, positiveTags);
+        this.negativeTagCounts = incremented(this.negativeTagCounts, negativeTags);
+    }
+
+    private static Map<String, Long> incremented(Map<String, Long> counts, Set<? extends Enum<?>> tags) {
+        Map<String, Long> next = new LinkedHashMap<>(counts);
+        if (tags != null) {
+            for (Enum<?> tag : tags) {
+                next.merge(tag.name(), 1L, Long::sum);
+            }
+        }
+        return next;
+    }
+
+    // 태그별 개수 Map <-> "TAG=개수,TAG=개수" 문자열 변환
+    @Converter
+    public static class TagCountsConverter implements AttributeConverter<Map<String, Long>, String> {
+
+        @Override
+        public String convertToDatabaseColumn(Map<String, Long> counts) {
+            if (counts == null || counts.isEmpty()) {
+                return "";
+            }
+            StringBuilder sb = new StringBuilder();
+            counts.forEach((tag, count) -> {
+                if (sb.length() > 0) {
+                    sb.append(',');
+                }
+                sb.append(tag).append('=').append(count);
+            });
+            return sb.toString();
+        }
+
+        @Override
+        public Map<String, Long> convertToEntityAttribute(String value) {
+            if (value == null || value.isBlank()) {
+                return new LinkedHashMap<>();
+            }
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (String entry : value.split(",")) {
+                int separator = entry.indexOf('=');
+                if (separator > 0) {
+                    counts.put(entry.substring(0, separator), Long.parseLong(entry.substring(separator + 1)));
+                }
+            }
+            return counts;
+        }
+    }
+
+    // 읽기 전용 태그별 개수
+    public Map<String, Long> getPositiveTagCounts() {
+        return Collections.unmodifiableMap(positiveTagCounts);
+    }
+
+    public Map<String, Long> getNegativeTagCounts() {
+        return Collections.unmodifiableMap(negativeTagCounts);
+    }
+}
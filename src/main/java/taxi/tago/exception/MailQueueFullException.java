@@ -0,0 +1,16 @@
+package taxi.tago.exception;
+
+import lombok.Getter;
+
+// 메일 발송함이 가득 차서 메일을 받을 수 없음 (호출 측에서 503 + Retry-After로 응답)
+@Getter
+public class MailQueueFullException extends RuntimeException {
+
+    // 발송함이 비워질 때까지 예상 대기 시간 (초)
+    private final long retryAfterSeconds;
+
+    public MailQueueFullException(long retryAfterSeconds) {
+        super("메일 발송 요청이 많아 잠시 후 다시 시도해주세요.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,19 @@
+package taxi.tago.exception;
+
+import lombok.Getter;
+import taxi.tago.constant.OcrJobStatus;
+
+// 같은 이메일로 진행 중인 도서관 인증 작업이 있어 새 이미지를 받을 수 없음 (호출 측에서 409 + 진행 중인 작업 ID로 응답)
+@Getter
+public class OcrJobInProgressException extends RuntimeException {
+
+    // 진행 중인 작업 ID / 상태 (클라이언트는 이 작업 결과를 조회한 뒤 다시 업로드)
+    private final String jobId;
+    private final OcrJobStatus status;
+
+    public OcrJobInProgressException(String jobId, OcrJobStatus status) {
+        super("이미 처리 중인 인증 요청이 있습니다. 결과를 확인한 뒤 다시 시도해주세요.");
+        this.jobId = jobId;
+        this.status = status;
+    }
+}
@@ -1,6 +1,8 @@
 package taxi.tago.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import taxi.tago.entity.Block;
 import taxi.tago.entity.User;
 
@@ -14,6 +16,11 @@ public interface BlockRepository extends JpaRepository<Block, Long> {
     // 나를 차단한 목록 조회
     List<Block> findAllByBlocked(User blocked);
 
+    // 안 보여줄 사람들의 ID 조회 (내가 차단한 사람 + 나를 차단한 사람), 엔티티 로딩 없이 한 번의 쿼리로 처리
+    @Query("SELECT CASE WHEN b.blocker.id = :userId THEN b.blocked.id ELSE b.blocker.id END " +
+            "FROM Block b WHERE b.blocker.id = :userId OR b.blocked.id = :userId")
+    List<Long> findInvisibleUserIds(@Param("userId") Long userId);
+
     // 이미 차단했는지 확인, 중복 차단 방지
     boolean existsByBlockerAndBlocked(User blocker, User blocked);
 
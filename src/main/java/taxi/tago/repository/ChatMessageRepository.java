@@ -1,6 +1,10 @@
 package taxi.tago.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import taxi.tago.dto.chat.ChatMessageResponse;
 import taxi.tago.entity.ChatMessage;
 
 import java.util.List;
@@ -10,4 +14,16 @@ public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long>
 
     // 특정 채팅방의 메시지를 sentAt 기준 오름차순으로 조회하는 메서드
     List<ChatMessage> findByChatRoom_IdOrderBySentAtAsc(Long chatRoomId);
+
+    // 특정 채팅방의 메시지를 ID 내림차순(최신순)으로 커서 조회하는 메서드
+    // beforeMessageId가 null이면 가장 최근 메시지부터, 보낸 사람 정보는 조인해서 응답 DTO로 바로 프로젝션
+    @Query("SELECT new taxi.tago.dto.chat.ChatMessageResponse(" +
+            "m.id, m.chatRoom.id, s.id, s.name, s.shortStudentId, m.content, m.messageType, m.sentAt) " +
+            "FROM ChatMessage m JOIN m.sender s " +
+            "WHERE m.chatRoom.id = :chatRoomId " +
+            "AND (:beforeMessageId IS NULL OR m.id < :beforeMessageId) " +
+            "ORDER BY m.id DESC")
+    List<ChatMessageResponse> findPageByChatRoomId(@Param("chatRoomId") Long chatRoomId,
+                                                   @Param("beforeMessageId") Long beforeMessageId,
+                                                   Pageable pageable);
 }
@@ -3,8 +3,14 @@ package taxi.tago.repository;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import taxi.tago.entity.Notification;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 // 알림 Repository - 알림 조회 및 통계 쿼리를 제공
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
@@ -13,5 +19,21 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     // 특정 사용자의 미확인(안 읽은) 알림 개수를 조회 (벨 아이콘 배지에 표시할 숫자)
     long countByReceiverIdAndReadFalse(Long receiverId);
+
+    // 알림 하나 읽음 처리 (아직 안 읽은 경우에만 변경, 반환값은 변경된 행 수 -> 동시 요청 중 하나만 1)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :readAt " +
+            "WHERE n.id = :notificationId AND n.read = false")
+    int markAsRead(@Param("notificationId") Long notificationId, @Param("readAt") LocalDateTime readAt);
+
+    // 특정 사용자의 미확인 알림을 모두 읽음 처리 (UPDATE 한 번, 반환값은 변경된 행 수)
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE Notification n SET n.read = true, n.readAt = :readAt " +
+            "WHERE n.receiver.id = :receiverId AND n.read = false")
+    int markAllAsRead(@Param("receiverId") Long receiverId, @Param("readAt") LocalDateTime readAt);
+
+    // 특정 사용자의 알림 중 ID가 주어진 값보다 큰 알림을 ID 오름차순으로 조회 (SSE 재연결 시 놓친 알림 재전송)
+    // 늦게 커밋된 알림을 놓치지 않도록 호출 측에서 Last-Event-ID보다 앞의 ID를 넘김, idx_notifications_receiver_id 인덱스 사용
+    List<Notification> findByReceiverIdAndIdGreaterThanOrderByIdAsc(Long receiverId, Long id, Pageable pageable);
 }
 
@@ -2,6 +2,7 @@ package taxi.tago.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import taxi.tago.entity.Review;
 
@@ -13,6 +14,11 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
     // 이미 특정 택시팟(taxiPartyId)에서 작성자(reviewId)가 같은 대상자(reviewerId)에게 리뷰를 작성한 적이 있는지 여부 확인 (중복 작성 방지)
     boolean existsByTaxiPartyIdAndReviewerIdAndRevieweeId(Long taxiPartyId, Long reviewerId, Long revieweeId);
 
+    // 특정 택시팟에서 작성자가 이미 후기를 남긴 대상자 ID 목록 (멤버 목록 화면에서 멤버별 exists 쿼리 대신 한 번에 조회)
+    @Query("SELECT r.reviewee.id FROM Review r WHERE r.taxiParty.id = :taxiPartyId AND r.reviewer.id = :reviewerId")
+    List<Long> findRevieweeIdsByTaxiPartyIdAndReviewerId(@Param("taxiPartyId") Long taxiPartyId,
+                                                         @Param("reviewerId") Long reviewerId);
+
     // 특정 사용자가 받은 모든 리뷰 조회
     List<Review> findByRevieweeId(Long userId);
 
@@ -0,0 +1,12 @@
+package taxi.tago.repository;
+
+import taxi.tago.entity.SettlementParticipant;
+
+import java.util.List;
+
+// SettlementParticipant JDBC 배치 저장용 커스텀 Repository (SettlementParticipantRepository에 합쳐서 사용)
+public interface SettlementParticipantBatchRepository {
+
+    // 정산 참여자들을 JDBC 배치 INSERT 한 번으로 저장 (IDENTITY 전략이라 JPA로는 한 건씩 INSERT됨)
+    void batchInsert(Long settlementId, List<SettlementParticipant> participants);
+}
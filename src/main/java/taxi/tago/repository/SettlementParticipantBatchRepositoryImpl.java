@@ -0,0 +1,31 @@
+package taxi.tago.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import taxi.tago.entity.SettlementParticipant;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+// SettlementParticipantBatchRepository 구현체 - 현재 트랜잭션의 커넥션으로 배치 INSERT
+@RequiredArgsConstructor
+public class SettlementParticipantBatchRepositoryImpl implements SettlementParticipantBatchRepository {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO settlement_participants (settlement_id, user_id, amount, is_paid, paid_at, is_host) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void batchInsert(Long settlementId, List<SettlementParticipant> participants) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, participants, participants.size(), (ps, participant) -> {
+            ps.setLong(1, settlementId);
+            ps.setLong(2, participant.getUser().getId());
+            ps.setInt(3, participant.getAmount());
+            ps.setBoolean(4, participant.isPaid());
+            ps.setTimestamp(5, participant.getPaidAt() == null ? null : Timestamp.valueOf(participant.getPaidAt()));
+            ps.setBoolean(6, participant.isHost());
+        });
+    }
+}
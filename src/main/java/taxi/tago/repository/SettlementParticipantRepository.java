@@ -7,7 +7,8 @@ import java.util.List;
 import java.util.Optional;
 
 // SettlementParticipant 엔티티용 JPA Repository
-public interface SettlementParticipantRepository extends JpaRepository<SettlementParticipant, Long> {
+public interface SettlementParticipantRepository extends JpaRepository<SettlementParticipant, Long>,
+        SettlementParticipantBatchRepository {
 
     // 특정 정산에 속한 모든 참여자 조회
     List<SettlementParticipant> findBySettlementId(Long settlementId);
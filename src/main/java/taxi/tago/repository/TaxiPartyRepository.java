@@ -1,18 +1,51 @@
 package taxi.tago.repository;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import taxi.tago.constant.TaxiPartyStatus;
+import taxi.tago.dto.TaxiPartyDto;
 import taxi.tago.entity.TaxiParty;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 public interface TaxiPartyRepository extends JpaRepository<TaxiParty, Long> {
 
     // 현재 '매칭 중'인 글을 리스트로 가져옴
     List<TaxiParty> findAllByStatusOrderByCreatedAtDesc(TaxiPartyStatus status);
 
+    // 총대슈니 ID만 조회 (택시팟 / 작성자 엔티티 로딩 없음)
+    @Query("SELECT t.user.id FROM TaxiParty t WHERE t.id = :taxiPartyId")
+    Optional<Long> findHostIdById(@Param("taxiPartyId") Long taxiPartyId);
+
+    // 택시팟 + 총대슈니 함께 조회 (총대 정보를 바로 쓰는 화면용, 지연 로딩 쿼리 없음)
+    @Query("SELECT t FROM TaxiParty t JOIN FETCH t.user WHERE t.id = :taxiPartyId")
+    Optional<TaxiParty> findWithHostById(@Param("taxiPartyId") Long taxiPartyId);
+
+    // 택시팟 목록 커서 페이지 조회 (생성 일시, ID 내림차순)
+    // 작성자 엔티티를 로딩하지 않고 목록 DTO로 바로 프로젝션, 승차지/하차지 필터와 커서는 null이면 무시
+    // 승차지/하차지 필터는 부분 일치 (호출 측에서 %, _, \ 를 \ 로 이스케이프해서 전달)
+    @Query("SELECT new taxi.tago.dto.TaxiPartyDto$InfoResponse(" +
+            "t.id, t.user.id, t.departure, t.destination, t.meetingTime, " +
+            "t.currentParticipants, t.maxParticipants, t.expectedPrice, t.createdAt) " +
+            "FROM TaxiParty t " +
+            "WHERE t.status = :status " +
+            "AND (:departure IS NULL OR t.departure LIKE CONCAT('%', :departure, '%') ESCAPE '\\') " +
+            "AND (:destination IS NULL OR t.destination LIKE CONCAT('%', :destination, '%') ESCAPE '\\') " +
+            "AND (:cursorCreatedAt IS NULL " +
+            "     OR t.createdAt < :cursorCreatedAt " +
+            "     OR (t.createdAt = :cursorCreatedAt AND t.id < :cursorId)) " +
+            "ORDER BY t.createdAt DESC, t.id DESC")
+    List<TaxiPartyDto.InfoResponse> findFeed(@Param("status") TaxiPartyStatus status,
+                                             @Param("departure") String departure,
+                                             @Param("destination") String destination,
+                                             @Param("cursorCreatedAt") LocalDateTime cursorCreatedAt,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable pageable);
+
     // 현재 '매칭 중'인 글에서 사용 중인 이모지 가져오는 쿼리
     @Query("SELECT t.markerEmoji FROM TaxiParty t WHERE t.status = :status")
     List<String> findAllEmojisByStatus(@Param("status") TaxiPartyStatus status);
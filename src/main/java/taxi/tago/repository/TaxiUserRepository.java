@@ -1,6 +1,8 @@
 package taxi.tago.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import taxi.tago.constant.ParticipationStatus;
 import taxi.tago.entity.TaxiUser;
 
@@ -14,4 +16,15 @@ public interface TaxiUserRepository extends JpaRepository<TaxiUser, Long> {
 
     // 내가 ACCEPTED 상태로 들어간 택시팟들
     List<TaxiUser> findAllByUserIdAndStatus(Long userId, ParticipationStatus status);
-}
\ No newline at end of file
+
+    // 택시팟의 특정 상태 동승슈니 ID들 (채팅 참여자 캐시 적재용, 엔티티 로딩 없이 ID만 조회)
+    @Query("SELECT tu.user.id FROM TaxiUser tu WHERE tu.taxiParty.id = :taxiPartyId AND tu.status = :status")
+    List<Long> findUserIdsByTaxiPartyIdAndStatus(@Param("taxiPartyId") Long taxiPartyId,
+                                                 @Param("status") ParticipationStatus status);
+
+    // 택시팟의 특정 상태 동승슈니 + 사용자 정보 (멤버 목록 화면용, 사용자 지연 로딩 없이 한 번에 조회)
+    @Query("SELECT tu FROM TaxiUser tu JOIN FETCH tu.user " +
+            "WHERE tu.taxiParty.id = :taxiPartyId AND tu.status = :status ORDER BY tu.id")
+    List<TaxiUser> findAllWithUserByTaxiPartyIdAndStatus(@Param("taxiPartyId") Long taxiPartyId,
+                                                         @Param("status") ParticipationStatus status);
+}
@@ -1,9 +1,14 @@
 package taxi.tago.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import taxi.tago.constant.UserRole;
 import taxi.tago.entity.User;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -11,4 +16,14 @@ public interface UserRepository extends JpaRepository<User, Long> {
     
     // 이메일과 역할로 사용자 조회 (회원가입 시 USER role만 체크하기 위해)
     Optional<User> findByEmailAndRole(String email, UserRole role);
-}
\ No newline at end of file
+
+    // 특정 시각 이후 활동한 유저 조회 (지도 인덱스 초기화용)
+    List<User> findAllByLastActiveAtAfter(LocalDateTime since);
+
+    // 마지막 활동 시간 갱신 (User 엔티티에서는 수정 불가 컬럼, 위치 버퍼가 반영한 더 최신 값은 덮어쓰지 않음)
+    @Modifying
+    @Query(value = "UPDATE users SET last_active_at = :activeAt " +
+            "WHERE user_id = :userId AND (last_active_at IS NULL OR last_active_at < :activeAt)",
+            nativeQuery = true)
+    int touchLastActiveAt(@Param("userId") Long userId, @Param("activeAt") LocalDateTime activeAt);
+}
@@ -0,0 +1,33 @@
+package taxi.tago.repository;
+
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import taxi.tago.entity.UserReputation;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// 사용자 평판 요약 Repository
+public interface UserReputationRepository extends JpaRepository<UserReputation, Long> {
+
+    // 후기 반영처럼 읽고-고쳐-쓰기가 필요한 갱신용 (행 잠금)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM UserReputation r WHERE r.userId = :userId")
+    Optional<UserReputation> findByIdForUpdate(@Param("userId") Long userId);
+
+    // 미정산 이력 수 증가 (정산 생성 시 참여자 전원을 UPDATE 한 번으로)
+    @Modifying
+    @Query("UPDATE UserReputation r SET r.unpaidCount = r.unpaidCount + 1, r.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE r.userId IN :userIds")
+    int incrementUnpaid(@Param("userIds") Collection<Long> userIds);
+
+    // 미정산 이력 수 감소 (정산 완료 처리 시)
+    @Modifying
+    @Query("UPDATE UserReputation r SET r.unpaidCount = r.unpaidCount - 1, r.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE r.userId = :userId AND r.unpaidCount > 0")
+    int decrementUnpaid(@Param("userId") Long userId);
+}
@@ -22,7 +22,7 @@ import java.util.Map;
 public class JwtHandshakeInterceptor implements HandshakeInterceptor {
 
     private final JwtUtil jwtUtil;
-    private final CustomUserDetailsService userDetailsService;
+    private final JwtPrincipalCache principalCache; // 연결마다 사용자 조회하지 않도록 캐시 사용
 
     @Override
     public boolean beforeHandshake(
@@ -50,14 +50,12 @@ public class JwtHandshakeInterceptor implements HandshakeInterceptor {
             if (token != null && jwtUtil.validateToken(token)) {
                 String email = jwtUtil.getEmailFromToken(token);
 
-                // 사용자가 DB에 존재하는지 확인 (삭제된 사용자는 인증 실패)
+                // 사용자가 존재하는지 확인 (삭제된 사용자는 인증 실패, 캐시에 없을 때만 DB 조회)
                 try {
-                    // 기존 SecurityConfig에서 사용하던 UserDetailsService 재사용
-                    CustomUserDetails userDetails =
-                            (CustomUserDetails) userDetailsService.loadUserByUsername(email);
+                    CustomUserDetails userDetails = principalCache.get(email);
 
-                    // WebSocket 세션에 Principal 형태로 저장
-                    Principal principal = userDetails::getUsername;
+                    // WebSocket 세션에 Principal 형태로 저장 (사용자별 전송 / 차단 필터링을 위해 사용자 ID도 함께 보관)
+                    Principal principal = new StompPrincipal(userDetails.getUsername(), userDetails.getUserId());
                     attributes.put("principal", principal);
                     attributes.put("userDetails", userDetails);
 
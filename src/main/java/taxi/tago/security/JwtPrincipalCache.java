@@ -0,0 +1,95 @@
+package taxi.tago.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import taxi.tago.util.AfterCommit;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// JWT 인증 사용자 캐시 - 인증된 요청마다 findByEmail로 CustomUserDetails를 다시 만들지 않도록 토큰 subject(이메일)별로 보관
+// 비밀번호 / 역할 / 프로필 변경, 사용자 삭제 시 evict로 제거하고, 놓친 변경은 TTL이 지나면 다시 조회해서 반영
+@Slf4j
+@Component
+public class JwtPrincipalCache {
+
+    private final CustomUserDetailsService userDetailsService;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    // 이메일별 인증 사용자 정보
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // 사용자 정보가 바뀔 때마다 증가 (DB 조회 도중 변경이 있었으면 조회 결과를 캐시에 넣지 않기 위함)
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    public JwtPrincipalCache(
+            CustomUserDetailsService userDetailsService,
+            @Value("${jwt.principal-cache.max-entries:10000}") int maxEntries,
+            @Value("${jwt.principal-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userDetailsService = userDetailsService;
+        this.maxEntries = maxEntries;
+        this.ttlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+    }
+
+    // 인증 사용자 조회 (캐시에 없거나 만료됐으면 DB에서 조회)
+    // 사용자가 없으면 UsernameNotFoundException (없는 사용자는 캐시하지 않음)
+    public CustomUserDetails get(String email) throws UsernameNotFoundException {
+        long now = System.nanoTime();
+        Entry cached = entries.get(email);
+        if (cached != null && now - cached.loadedAt() < ttlNanos) {
+            return cached.userDetails();
+        }
+
+        long modificationBefore = modificationCount.get();
+        CustomUserDetails loaded = (CustomUserDetails) userDetailsService.loadUserByUsername(email);
+
+        evictIfFull();
+        Entry entry = new Entry(loaded, now);
+        entries.compute(email, (key, current) -> {
+            if (current != null && current.loadedAt() > now) {
+                return current;
+            }
+            return modificationCount.get() == modificationBefore ? entry : null;
+        });
+        return loaded;
+    }
+
+    // 사용자 정보 변경 / 삭제 시 캐시 제거 (트랜잭션 안이면 커밋 후 제거)
+    public void evict(String email) {
+        AfterCommit.run(() -> {
+            modificationCount.incrementAndGet();
+            entries.remove(email);
+            log.debug("인증 사용자 캐시 제거: {}", email);
+        });
+    }
+
+    // 전체 제거 (역할 일괄 변경 등)
+    public void evictAll() {
+        AfterCommit.run(() -> {
+            modificationCount.incrementAndGet();
+            entries.clear();
+        });
+    }
+
+    private void evictIfFull() {
+        if (entries.size() < maxEntries) {
+            return;
+        }
+        Iterator<String> iterator = entries.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // 캐시 항목 (loadedAt: System.nanoTime 기준 조회 시각)
+    private record Entry(CustomUserDetails userDetails, long loadedAt) {
+    }
+}
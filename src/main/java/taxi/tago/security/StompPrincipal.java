@@ -0,0 +1,12 @@
+package taxi.tago.security;
+
+import java.security.Principal;
+
+// WebSocket 세션 사용자 (이름은 이메일, 사용자별 전송 "/user/queue/..." 의 대상 / 차단 필터링에 사용자 ID 사용)
+public record StompPrincipal(String email, Long userId) implements Principal {
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
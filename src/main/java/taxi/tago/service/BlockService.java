@@ -8,6 +8,7 @@ import taxi.tago.entity.Block;
 import taxi.tago.entity.User;
 import taxi.tago.repository.BlockRepository;
 import taxi.tago.repository.UserRepository;
+import taxi.tago.util.BlockRelationCache;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,6 +19,7 @@ public class BlockService {
 
     private final BlockRepository blockRepository;
     private final UserRepository userRepository;
+    private final BlockRelationCache blockRelationCache;
 
     // 차단하기
     @Transactional
@@ -42,6 +44,9 @@ public class BlockService {
         Block block = new Block(blocker, blocked);
         blockRepository.save(block);
 
+        // 차단 관계 캐시 갱신 (커밋 후 반영)
+        blockRelationCache.onBlocked(blocker.getId(), blocked.getId());
+
         return "차단이 완료되었습니다. (본인 ID: " + blocker.getId() + ", 차단한 상대방 ID: " + blocked.getId() + ")";
     }
 
@@ -83,6 +88,10 @@ public class BlockService {
         // 차단 내역 삭제
         blockRepository.deleteByBlockerAndBlocked(blocker, blocked);
 
+        // 차단 관계 캐시 갱신 (상대방도 나를 차단했다면 계속 안 보이도록 유지, 커밋 후 반영)
+        boolean reverseBlockExists = blockRepository.existsByBlockerAndBlocked(blocked, blocker);
+        blockRelationCache.onUnblocked(blocker.getId(), blocked.getId(), reverseBlockExists);
+
         return "차단이 해제되었습니다. (본인 ID: " + blocker.getId() + ", 차단 해제한 상대방 ID: " + blocked.getId() + ")";
     }
 }
\ No newline at end of file
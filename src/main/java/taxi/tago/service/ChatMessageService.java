@@ -1,9 +1,11 @@
 package taxi.tago.service;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import taxi.tago.constant.ParticipationStatus;
+import taxi.tago.dto.chat.ChatMessagePageResponse;
 import taxi.tago.dto.chat.ChatMessageResponse;
 import taxi.tago.dto.chat.ChatMessageSendRequest;
 import taxi.tago.entity.*;
@@ -11,8 +13,13 @@ import taxi.tago.repository.ChatMessageRepository;
 import taxi.tago.repository.ChatRoomRepository;
 import taxi.tago.repository.TaxiUserRepository;
 import taxi.tago.repository.UserRepository;
+import taxi.tago.util.ChatMemberCache;
+import taxi.tago.util.ChatMessageCache;
+import taxi.tago.util.ChatMessageWriteQueue;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -30,40 +37,40 @@ public class ChatMessageService {
     // 공통 채팅 권한 검증 서비스
     private final ChatMemberAccessService chatMemberAccessService;
 
+    // 채팅방별 최근 메시지 캐시
+    private final ChatMessageCache chatMessageCache;
+
+    // 비동기 저장 모드용 메시지 저장 큐
+    private final ChatMessageWriteQueue chatMessageWriteQueue;
+
+    // chat_message.content 컬럼 길이
+    private static final int MAX_CONTENT_LENGTH = 500;
+
+    // 메시지 커서 조회 시 한 번에 가져올 메시지 수 (기본 / 최대)
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 100;
+
     // 텍스트 채팅 메시지 전송(저장) 메서드
     // request: 클라이언트에서 넘어온 전송 요청 DTO
     // senderId: 현재 로그인(= WebSocket 인증)된 사용자 ID
     // 반환값: 저장된 메시지를 기반으로 만든 응답 DTO
     @Transactional // DB write가 발생하므로 readOnly = false
     public ChatMessageResponse sendTextMessage(ChatMessageSendRequest request, Long senderId) {
-        // 채팅방 존재 여부 검증
+        // 채팅방 존재 여부, 종료 여부, 채팅 권한 검증 (채팅 참여자 캐시 사용)
+        validateRoomAccess(request.getChatRoomId(), senderId, true);
+
+        // 최근 메시지 갱신을 위해 채팅방 엔티티 조회
         ChatRoom chatRoom = chatRoomRepository.findById(request.getChatRoomId())
                 .orElseThrow(() -> new IllegalArgumentException(
                         "해당 채팅방이 존재하지 않습니다. chatRoomId = " + request.getChatRoomId()
                 ));
 
-        // 채팅방이 이미 종료된 방인지 검증
-        if (chatRoom.isClosed()) {
-            throw new IllegalArgumentException("이미 종료된 채팅방입니다. 새로운 택시팟을 생성해주세요.");
-        }
-
         // 보낸 유저 엔티티 조회
         User sender = userRepository.findById(senderId)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "해당 유저가 존재하지 않습니다. userId = " + senderId
                 ));
 
-        TaxiParty taxiParty = chatRoom.getTaxiParty();
-
-        // 공통 서비스로 채팅 권한 검증
-        boolean hasPermission = chatMemberAccessService.hasChatPermission(taxiParty, senderId);
-        if (!hasPermission) {
-            // 기존 메시지 그대로 유지
-            throw new IllegalArgumentException(
-                    "채팅 권한이 없습니다. 같이 타기 요청이 수락된 이후에만 채팅이 가능합니다."
-            );
-        }
-
         // ChatMessage 엔티티 생성 (정적 팩토리 메서드 사용)
         ChatMessage message = ChatMessage.createTextMessage(
                 chatRoom,
@@ -80,7 +87,30 @@ public class ChatMessageService {
         ChatMessage saved = chatMessageRepository.save(message);
 
         // 엔티티를 클라이언트 응답에 사용할 DTO로 변환
-        return ChatMessageResponse.from(saved);
+        ChatMessageResponse response = ChatMessageResponse.from(saved);
+
+        // 채팅방 최근 메시지 캐시에 추가 (커밋 후 반영)
+        chatMessageCache.append(response);
+
+        return response;
+    }
+
+    // 텍스트 채팅 메시지 전송 - 비동기 저장 모드
+    // 권한 검증 후 순번만 부여해서 바로 반환하고(브로드캐스트는 컨트롤러에서), DB 저장은 ChatMessageWriteQueue가 모아서 처리
+    // sender: WebSocket 세션에 저장된 로그인 사용자 (보낸 사람 이름/학번을 DB 조회 없이 사용)
+    public ChatMessageResponse sendTextMessageAsync(ChatMessageSendRequest request, User sender) {
+        // 채팅방 존재 여부, 종료 여부, 채팅 권한 검증 (채팅 참여자 캐시 사용, 캐시가 채워져 있으면 쿼리 없음)
+        validateRoomAccess(request.getChatRoomId(), sender.getId(), true);
+
+        // 메시지 내용 검증 (ChatMessage.createTextMessage와 동일한 규칙)
+        if (request.getContent() == null || request.getContent().trim().isEmpty()) {
+            throw new IllegalArgumentException("메시지 내용은 비어있을 수 없습니다.");
+        }
+        if (request.getContent().length() > MAX_CONTENT_LENGTH) {
+            throw new IllegalArgumentException("메시지는 " + MAX_CONTENT_LENGTH + "자까지 보낼 수 있습니다.");
+        }
+
+        return chatMessageWriteQueue.enqueue(request.getChatRoomId(), sender, request.getContent());
     }
 
     // 특정 채팅방의 전체 메시지(또는 최근 메시지들)를 시간순으로 조회 (채팅방 입장 시 이전 대화 내용 불러오는 용도)
@@ -88,21 +118,8 @@ public class ChatMessageService {
     // userId: 현재 로그인한 사용자 ID (권한 검증용)
     // 반환값: 시간순 정렬된 메시지 응답 DTO 리스트
     public List<ChatMessageResponse> getMessages(Long chatRoomId, Long userId) {
-        // 채팅방 존재 여부 검증
-        ChatRoom chatRoom = chatRoomRepository.findById(chatRoomId)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "해당 채팅방이 존재하지 않습니다. chatRoomId = " + chatRoomId
-                ));
-
-        TaxiParty taxiParty = chatRoom.getTaxiParty();
-
-        // 공통 서비스로 채팅 권한 검증
-        boolean hasPermission = chatMemberAccessService.hasChatPermission(taxiParty, userId);
-        if (!hasPermission) {
-            throw new IllegalArgumentException(
-                    "채팅 권한이 없습니다. 같이 타기 요청이 수락된 이후에만 채팅이 가능합니다."
-            );
-        }
+        // 채팅방 존재 여부, 채팅 권한 검증 (채팅 참여자 캐시 사용)
+        validateRoomAccess(chatRoomId, userId, false);
 
         // 해당 채팅방의 메시지 전체를 sentAt 오름차순으로 조회
         List<ChatMessage> messages =
@@ -113,4 +130,70 @@ public class ChatMessageService {
                 .map(ChatMessageResponse::from)
                 .collect(Collectors.toList());
     }
+
+    // 특정 채팅방의 메시지를 커서 기반으로 조회 (채팅방 입장 시 최근 limit개, 이후 위로 스크롤 시 beforeMessageId 이전 limit개)
+    // 메시지 수와 관계없이 (chatroom_id, chatmessage_id) 인덱스 범위 조회 한 번으로 처리
+    // chatRoomId: 채팅방 ID
+    // userId: 현재 로그인한 사용자 ID (권한 검증용)
+    // beforeMessageId: 이 ID보다 이전 메시지만 조회 (null이면 가장 최근 메시지부터)
+    // limit: 조회할 메시지 수 (기본 50, 최대 100)
+    public ChatMessagePageResponse getMessagesBefore(Long chatRoomId, Long userId, Long beforeMessageId, Integer limit) {
+        // 채팅방 존재 여부, 채팅 권한 검증 (채팅 참여자 캐시 사용)
+        validateRoomAccess(chatRoomId, userId, false);
+
+        int pageSize = (limit == null) ? DEFAULT_PAGE_SIZE : Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+
+        // 최근 메시지 조회는 채팅방별 최근 메시지 캐시에서 먼저 확인
+        if (beforeMessageId == null) {
+            ChatMessageCache.CachedPage cached = chatMessageCache.getRecent(chatRoomId, pageSize);
+            if (cached != null) {
+                List<ChatMessageResponse> messages = cached.messages();
+                Long nextBeforeMessageId = cached.hasNext() && !messages.isEmpty()
+                        ? messages.get(0).getMessageId() : null;
+                return new ChatMessagePageResponse(messages, cached.hasNext(), nextBeforeMessageId);
+            }
+        }
+
+        // 다음 페이지 존재 여부 확인을 위해 1개 더 조회 (최신순)
+        // 최근 메시지 조회라면 캐시를 채울 수 있도록 방당 캐시 크기만큼 함께 조회
+        int fetchSize = (beforeMessageId == null)
+                ? Math.max(pageSize, chatMessageCache.getMessagesPerRoom()) + 1
+                : pageSize + 1;
+        List<ChatMessageResponse> rows = chatMessageRepository.findPageByChatRoomId(
+                chatRoomId, beforeMessageId, PageRequest.of(0, fetchSize));
+
+        if (beforeMessageId == null) {
+            chatMessageCache.fill(chatRoomId, rows, rows.size() < fetchSize);
+        }
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ChatMessageResponse> messages = new ArrayList<>(hasNext ? rows.subList(0, pageSize) : rows);
+
+        // 화면에는 시간순으로 보여주므로 오래된 메시지가 먼저 오도록 뒤집기
+        Collections.reverse(messages);
+
+        Long nextBeforeMessageId = hasNext ? messages.get(0).getMessageId() : null;
+        return new ChatMessagePageResponse(messages, hasNext, nextBeforeMessageId);
+    }
+
+    // 채팅방 존재 여부, (requireOpen이면) 종료 여부, 채팅 권한 검증
+    // 채팅방 / 참여자 정보는 ChatMemberCache에서 가져오므로 캐시가 채워진 뒤에는 DB 조회 없음
+    private void validateRoomAccess(Long chatRoomId, Long userId, boolean requireOpen) {
+        ChatMemberCache.RoomRef room = chatMemberAccessService.findRoom(chatRoomId);
+        if (room == null) {
+            throw new IllegalArgumentException("해당 채팅방이 존재하지 않습니다. chatRoomId = " + chatRoomId);
+        }
+
+        // 채팅방이 이미 종료된 방인지 검증
+        if (requireOpen && room.closed()) {
+            throw new IllegalArgumentException("이미 종료된 채팅방입니다. 새로운 택시팟을 생성해주세요.");
+        }
+
+        // 공통 서비스로 채팅 권한 검증
+        if (!chatMemberAccessService.hasChatPermission(room.taxiPartyId(), userId)) {
+            throw new IllegalArgumentException(
+                    "채팅 권한이 없습니다. 같이 타기 요청이 수락된 이후에만 채팅이 가능합니다."
+            );
+        }
+    }
 }
@@ -12,6 +12,7 @@ import taxi.tago.entity.TaxiUser;
 import taxi.tago.repository.ChatRoomRepository;
 import taxi.tago.repository.TaxiPartyRepository;
 import taxi.tago.repository.TaxiUserRepository;
+import taxi.tago.util.ChatMemberCache;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -30,6 +31,9 @@ public class ChatRoomService {
     // 공통 채팅 권한 검증 서비스
     private final ChatMemberAccessService chatMemberAccessService;
 
+    // 채팅 참여자 캐시 (채팅방 종료 시 무효화)
+    private final ChatMemberCache chatMemberCache;
+
     // 채팅방 입장/생성 메서드
     // 택시팟 ID와 유저 ID로 채팅방에 입장하거나 새로 생성함
     @Transactional // DB write가 필요하므로 트랜잭션 별도 지정
@@ -137,6 +141,7 @@ public class ChatRoomService {
 
         // 엔티티 내부 비즈니스 메서드 호출 (closed=true, closedAt=now로 상태 변경)
         room.close();
+        chatMemberCache.onRoomClosed(room.getId(), party.getId());
 
         // @Transactional 때문에 메서드가 정상 종료되면 변경사항이 자동으로 flush되어 UPDATE 쿼리가 나가므로, save() 호출할 필요가 없음
     }
@@ -4,20 +4,24 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import taxi.tago.exception.MailQueueFullException;
+import taxi.tago.util.AuthCodeStore;
+import taxi.tago.util.MailOutbox;
+import taxi.tago.util.PasswordValidator;
 
 import java.security.SecureRandom;
-import java.time.LocalDateTime;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.time.Duration;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class EmailAuthService {
 
-    private final JavaMailSender mailSender;
+    private final MailOutbox mailOutbox; // 메일은 발송함에 넣고 바로 반환 (SMTP 지연이 API 응답 시간에 포함되지 않음)
+    private final AuthCodeStore authCodeStore; // 인증 코드 / 인증 상태 저장소 (유효 시간이 지나면 자동으로 제거됨)
+    private final PasswordEncoder passwordEncoder; // 회원가입용 비밀번호를 암호화해서 임시 저장
 
     @Value("${email.auth.code.expiration-minutes:5}")
     private int expirationMinutes;
@@ -25,68 +29,65 @@ public class EmailAuthService {
     @Value("${email.auth.code.length:6}")
     private int codeLength;
 
+    // 인증 완료 상태 유효 시간 (인증 후 비밀번호 설정 / 변경까지)
+    @Value("${email.auth.verified.expiration-minutes:60}")
+    private int verifiedExpirationMinutes;
+
     @Value("${spring.mail.from:}")
     private String fromEmail;
 
-    // 이메일별 인증 코드 저장 (실제 운영 환경에서는 Redis 등을 사용 권장)
-    private final Map<String, AuthCodeInfo> authCodeStorage = new ConcurrentHashMap<>();
-
-    // 인증 완료된 이메일 추적 (비밀번호 설정 단계를 위해)
-    private final Map<String, Boolean> verifiedEmails = new ConcurrentHashMap<>();
-
-    // 회원가입용 비밀번호 임시 저장 (도서관 인증 완료 후 회원가입 처리)
-    private final Map<String, PasswordInfo> passwordStorage = new ConcurrentHashMap<>();
+    // 저장소 용도 구분
+    private static final String SIGNUP_CODE = "signup-code";         // 이메일별 인증 코드
+    private static final String SIGNUP_VERIFIED = "signup-verified"; // 인증 완료된 이메일 (비밀번호 설정 단계를 위해)
+    private static final String SIGNUP_PASSWORD = "signup-password"; // 회원가입용 암호화된 비밀번호 (도서관 인증 완료 후 회원가입 처리)
+    private static final String RESET_CODE = "reset-code";           // 비밀번호 변경용 인증 코드 (회원가입용과 분리)
+    private static final String RESET_VERIFIED = "reset-verified";   // 비밀번호 변경용 인증 완료된 이메일
 
-    // 비밀번호 변경용 인증 코드 저장 (회원가입용과 분리)
-    private final Map<String, AuthCodeInfo> passwordResetCodeStorage = new ConcurrentHashMap<>();
+    // 회원가입용 비밀번호 임시 저장 시간 (30분)
+    private static final Duration PASSWORD_TTL = Duration.ofMinutes(30);
 
-    // 비밀번호 변경용 인증 완료된 이메일 추적
-    private final Map<String, Boolean> passwordResetVerifiedEmails = new ConcurrentHashMap<>();
+    private static final String VERIFIED = "true";
 
     // 서울여대 웹메일 도메인 검증
     private static final String SWU_EMAIL_DOMAIN = "@swu.ac.kr";
+    public static final String SWU_EMAIL_REQUIRED_MESSAGE = "서울여대 웹메일(@swu.ac.kr)만 사용 가능합니다.";
 
-    // 인증 코드 생성 및 이메일 전송
-    public void sendAuthCode(String email) {
+    // 인증 코드 생성 및 이메일 전송 (발송 요청 ID 반환)
+    public String sendAuthCode(String email) {
         // 서울여대 웹메일 검증
         if (!isSwuEmail(email)) {
-            throw new IllegalArgumentException("서울여대 웹메일(@swu.ac.kr)만 사용 가능합니다.");
+            throw new IllegalArgumentException(SWU_EMAIL_REQUIRED_MESSAGE);
         }
 
         // 6자리 인증 코드 생성
         String authCode = generateAuthCode();
 
         // 기존 코드가 있으면 초기화 (재전송 시)
-        authCodeStorage.put(email, new AuthCodeInfo(authCode, LocalDateTime.now()));
+        authCodeStore.put(SIGNUP_CODE, email, authCode, Duration.ofMinutes(expirationMinutes));
 
-        // 이메일 전송
-        sendEmail(email, authCode);
+        // 이메일 전송 요청
+        String requestId = sendEmail(email, authCode);
 
-        log.info("인증 코드 전송 완료: {}", email);
+        log.info("인증 코드 전송 요청 완료: {}, requestId={}", email, requestId);
+        return requestId;
     }
 
     // 인증 코드 검증
     public boolean verifyAuthCode(String email, String code) {
-        AuthCodeInfo authCodeInfo = authCodeStorage.get(email);
-
-        if (authCodeInfo == null) {
-            log.warn("인증 코드가 존재하지 않음: {}", email);
-            return false;
-        }
+        // 만료된 코드는 저장소에서 조회되지 않음
+        String savedCode = authCodeStore.get(SIGNUP_CODE, email);
 
-        // 만료 시간 확인
-        if (authCodeInfo.isExpired(expirationMinutes)) {
-            log.warn("인증 코드 만료: {}", email);
-            authCodeStorage.remove(email);
+        if (savedCode == null) {
+            log.warn("인증 코드가 존재하지 않거나 만료됨: {}", email);
             return false;
         }
 
         // 코드 일치 확인
-        boolean isValid = authCodeInfo.getCode().equals(code);
+        boolean isValid = savedCode.equals(code);
         if (isValid) {
             // 인증 성공 시 저장소에서 제거하고 인증 완료 상태 저장
-            authCodeStorage.remove(email);
-            verifiedEmails.put(email, true);
+            authCodeStore.remove(SIGNUP_CODE, email);
+            authCodeStore.put(SIGNUP_VERIFIED, email, VERIFIED, Duration.ofMinutes(verifiedExpirationMinutes));
             log.info("인증 코드 검증 성공: {}", email);
         } else {
             log.warn("인증 코드 불일치: {}", email);
@@ -95,35 +96,25 @@ public class EmailAuthService {
         return isValid;
     }
 
-    // 인증 코드 재전송 (기존 코드 초기화 후 새 코드 전송)
-    public void resendAuthCode(String email) {
+    // 인증 코드 재전송 (기존 코드 초기화 후 새 코드 전송, 발송 요청 ID 반환)
+    public String resendAuthCode(String email) {
         // 기존 코드 제거 (초기화)
-        authCodeStorage.remove(email);
+        authCodeStore.remove(SIGNUP_CODE, email);
         
         // 새 코드 생성 및 전송
-        sendAuthCode(email);
-        log.info("인증 코드 재전송 완료: {}", email);
+        String requestId = sendAuthCode(email);
+        log.info("인증 코드 재전송 요청 완료: {}, requestId={}", email, requestId);
+        return requestId;
     }
 
     // 이메일 인증 완료 여부 확인
     public boolean isEmailVerified(String email) {
-        return verifiedEmails.getOrDefault(email, false);
+        return authCodeStore.get(SIGNUP_VERIFIED, email) != null;
     }
 
-    // 이메일 인증 상태 제거 (회원가입 완료 후 또는 만료 시)
+    // 이메일 인증 상태 제거 (회원가입 완료 후, 만료는 저장소에서 처리)
     public void removeVerifiedEmail(String email) {
-        verifiedEmails.remove(email);
-    }
-    
-    // 회원가입 플로우에서 이메일 인증 완료된 이메일 조회 (도서관 인증 시 사용)
-    public String getVerifiedEmailForRegistration() {
-        // verifiedEmails Map에서 true인 이메일 하나만 반환 (회원가입 플로우에서는 하나만 있어야 함)
-        for (Map.Entry<String, Boolean> entry : verifiedEmails.entrySet()) {
-            if (entry.getValue()) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        authCodeStore.remove(SIGNUP_VERIFIED, email);
     }
 
     // 비밀번호 임시 저장 (도서관 인증 완료 후 회원가입 처리용)
@@ -138,71 +129,69 @@ public class EmailAuthService {
             throw new IllegalArgumentException("비밀번호가 일치하지 않습니다.");
         }
 
-        // 비밀번호 임시 저장 (30분 유효)
-        passwordStorage.put(email, new PasswordInfo(password, LocalDateTime.now()));
+        // 비밀번호 유효성 검증 (원문은 저장하지 않으므로 여기서 검증)
+        String passwordError = PasswordValidator.validate(password);
+        if (passwordError != null) {
+            throw new IllegalArgumentException(passwordError);
+        }
+
+        // 암호화된 비밀번호 임시 저장 (30분 유효, DB 저장소를 써도 원문이 남지 않음)
+        authCodeStore.put(SIGNUP_PASSWORD, email, passwordEncoder.encode(password), PASSWORD_TTL);
         log.info("비밀번호 임시 저장 완료: {}", email);
     }
 
+    // 비밀번호 임시 저장 여부 확인 (제거하지 않음, 도서관 인증 요청 접수 시 사용)
+    public boolean hasPasswordForRegistration(String email) {
+        return authCodeStore.get(SIGNUP_PASSWORD, email) != null;
+    }
+
     // 임시 저장된 비밀번호 조회 및 제거 (도서관 인증 완료 후 회원가입 처리 시 사용)
     public PasswordInfo getAndRemovePasswordForRegistration(String email) {
-        PasswordInfo passwordInfo = passwordStorage.get(email);
-        if (passwordInfo == null) {
-            return null;
-        }
-
-        // 만료 확인 (30분)
-        if (passwordInfo.isExpired(30)) {
-            passwordStorage.remove(email);
-            log.warn("임시 저장된 비밀번호 만료: {}", email);
+        // 사용 후 제거 (30분이 지나 만료됐으면 null)
+        String encodedPassword = authCodeStore.remove(SIGNUP_PASSWORD, email);
+        if (encodedPassword == null) {
+            log.warn("임시 저장된 비밀번호가 없거나 만료됨: {}", email);
             return null;
         }
-
-        // 사용 후 제거
-        passwordStorage.remove(email);
-        return passwordInfo;
+        return new PasswordInfo(encodedPassword);
     }
 
-    // 비밀번호 변경용 인증 코드 생성 및 이메일 전송
-    public void sendPasswordResetCode(String email) {
+    // 비밀번호 변경용 인증 코드 생성 및 이메일 전송 (발송 요청 ID 반환)
+    public String sendPasswordResetCode(String email) {
         // 서울여대 웹메일 검증
         if (!isSwuEmail(email)) {
-            throw new IllegalArgumentException("서울여대 웹메일(@swu.ac.kr)만 사용 가능합니다.");
+            throw new IllegalArgumentException(SWU_EMAIL_REQUIRED_MESSAGE);
         }
 
         // 6자리 인증 코드 생성
         String authCode = generateAuthCode();
 
         // 기존 코드가 있으면 초기화 (재전송 시)
-        passwordResetCodeStorage.put(email, new AuthCodeInfo(authCode, LocalDateTime.now()));
+        authCodeStore.put(RESET_CODE, email, authCode, Duration.ofMinutes(expirationMinutes));
 
-        // 이메일 전송
-        sendPasswordResetEmail(email, authCode);
+        // 이메일 전송 요청
+        String requestId = sendPasswordResetEmail(email, authCode);
 
-        log.info("비밀번호 변경용 인증 코드 전송 완료: {}", email);
+        log.info("비밀번호 변경용 인증 코드 전송 요청 완료: {}, requestId={}", email, requestId);
+        return requestId;
     }
 
     // 비밀번호 변경용 인증 코드 검증
     public boolean verifyPasswordResetCode(String email, String code) {
-        AuthCodeInfo authCodeInfo = passwordResetCodeStorage.get(email);
-
-        if (authCodeInfo == null) {
-            log.warn("비밀번호 변경용 인증 코드가 존재하지 않음: {}", email);
-            return false;
-        }
+        // 만료된 코드는 저장소에서 조회되지 않음
+        String savedCode = authCodeStore.get(RESET_CODE, email);
 
-        // 만료 시간 확인
-        if (authCodeInfo.isExpired(expirationMinutes)) {
-            log.warn("비밀번호 변경용 인증 코드 만료: {}", email);
-            passwordResetCodeStorage.remove(email);
+        if (savedCode == null) {
+            log.warn("비밀번호 변경용 인증 코드가 존재하지 않거나 만료됨: {}", email);
             return false;
         }
 
         // 코드 일치 확인
-        boolean isValid = authCodeInfo.getCode().equals(code);
+        boolean isValid = savedCode.equals(code);
         if (isValid) {
             // 인증 성공 시 저장소에서 제거하고 인증 완료 상태 저장
-            passwordResetCodeStorage.remove(email);
-            passwordResetVerifiedEmails.put(email, true);
+            authCodeStore.remove(RESET_CODE, email);
+            authCodeStore.put(RESET_VERIFIED, email, VERIFIED, Duration.ofMinutes(verifiedExpirationMinutes));
             log.info("비밀번호 변경용 인증 코드 검증 성공: {}", email);
         } else {
             log.warn("비밀번호 변경용 인증 코드 불일치: {}", email);
@@ -211,28 +200,29 @@ public class EmailAuthService {
         return isValid;
     }
 
-    // 비밀번호 변경용 인증 코드 재전송
-    public void resendPasswordResetCode(String email) {
+    // 비밀번호 변경용 인증 코드 재전송 (발송 요청 ID 반환)
+    public String resendPasswordResetCode(String email) {
         // 기존 코드 제거 (초기화)
-        passwordResetCodeStorage.remove(email);
+        authCodeStore.remove(RESET_CODE, email);
         
         // 새 코드 생성 및 전송
-        sendPasswordResetCode(email);
-        log.info("비밀번호 변경용 인증 코드 재전송 완료: {}", email);
+        String requestId = sendPasswordResetCode(email);
+        log.info("비밀번호 변경용 인증 코드 재전송 요청 완료: {}, requestId={}", email, requestId);
+        return requestId;
     }
 
     // 비밀번호 변경용 인증 완료 여부 확인
     public boolean isPasswordResetVerified(String email) {
-        return passwordResetVerifiedEmails.getOrDefault(email, false);
+        return authCodeStore.get(RESET_VERIFIED, email) != null;
     }
 
     // 비밀번호 변경용 인증 상태 제거 (비밀번호 변경 완료 후)
     public void removePasswordResetVerifiedEmail(String email) {
-        passwordResetVerifiedEmails.remove(email);
+        authCodeStore.remove(RESET_VERIFIED, email);
     }
 
     // 서울여대 웹메일인지 확인
-    private boolean isSwuEmail(String email) {
+    public static boolean isSwuEmail(String email) {
         return email != null && email.toLowerCase().endsWith(SWU_EMAIL_DOMAIN);
     }
 
@@ -246,8 +236,8 @@ public class EmailAuthService {
         return code.toString();
     }
 
-    // 이메일 전송
-    private void sendEmail(String to, String authCode) {
+    // 이메일 전송 요청 (발송함에 넣고 요청 ID 반환)
+    private String sendEmail(String to, String authCode) {
         // 로컬 테스트용: 콘솔에 인증 코드 출력
         log.info("========================================");
         log.info("이메일 인증 코드 전송");
@@ -255,35 +245,21 @@ public class EmailAuthService {
         log.info("인증 코드: {}", authCode);
         log.info("유효 시간: {}분", expirationMinutes);
         log.info("========================================");
-        
-        try {
-            // 실제 이메일 전송 (AWS SES 또는 설정된 SMTP 사용)
-            SimpleMailMessage message = new SimpleMailMessage();
-            // 발신자 주소 설정 (AWS SES 인증된 이메일 주소 또는 Gmail 등)
-            if (fromEmail != null && !fromEmail.isEmpty() && !fromEmail.equals("noreply@yourdomain.com")) {
-                message.setFrom(fromEmail);
-            }
-            message.setTo(to);
-            message.setSubject("[슈슝] 회원가입 인증 코드");
-            message.setText("안녕하세요.\n\n" +
-                    "회원가입을 위한 인증 코드입니다.\n\n" +
-                    "인증 코드: " + authCode + "\n\n" +
-                    "이 코드는 " + expirationMinutes + "분간 유효합니다.\n\n" +
-                    "본인이 요청한 것이 아니라면 무시하셔도 됩니다.");
-            
-            mailSender.send(message);
-            log.info("✅ 이메일 전송 성공: {} (인증 코드: {})", to, authCode);
-        } catch (Exception e) {
-            log.error("❌ 이메일 전송 실패: {} - {}", to, e.getMessage(), e);
-            log.error("⚠️ 이메일 발송 실패했지만 인증 코드는 생성되었습니다. 콘솔 로그에서 인증 코드를 확인하거나 이메일 설정을 확인해주세요.");
-            log.error("⚠️ 인증 코드: {} (유효 시간: {}분)", authCode, expirationMinutes);
-            // 이메일 발송 실패해도 인증 코드는 생성되어 저장되므로, 사용자는 콘솔 로그를 확인하거나
-            // 이메일 설정(MAIL_USERNAME, MAIL_PASSWORD 환경 변수)을 확인하면 됩니다.
-        }
+
+        // 실제 이메일 전송은 발송 스레드에서 처리 (AWS SES 또는 설정된 SMTP 사용)
+        // 발송에 실패해도 인증 코드는 생성되어 저장되므로, 콘솔 로그에서 인증 코드를 확인하거나
+        // 이메일 설정(MAIL_USERNAME, MAIL_PASSWORD 환경 변수)을 확인하면 됩니다.
+        SimpleMailMessage message = createMessage(to, "[슈슝] 회원가입 인증 코드",
+                "안녕하세요.\n\n" +
+                "회원가입을 위한 인증 코드입니다.\n\n" +
+                "인증 코드: " + authCode + "\n\n" +
+                "이 코드는 " + expirationMinutes + "분간 유효합니다.\n\n" +
+                "본인이 요청한 것이 아니라면 무시하셔도 됩니다.");
+        return mailOutbox.enqueue(message);
     }
 
-    // 비밀번호 변경용 이메일 전송
-    private void sendPasswordResetEmail(String to, String authCode) {
+    // 비밀번호 변경용 이메일 전송 요청 (발송함에 넣고 요청 ID 반환)
+    private String sendPasswordResetEmail(String to, String authCode) {
         // 로컬 테스트용: 콘솔에 인증 코드 출력
         log.info("========================================");
         log.info("비밀번호 변경용 인증 코드 전송");
@@ -291,96 +267,64 @@ public class EmailAuthService {
         log.info("인증 코드: {}", authCode);
         log.info("유효 시간: {}분", expirationMinutes);
         log.info("========================================");
-        
-        try {
-            // 실제 이메일 전송 (AWS SES 또는 설정된 SMTP 사용)
-            SimpleMailMessage message = new SimpleMailMessage();
-            // 발신자 주소 설정 (AWS SES 인증된 이메일 주소 또는 Gmail 등)
-            if (fromEmail != null && !fromEmail.isEmpty() && !fromEmail.equals("noreply@yourdomain.com")) {
-                message.setFrom(fromEmail);
-            }
-            message.setTo(to);
-            message.setSubject("[슈슝] 비밀번호 재설정 인증 코드");
-            message.setText("안녕하세요.\n\n" +
-                    "비밀번호 재설정을 위한 인증 코드입니다.\n\n" +
-                    "인증 코드: " + authCode + "\n\n" +
-                    "이 코드는 " + expirationMinutes + "분간 유효합니다.\n\n" +
-                    "본인이 요청한 것이 아니라면 무시하셔도 됩니다.");
-            
-            mailSender.send(message);
-            log.info("✅ 비밀번호 변경용 이메일 전송 성공: {} (인증 코드: {})", to, authCode);
-        } catch (Exception e) {
-            log.error("❌ 비밀번호 변경용 이메일 전송 실패: {} - {}", to, e.getMessage(), e);
-            log.error("⚠️ 이메일 발송 실패했지만 인증 코드는 생성되었습니다. 콘솔 로그에서 인증 코드를 확인하거나 이메일 설정을 확인해주세요.");
-            log.error("⚠️ 인증 코드: {} (유효 시간: {}분)", authCode, expirationMinutes);
-        }
+
+        SimpleMailMessage message = createMessage(to, "[슈슝] 비밀번호 재설정 인증 코드",
+                "안녕하세요.\n\n" +
+                "비밀번호 재설정을 위한 인증 코드입니다.\n\n" +
+                "인증 코드: " + authCode + "\n\n" +
+                "이 코드는 " + expirationMinutes + "분간 유효합니다.\n\n" +
+                "본인이 요청한 것이 아니라면 무시하셔도 됩니다.");
+        return mailOutbox.enqueue(message);
     }
 
-    // 인증 반려 메일 전송
-    public void sendRejectionEmail(String email, String rejectionReason) {
+    // 인증 반려 메일 전송 요청 (발송함에 넣고 요청 ID 반환, 발송함이 가득 차면 null)
+    public String sendRejectionEmail(String email, String rejectionReason) {
         // 로컬 테스트용: 콘솔에 반려 메일 내용 출력
         log.info("========================================");
         log.info("인증 반려 메일 전송");
         log.info("받는 사람: {}", email);
         log.info("반려 사유: {}", rejectionReason);
         log.info("========================================");
-        
+
+        SimpleMailMessage message = createMessage(email, "[슈슝] 도서관 전자출입증 인증 반려 안내",
+                "안녕하세요.\n\n" +
+                "도서관 전자출입증 인증 요청이 반려되었습니다.\n\n" +
+                "반려 사유: " + rejectionReason + "\n\n" +
+                "다시 인증을 시도해주시기 바랍니다.\n\n");
+        // 반려 처리는 이미 끝났으므로 발송함이 가득 차도 반려를 실패시키지 않고 로그만 남김
         try {
-            // 실제 이메일 전송 (AWS SES 또는 설정된 SMTP 사용)
-            SimpleMailMessage message = new SimpleMailMessage();
-            // 발신자 주소 설정 (AWS SES 인증된 이메일 주소 또는 Gmail 등)
-            if (fromEmail != null && !fromEmail.isEmpty() && !fromEmail.equals("noreply@yourdomain.com")) {
-                message.setFrom(fromEmail);
-            }
-            message.setTo(email);
-            message.setSubject("[슈슝] 도서관 전자출입증 인증 반려 안내");
-            message.setText("안녕하세요.\n\n" +
-                    "도서관 전자출입증 인증 요청이 반려되었습니다.\n\n" +
-                    "반려 사유: " + rejectionReason + "\n\n" +
-                    "다시 인증을 시도해주시기 바랍니다.\n\n");
-            mailSender.send(message);
-            log.info("✅ 반려 메일 전송 성공: {}", email);
-        } catch (Exception e) {
-            log.error("❌ 반려 메일 전송 실패: {} - {}", email, e.getMessage(), e);
+            String requestId = mailOutbox.enqueue(message);
+            log.info("반려 메일 전송 요청 완료: {}, requestId={}", email, requestId);
+            return requestId;
+        } catch (MailQueueFullException e) {
+            log.error("❌ 발송함 초과로 반려 메일을 보내지 못함: {}, reason={}", email, rejectionReason);
+            return null;
         }
     }
 
-    // 인증 코드 정보를 저장하는 내부 클래스
-    private static class AuthCodeInfo {
-        private final String code;
-        private final LocalDateTime createdAt;
-
-        public AuthCodeInfo(String code, LocalDateTime createdAt) {
-            this.code = code;
-            this.createdAt = createdAt;
-        }
-
-        public String getCode() {
-            return code;
-        }
-
-        public boolean isExpired(int expirationMinutes) {
-            return LocalDateTime.now().isAfter(createdAt.plusMinutes(expirationMinutes));
+    // 메일 메시지 생성
+    private SimpleMailMessage createMessage(String to, String subject, String text) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        // 발신자 주소 설정 (AWS SES 인증된 이메일 주소 또는 Gmail 등)
+        if (fromEmail != null && !fromEmail.isEmpty() && !fromEmail.equals("noreply@yourdomain.com")) {
+            message.setFrom(fromEmail);
         }
+        message.setTo(to);
+        message.setSubject(subject);
+        message.setText(text);
+        return message;
     }
 
-    // 비밀번호 정보를 저장하는 내부 클래스
+    // 임시 저장된 비밀번호 정보 (암호화된 비밀번호)
     public static class PasswordInfo {
-        private final String password;
-        private final LocalDateTime createdAt;
-
-        public PasswordInfo(String password, LocalDateTime createdAt) {
-            this.password = password;
-            this.createdAt = createdAt;
-        }
+        private final String encodedPassword;
 
-        public String getPassword() {
-            return password;
+        public PasswordInfo(String encodedPassword) {
+            this.encodedPassword = encodedPassword;
         }
 
-        public boolean isExpired(int expirationMinutes) {
-            return LocalDateTime.now().isAfter(createdAt.plusMinutes(expirationMinutes));
+        public String getEncodedPassword() {
+            return encodedPassword;
         }
     }
 }
-
@@ -51,12 +51,27 @@ public class FileStorageService {
 
     // 파일 경로로부터 파일을 읽어서 byte 배열로 반환 (상대 경로, 절대 경로 모두 지원)
     public byte[] loadImageFile(String filePath) throws IOException {
+        Path path = resolveImagePath(filePath);
+
+        try {
+            byte[] bytes = Files.readAllBytes(path);
+            log.debug("이미지 파일 로드 성공: filePath={}, 크기={} bytes", filePath, bytes.length);
+            return bytes;
+        } catch (IOException e) {
+            log.error("파일 읽기 실패: filePath={}, error={}", filePath, e.getMessage(), e);
+            throw new IOException("파일을 읽는 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    // 저장된 파일 경로를 실제로 존재하는 파일 경로로 변환 (상대 경로, 절대 경로 모두 지원)
+    // 파일 내용을 메모리에 올리지 않고 스트리밍으로 응답할 때 사용
+    public Path resolveImagePath(String filePath) throws IOException {
         if (filePath == null || filePath.trim().isEmpty()) {
             log.error("파일 경로가 비어있습니다.");
             throw new IOException("파일 경로가 비어있습니다.");
         }
 
-        log.debug("이미지 파일 로드 시도: filePath={}", filePath);
+        log.debug("이미지 파일 경로 확인: filePath={}", filePath);
 
         // 상대 경로와 절대 경로 모두 처리
         Path path = Paths.get(filePath);
@@ -84,15 +99,6 @@ public class FileStorageService {
             log.error("파일을 찾을 수 없습니다: filePath={}, 시도한 경로={}", filePath, path.toAbsolutePath());
             throw new IOException("파일을 찾을 수 없습니다: " + filePath);
         }
-        
-        try {
-            byte[] bytes = Files.readAllBytes(path);
-            log.debug("이미지 파일 로드 성공: filePath={}, 크기={} bytes", filePath, bytes.length);
-            return bytes;
-        } catch (IOException e) {
-            log.error("파일 읽기 실패: filePath={}, error={}", filePath, e.getMessage(), e);
-            throw new IOException("파일을 읽는 중 오류가 발생했습니다: " + e.getMessage(), e);
-        }
+        return path;
     }
 }
-
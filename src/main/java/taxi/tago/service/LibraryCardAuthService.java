@@ -31,6 +31,7 @@ public class LibraryCardAuthService {
     private final FileStorageService fileStorageService;
     private final EmailAuthService emailAuthService;
     private final taxi.tago.service.User.UserService userService;
+    private final taxi.tago.security.JwtPrincipalCache jwtPrincipalCache; // 학번 / 이름 변경 시 인증 캐시 제거용
 
     // 서울여대 학번 패턴: 10자리 숫자 (예: 2021111222)
     private static final Pattern SWU_STUDENT_ID_PATTERN = Pattern.compile("^\\d{10}$");
@@ -67,83 +68,79 @@ public class LibraryCardAuthService {
         }
     }
 
-    // 도서관 전자출입증 이미지를 OCR로 처리 (회원가입 플로우: 비밀번호 설정 완료 후 사용자 정보 업데이트)
-    @Transactional
-    public LibraryCardAuthResult processLibraryCardImageForRegistration(String email, MultipartFile imageFile) {
-        try {
-            // 1. 이미지 파일 검증
-            if (imageFile == null || imageFile.isEmpty()) {
-                return LibraryCardAuthResult.failure("이미지를 등록해주세요.");
-            }
-
-            // 2. 임시 저장된 비밀번호 조회 (비밀번호 설정 단계에서 저장됨)
-            EmailAuthService.PasswordInfo passwordInfo = emailAuthService.getAndRemovePasswordForRegistration(email);
-            if (passwordInfo == null) {
-                return LibraryCardAuthResult.failure("비밀번호 설정이 완료되지 않았습니다. 먼저 비밀번호를 설정해주세요.");
-            }
-
-            // 3. 이미 가입된 이메일인지 확인
-            if (userRepository.findByEmailAndRole(email, taxi.tago.constant.UserRole.USER).isPresent()) {
-                return LibraryCardAuthResult.failure("이미 가입된 이메일입니다.");
-            }
-
-            // 3. OCR로 이미지에서 텍스트 추출
-            byte[] imageBytes = imageFile.getBytes();
-            OcrResult ocrResult = ocrService.extractText(imageBytes);
-
-            String extractedName = ocrResult.getName();
-            String extractedStudentId = ocrResult.getStudentId();
-
-            // 4. 이름 또는 학번이 추출되지 않은 경우
-            if (extractedName == null || extractedName.trim().isEmpty()) {
-                return LibraryCardAuthResult.failureWithDetails(
-                    "이미지에서 이름을 찾을 수 없습니다. 명확한 사진을 다시 등록해주세요.",
-                    extractedName, extractedStudentId
-                );
-            }
-
-            if (extractedStudentId == null || extractedStudentId.trim().isEmpty()) {
-                return LibraryCardAuthResult.failureWithDetails(
-                    "이미지에서 학번을 찾을 수 없습니다. 명확한 사진을 다시 등록해주세요.",
-                    extractedName, extractedStudentId
-                );
-            }
+    // 회원가입용 도서관 인증 가능 여부 확인 (OCR 호출 전에 확인해서 불필요한 OCR 요청을 막음)
+    public void checkRegistrationReady(String email) {
+        // 임시 저장된 비밀번호 확인 (비밀번호 설정 단계에서 저장됨, 여기서는 제거하지 않음)
+        if (!emailAuthService.hasPasswordForRegistration(email)) {
+            throw new IllegalArgumentException("비밀번호 설정이 완료되지 않았습니다. 먼저 비밀번호를 설정해주세요.");
+        }
 
-            // 5. 서울여대 학번 형식 검증
-            if (!isValidSwuStudentId(extractedStudentId)) {
-                return LibraryCardAuthResult.failureWithDetails(
-                    "서울여대 학번 형식이 아닙니다. 올바른 전자출입증을 등록해주세요.",
-                    extractedName, extractedStudentId
-                );
-            }
+        // 이미 가입된 이메일인지 확인
+        if (userRepository.findByEmailAndRole(email, taxi.tago.constant.UserRole.USER).isPresent()) {
+            throw new IllegalArgumentException("이미 가입된 이메일입니다.");
+        }
+    }
 
-            // 6. 완전한 회원가입 처리 (비밀번호, 학번, 이름 모두 포함)
-            User user = userService.completeRegistration(
-                    email,
-                    passwordInfo.getPassword(),
-                    extractedStudentId.trim(),
-                    extractedName.trim()
+    // OCR 결과로 회원가입 완료 (OCR 호출은 트랜잭션 밖에서 끝낸 뒤 호출 -> OCR을 기다리는 동안 DB 연결을 잡지 않음)
+    // 이름 / 학번 추출에 실패하면 임시 저장된 비밀번호를 남겨 두어 사진만 다시 등록할 수 있음
+    @Transactional
+    public LibraryCardAuthResult completeRegistrationWithOcrResult(String email, OcrResult ocrResult) {
+        String extractedName = ocrResult.getName();
+        String extractedStudentId = ocrResult.getStudentId();
+
+        // 1. 이름 또는 학번이 추출되지 않은 경우
+        if (extractedName == null || extractedName.trim().isEmpty()) {
+            return LibraryCardAuthResult.failureWithDetails(
+                "이미지에서 이름을 찾을 수 없습니다. 명확한 사진을 다시 등록해주세요.",
+                extractedName, extractedStudentId
             );
+        }
 
-            // 7. 인증 기록 저장
-            LibraryCardAuth auth = createAuthRecord(user, extractedName.trim(), extractedStudentId.trim(), true, null);
-            libraryCardAuthRepository.save(auth);
-
-            log.info("도서관 전자출입증 인증 완료 및 회원가입 완료: email={}, name={}, studentId={}", 
-                email, extractedName, extractedStudentId);
+        if (extractedStudentId == null || extractedStudentId.trim().isEmpty()) {
+            return LibraryCardAuthResult.failureWithDetails(
+                "이미지에서 학번을 찾을 수 없습니다. 명확한 사진을 다시 등록해주세요.",
+                extractedName, extractedStudentId
+            );
+        }
 
-            return LibraryCardAuthResult.success(
-                "인증 완료! 회원가입이 완료되었습니다.",
+        // 2. 서울여대 학번 형식 검증
+        if (!isValidSwuStudentId(extractedStudentId)) {
+            return LibraryCardAuthResult.failureWithDetails(
+                "서울여대 학번 형식이 아닙니다. 올바른 전자출입증을 등록해주세요.",
                 extractedName, extractedStudentId
             );
+        }
 
-        } catch (IOException e) {
-            log.error("이미지 파일 읽기 오류", e);
-            return LibraryCardAuthResult.failure("이미지 파일을 읽는 중 오류가 발생했습니다.");
-        } catch (Exception e) {
-            log.error("도서관 전자출입증 OCR 처리 중 오류 발생", e);
-            return LibraryCardAuthResult.failure("OCR 처리 중 오류가 발생했습니다: " + e.getMessage());
+        // 3. 이미 가입된 이메일인지 확인 (OCR 처리 중 다른 요청으로 가입됐을 수 있음)
+        if (userRepository.findByEmailAndRole(email, taxi.tago.constant.UserRole.USER).isPresent()) {
+            return LibraryCardAuthResult.failure("이미 가입된 이메일입니다.");
         }
+
+        // 4. 임시 저장된 비밀번호 조회 및 제거 (같은 이메일의 동시 요청 중 하나만 가져감)
+        EmailAuthService.PasswordInfo passwordInfo = emailAuthService.getAndRemovePasswordForRegistration(email);
+        if (passwordInfo == null) {
+            return LibraryCardAuthResult.failure("비밀번호 설정이 완료되지 않았습니다. 먼저 비밀번호를 설정해주세요.");
+        }
+
+        // 5. 완전한 회원가입 처리 (비밀번호, 학번, 이름 모두 포함)
+        User user = userService.completeRegistration(
+                email,
+                passwordInfo.getEncodedPassword(),
+                extractedStudentId.trim(),
+                extractedName.trim()
+        );
+
+        // 6. 인증 기록 저장
+        LibraryCardAuth auth = createAuthRecord(user, extractedName.trim(), extractedStudentId.trim(), true, null);
+        libraryCardAuthRepository.save(auth);
+
+        log.info("도서관 전자출입증 인증 완료 및 회원가입 완료: email={}, name={}, studentId={}", 
+            email, extractedName, extractedStudentId);
+
+        return LibraryCardAuthResult.success(
+            "인증 완료! 회원가입이 완료되었습니다.",
+            extractedName, extractedStudentId
+        );
     }
     
     // 이메일로 저장된 도서관 인증 정보 조회 (회원가입 시 사용, 없거나 만료된 경우 null 반환)
@@ -263,6 +260,7 @@ public class LibraryCardAuthService {
                 user.setName(extractedName);
             }
             userRepository.save(user);
+            jwtPrincipalCache.evict(user.getEmail());
 
             // 8. 인증 기록 저장
             LibraryCardAuth auth = createAuthRecord(user, extractedName, extractedStudentId, true, null);
@@ -430,6 +428,7 @@ public class LibraryCardAuthService {
                     user.setName(auth.getExtractedName());
                 }
                 userRepository.save(user);
+                jwtPrincipalCache.evict(user.getEmail());
                 
                 log.info("인증 요청 승인 완료: authId={}, userId={}", authId, user.getId());
                 
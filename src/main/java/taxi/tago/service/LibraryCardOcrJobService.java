@@ -0,0 +1,197 @@
+package taxi.tago.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import taxi.tago.constant.OcrJobStatus;
+import taxi.tago.exception.OcrJobInProgressException;
+import taxi.tago.service.LibraryCardAuthService.LibraryCardAuthResult;
+import taxi.tago.service.NaverOcrService.OcrResult;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 도서관 전자출입증 OCR 작업 처리 - 업로드 요청은 작업 ID만 받고 바로 응답, OCR과 회원가입 처리는 작업 스레드에서 실행
+// 요청 스레드가 네이버 OCR 응답을 기다리지 않으며, 작업 큐 크기가 정해져 있어 OCR이 느려져도 대기 작업이 무한히 쌓이지 않음
+// 회원가입 전이라 SSE 연결(사용자 ID 기준)이 없으므로 결과는 작업 ID로 조회(polling)
+@Slf4j
+@Service
+public class LibraryCardOcrJobService {
+
+    // 끝난 작업 정리 주기
+    private static final long CLEANUP_MILLIS = 60_000L;
+
+    private final NaverOcrService ocrService;
+    private final LibraryCardAuthService libraryCardAuthService;
+
+    private final ThreadPoolExecutor executor;
+    private final int maxJobs;
+    private final long jobTtlNanos;
+
+    // 작업 ID별 작업 (끝난 작업은 결과 조회를 위해 TTL 동안 보관)
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    // 이메일별 진행 중인 작업 (같은 이메일로 동시에 OCR을 한 번만 실행, 진행 중에 다시 업로드하면 거절)
+    private final Map<String, Job> activeJobs = new ConcurrentHashMap<>();
+
+    // 작업 통계
+    private final AtomicLong submitted = new AtomicLong(); // 접수된 작업 수
+    private final AtomicLong succeeded = new AtomicLong(); // 인증 성공한 작업 수
+    private final AtomicLong failed = new AtomicLong();    // 인증 실패 / 오류로 끝난 작업 수
+    private final AtomicLong rejected = new AtomicLong();  // 작업 큐 초과로 거절된 요청 수
+
+    public LibraryCardOcrJobService(
+            NaverOcrService ocrService,
+            LibraryCardAuthService libraryCardAuthService,
+            @Value("${library-card.ocr.threads:4}") int threads,
+            @Value("${library-card.ocr.queue-capacity:50}") int queueCapacity,
+            @Value("${library-card.ocr.max-jobs:1000}") int maxJobs,
+            @Value("${library-card.ocr.job-ttl-minutes:10}") long jobTtlMinutes) {
+        this.ocrService = ocrService;
+        this.libraryCardAuthService = libraryCardAuthService;
+        this.maxJobs = maxJobs;
+        this.jobTtlNanos = Duration.ofMinutes(jobTtlMinutes).toNanos();
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "library-card-ocr-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // 회원가입용 OCR 작업 접수 후 작업 ID 반환
+    // 업로드 파일은 요청이 끝나면 삭제되므로 이미지 내용(byte[])을 받아 둠
+    // 비밀번호 미설정 / 가입된 이메일이면 IllegalArgumentException, 작업이 너무 많으면 IllegalStateException
+    // 같은 이메일의 작업이 아직 진행 중이면 새 이미지를 버리지 않도록 OcrJobInProgressException (진행 중인 작업 ID 포함)
+    public String submitRegistration(String email, byte[] imageBytes) {
+        libraryCardAuthService.checkRegistrationReady(email);
+
+        if (jobs.size() >= maxJobs) {
+            rejected.incrementAndGet();
+            throw new IllegalStateException("인증 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        Job job = new Job(UUID.randomUUID().toString(), email);
+        Job active = activeJobs.compute(email, (key, current) -> current != null ? current : job);
+        if (active != job) {
+            log.info("진행 중인 도서관 인증 작업이 있어 업로드 거절: email={}, jobId={}", email, active.id);
+            throw new OcrJobInProgressException(active.id, active.status);
+        }
+
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, imageBytes));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            activeJobs.remove(email, job);
+            rejected.incrementAndGet();
+            log.warn("도서관 인증 작업 큐 초과로 거절: email={}", email);
+            throw new IllegalStateException("인증 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        submitted.incrementAndGet();
+        log.info("도서관 인증 작업 접수: email={}, jobId={}", email, job.id);
+        return job.id;
+    }
+
+    // 작업 조회 (작업을 만든 이메일과 같을 때만 반환, 없거나 만료됐으면 empty)
+    public Optional<JobView> getJob(String jobId, String email) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.email.equals(email)) {
+            return Optional.empty();
+        }
+        return Optional.of(new JobView(job.id, job.status, job.result));
+    }
+
+    // 작업 통계 조회
+    public Stats getStats() {
+        return new Stats(submitted.get(), succeeded.get(), failed.get(), rejected.get(), executor.getQueue().size());
+    }
+
+    // OCR 호출(트랜잭션 밖) 후 결과로 회원가입 처리
+    private void run(Job job, byte[] imageBytes) {
+        long startedAt = System.nanoTime();
+        job.status = OcrJobStatus.RUNNING;
+
+        LibraryCardAuthResult result;
+        try {
+            OcrResult ocrResult = ocrService.extractText(imageBytes);
+            result = libraryCardAuthService.completeRegistrationWithOcrResult(job.email, ocrResult);
+        } catch (IllegalArgumentException e) {
+            result = LibraryCardAuthResult.failure(e.getMessage());
+        } catch (Exception e) {
+            log.error("도서관 전자출입증 OCR 처리 중 오류 발생: jobId={}", job.id, e);
+            result = LibraryCardAuthResult.failure("OCR 처리 중 오류가 발생했습니다: " + e.getMessage());
+        }
+
+        (result.isSuccess() ? succeeded : failed).incrementAndGet();
+        job.finish(result);
+        activeJobs.remove(job.email, job);
+        log.info("도서관 인증 작업 완료: jobId={}, success={}, {}ms", job.id, result.isSuccess(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+    }
+
+    // 끝난 지 TTL이 지난 작업 제거
+    @Scheduled(fixedRate = CLEANUP_MILLIS)
+    public void cleanup() {
+        long now = System.nanoTime();
+        jobs.values().removeIf(job -> job.isFinished() && now - job.finishedAt >= jobTtlNanos);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+        log.info("도서관 인증 작업 통계: {}", getStats());
+    }
+
+    // OCR 작업 (상태 / 결과는 작업 스레드에서 쓰고 조회 요청에서 읽음)
+    private static final class Job {
+
+        private final String id;
+        private final String email;
+
+        private volatile OcrJobStatus status = OcrJobStatus.PENDING;
+        private volatile LibraryCardAuthResult result;
+        private volatile long finishedAt;
+
+        private Job(String id, String email) {
+            this.id = id;
+            this.email = email;
+        }
+
+        // 결과를 먼저 쓰고 상태를 바꿔서, 끝난 상태로 보이면 결과도 보이도록 함
+        private void finish(LibraryCardAuthResult result) {
+            this.result = result;
+            this.finishedAt = System.nanoTime();
+            this.status = result.isSuccess() ? OcrJobStatus.SUCCEEDED : OcrJobStatus.FAILED;
+        }
+
+        private boolean isFinished() {
+            return status == OcrJobStatus.SUCCEEDED || status == OcrJobStatus.FAILED;
+        }
+    }
+
+    // 작업 조회 결과 (result: 작업이 끝나기 전에는 null)
+    public record JobView(String jobId, OcrJobStatus status, LibraryCardAuthResult result) {
+    }
+
+    // 작업 통계 (queued: 현재 처리 대기 중인 작업 수)
+    public record Stats(long submitted, long succeeded, long failed, long rejected, int queued) {
+    }
+}
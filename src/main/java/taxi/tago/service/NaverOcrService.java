@@ -1,14 +1,27 @@
 package taxi.tago.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonFactoryBuilder;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -19,7 +32,12 @@ import java.util.regex.Pattern;
 public class NaverOcrService {
 
     private final RestTemplate restTemplate;
-    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    // 요청 / 응답 스트림은 RestTemplate이 닫으므로 생성기 / 파서에서는 닫지 않음
+    private final JsonFactory jsonFactory = new JsonFactoryBuilder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .disable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
 
     @Value("${naver.ocr.api-key}")
     private String apiKey;
@@ -28,52 +46,20 @@ public class NaverOcrService {
     private String ocrUrl;
 
     // 이미지를 네이버 OCR API로 전송하여 텍스트 추출
+    // 요청 본문은 HTTP 연결로 바로 쓰고(Base64 문자열 / Map을 만들지 않음), 응답도 트리로 만들지 않고 필요한 값만 읽음
     public OcrResult extractText(byte[] imageBytes) {
         try {
-            // Base64 인코딩
-            String base64Image = Base64.getEncoder().encodeToString(imageBytes);
-
-            // 네이버 OCR API 표준 요청 형식에 맞춰 요청 바디 생성
-            Map<String, Object> requestBody = new HashMap<>();
-            requestBody.put("version", "V2");
-            requestBody.put("requestId", UUID.randomUUID().toString());
-            requestBody.put("timestamp", System.currentTimeMillis());
-            
-            // 이미지 정보 (네이버 OCR API 표준 형식)
-            Map<String, Object> image = new HashMap<>();
-            image.put("format", "jpg");  // 이미지 형식
-            image.put("name", "library_card");  // 이미지 이름
-            image.put("data", base64Image);  // Base64 인코딩된 이미지 데이터
-            image.put("url", null);  // URL 사용 안 함
-            
-            List<Map<String, Object>> images = new ArrayList<>();
-            images.add(image);
-            requestBody.put("images", images);
-
-            // 헤더 설정 (네이버 OCR API 표준)
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-            headers.set("X-OCR-SECRET", apiKey);  // OCR Secret Key
-
-            // 요청 엔티티 생성
-            HttpEntity<Map<String, Object>> requestEntity = new HttpEntity<>(requestBody, headers);
-
-            log.debug("네이버 OCR API 호출 - URL: {}, RequestId: {}", ocrUrl, requestBody.get("requestId"));
+            String requestId = UUID.randomUUID().toString();
+            log.debug("네이버 OCR API 호출 - URL: {}, RequestId: {}", ocrUrl, requestId);
 
             // API 호출 (POST 메서드로 /general 엔드포인트에 요청)
-            ResponseEntity<String> response = restTemplate.exchange(
+            List<String> inferTexts = restTemplate.execute(
                     ocrUrl,
                     HttpMethod.POST,
-                    requestEntity,
-                    String.class
+                    request -> writeOcrRequest(request, requestId, imageBytes),
+                    this::readOcrResponse
             );
-
-            if (response.getStatusCode() == HttpStatus.OK) {
-                return parseOcrResponse(response.getBody());
-            } else {
-                log.error("OCR API 호출 실패: {}", response.getStatusCode());
-                throw new RuntimeException("OCR API 호출에 실패했습니다.");
-            }
+            return parseOcrResponse(inferTexts);
 
         } catch (Exception e) {
             log.error("OCR 처리 중 오류 발생", e);
@@ -81,26 +67,117 @@ public class NaverOcrService {
         }
     }
 
-    // OCR 응답을 파싱하여 이름과 학번 추출
-    private OcrResult parseOcrResponse(String jsonResponse) {
-        try {
-            JsonNode root = objectMapper.readTree(jsonResponse);
-            JsonNode images = root.path("images");
-            
-            if (!images.isArray() || images.size() == 0) {
-                throw new RuntimeException("OCR 결과에서 이미지 정보를 찾을 수 없습니다.");
+    // 네이버 OCR API 표준 요청 형식으로 요청 바디 작성
+    private void writeOcrRequest(ClientHttpRequest request, String requestId, byte[] imageBytes) throws IOException {
+        // 헤더 설정 (네이버 OCR API 표준)
+        request.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        request.getHeaders().setAccept(List.of(MediaType.APPLICATION_JSON));
+        request.getHeaders().set("X-OCR-SECRET", apiKey);  // OCR Secret Key
+
+        // getBody()는 본문 전체를 메모리 버퍼에 모았다가 보내므로, 스트리밍 요청이면 연결 스트림에 바로 쓰도록 본문 작성기를 넘김
+        if (request instanceof StreamingHttpOutputMessage streamingRequest) {
+            streamingRequest.setBody(out -> writeOcrBody(out, requestId, imageBytes));
+        } else {
+            writeOcrBody(request.getBody(), requestId, imageBytes);
+        }
+    }
+
+    // 요청 JSON 작성 (Base64 문자열 / Map을 만들지 않고 스트림에 바로 씀)
+    void writeOcrBody(OutputStream out, String requestId, byte[] imageBytes) throws IOException {
+        try (JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeStringField("version", "V2");
+            generator.writeStringField("requestId", requestId);
+            generator.writeNumberField("timestamp", System.currentTimeMillis());
+
+            // 이미지 정보 (네이버 OCR API 표준 형식)
+            generator.writeArrayFieldStart("images");
+            generator.writeStartObject();
+            generator.writeStringField("format", "jpg");  // 이미지 형식
+            generator.writeStringField("name", "library_card");  // 이미지 이름
+            // Base64 인코딩된 이미지 데이터 (작은 버퍼 단위로 인코딩하면서 바로 씀, 줄바꿈 없는 표준 Base64)
+            generator.writeFieldName("data");
+            generator.writeBinary(Base64Variants.MIME_NO_LINEFEEDS,
+                    new ByteArrayInputStream(imageBytes), imageBytes.length);
+            generator.writeNullField("url");  // URL 사용 안 함
+            generator.writeEndObject();
+            generator.writeEndArray();
+
+            generator.writeEndObject();
+        }
+    }
+
+    // 응답에서 images[0].fields[].inferText만 순서대로 읽음 (나머지 값은 읽지 않고 건너뜀)
+    private List<String> readOcrResponse(ClientHttpResponse response) throws IOException {
+        if (response.getStatusCode() != HttpStatus.OK) {
+            log.error("OCR API 호출 실패: {}", response.getStatusCode());
+            throw new RuntimeException("OCR API 호출에 실패했습니다.");
+        }
+
+        try (JsonParser parser = jsonFactory.createParser(response.getBody())) {
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String fieldName = parser.currentName();
+                    JsonToken value = parser.nextToken();
+                    if ("images".equals(fieldName) && value == JsonToken.START_ARRAY) {
+                        if (parser.nextToken() == JsonToken.START_OBJECT) {
+                            return readInferTexts(parser);
+                        }
+                        break;
+                    }
+                    parser.skipChildren();
+                }
+            }
+            throw new RuntimeException("OCR 결과에서 이미지 정보를 찾을 수 없습니다.");
+        } catch (JsonProcessingException e) {
+            log.error("OCR 응답 파싱 중 오류 발생", e);
+            throw new RuntimeException("OCR 결과를 분석하는 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
+    }
+
+    // 첫 번째 이미지 객체의 fields 배열에서 inferText 목록 읽기 (inferText가 없는 항목은 빈 문자열)
+    private List<String> readInferTexts(JsonParser parser) throws IOException {
+        List<String> inferTexts = new ArrayList<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (!"fields".equals(fieldName) || value != JsonToken.START_ARRAY) {
+                parser.skipChildren();
+                continue;
             }
 
-            JsonNode imageNode = images.get(0);
-            JsonNode fields = imageNode.path("fields");
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                String inferText = "";
+                if (token == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String name = parser.currentName();
+                        parser.nextToken();
+                        if ("inferText".equals(name)) {
+                            inferText = parser.getValueAsString("");
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+                inferTexts.add(inferText);
+            }
+            break;
+        }
+        return inferTexts;
+    }
 
+    // OCR로 인식한 텍스트에서 이름과 학번 추출
+    private OcrResult parseOcrResponse(List<String> inferTexts) {
+        try {
             String name = null;
             String studentId = null;
             StringBuilder fullText = new StringBuilder();
 
             // OCR 결과에서 모든 텍스트 추출
-            for (JsonNode field : fields) {
-                String inferText = field.path("inferText").asText("");
+            for (String inferText : inferTexts) {
                 fullText.append(inferText).append(" ");
 
                 // 이름 패턴 찾기 (예: "이름:", "Name:", "이름 " 등)
@@ -3,6 +3,7 @@ package taxi.tago.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
@@ -10,11 +11,13 @@ import org.springframework.transaction.annotation.Transactional;
 import taxi.tago.constant.NotificationType;
 import taxi.tago.dto.NotificationDto;
 import taxi.tago.entity.Notification;
-import taxi.tago.entity.User;
 import taxi.tago.repository.NotificationRepository;
-import taxi.tago.repository.UserRepository;
+import taxi.tago.util.NotificationOutbox;
 import taxi.tago.util.SseEmitters;
-import org.springframework.transaction.annotation.Propagation;
+import taxi.tago.util.UnreadNotificationCounter;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 // 알림 서비스 - 알림 생성, 조회, 읽음 처리 등의 비즈니스 로직을 담당
 @Slf4j
@@ -23,8 +26,11 @@ import org.springframework.transaction.annotation.Propagation;
 public class NotificationService {
 
     private final NotificationRepository notificationRepository;
-    private final UserRepository userRepository;
-    private final SseEmitters sseEmitters;
+    private final NotificationOutbox notificationOutbox;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    // 재연결 시 DB에서 다시 보내줄 최대 알림 수
+    private static final int REPLAY_LIMIT = 50;
 
     // 알림 목록 조회 (최신순 정렬)
     @Transactional(readOnly = true)
@@ -34,10 +40,23 @@ public class NotificationService {
                 .map(NotificationDto::from);
     }
 
-    // 미확인 알림 개수 조회 (벨 아이콘 배지에 표시할 숫자)
+    // SSE 재연결 시 놓친 알림 조회 (afterId보다 ID가 큰 알림을 오래된 순으로, 최대 REPLAY_LIMIT개)
+    // afterId는 SseEmitters가 Last-Event-ID보다 앞으로 당긴 값이라 이미 받은 알림이 포함될 수 있음 (클라이언트가 ID로 중복 제거)
+    // (receiver_id, notification_id) 인덱스 범위 조회
     @Transactional(readOnly = true)
+    public List<SseEmitters.ReplayEvent> getMissedNotificationEvents(Long receiverId, Long afterId) {
+        return notificationRepository
+                .findByReceiverIdAndIdGreaterThanOrderByIdAsc(receiverId, afterId, PageRequest.of(0, REPLAY_LIMIT))
+                .stream()
+                .map(notification -> new SseEmitters.ReplayEvent(
+                        notification.getId(), NotificationOutbox.EVENT_NAME, NotificationDto.from(notification)))
+                .toList();
+    }
+
+    // 미확인 알림 개수 조회 (벨 아이콘 배지에 표시할 숫자)
+    // 사용자별 미확인 개수 캐시에서 조회하고, 캐시에 없을 때만 COUNT 쿼리
     public long getUnreadCount(Long receiverId) {
-        return notificationRepository.countByReceiverIdAndReadFalse(receiverId);
+        return unreadNotificationCounter.get(receiverId);
     }
 
     // 알림 읽음 처리 (사용자가 알림 카드를 클릭하면 호출)
@@ -51,164 +70,99 @@ public class NotificationService {
             throw new AccessDeniedException("본인 알림만 읽음 처리할 수 있습니다.");
         }
 
-        // 이미 읽은 알림이면 처리하지 않음
-        if (!notification.isRead()) {
-            notification.markAsRead();
+        // 이미 읽은 알림이면 처리하지 않음 (동시에 같은 알림을 읽음 처리해도 실제로 바뀐 요청만 미확인 개수에 반영)
+        if (!notification.isRead()
+                && notificationRepository.markAsRead(notificationId, LocalDateTime.now()) > 0) {
+            unreadNotificationCounter.onRead(userId);
             log.info("알림 읽음 처리 완료: notificationId={}, userId={}", notificationId, userId);
         }
     }
 
+    // 모든 알림 읽음 처리 (UPDATE 한 번으로 처리)
+    // 반환값: 읽음 처리된 알림 개수
+    @Transactional
+    public int markAllAsRead(Long userId) {
+        int updated = notificationRepository.markAllAsRead(userId, LocalDateTime.now());
+        unreadNotificationCounter.onAllRead(userId);
+        log.info("모든 알림 읽음 처리 완료: userId={}, count={}", userId, updated);
+        return updated;
+    }
+
     // ==================== 알림 생성 메서드들 ====================
     // 각 도메인 이벤트 발생 시 호출되는 메서드들입니다.
+    // 알림은 호출한 트랜잭션 안에서 발송함(NotificationOutbox)을 통해 저장되고, 커밋 후 발송 스레드가 모아서 SSE 전송합니다.
 
     // 정산요청 알림 생성 (정산요청이 발생했을 때 호출)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void sendSettlementRequest(Long receiverId, Long settlementId, String requesterName) {
-        User receiver = userRepository.findById(receiverId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        Notification notification = new Notification(
-                receiver,
-                "정산요청이 들어왔어요.",
-                "빠른 시일 내에 정산해 주세요.",
-                NotificationType.SETTLEMENT_REQUEST,
-                "SETTLEMENT",
-                settlementId
-        );
+        sendSettlementRequests(List.of(receiverId), settlementId, requesterName);
+    }
 
-        Notification saved = notificationRepository.save(notification);
-        log.info("정산요청 알림 DB 저장 완료: notificationId={}, receiverId={}, settlementId={}", 
-                saved.getId(), receiverId, settlementId);
-        
-        // SSE로 실시간 알림 전송 (실패해도 알림은 이미 DB에 저장됨)
-        try {
-            sseEmitters.sendToUser(receiverId, "notification", NotificationDto.from(saved));
-            log.debug("정산요청 알림 SSE 전송 성공: receiverId={}, notificationId={}", 
-                    receiverId, saved.getId());
-        } catch (Exception e) {
-            log.warn("정산요청 알림 SSE 전송 실패 (DB 저장은 완료): receiverId={}, notificationId={}, error={}", 
-                    receiverId, saved.getId(), e.getMessage());
-        }
+    // 정산요청 알림 여러 명에게 한 번에 생성 (참여자 수와 관계없이 발송함에 한 묶음으로 들어감)
+    public void sendSettlementRequests(List<Long> receiverIds, Long settlementId, String requesterName) {
+        notificationOutbox.appendAll(receiverIds.stream()
+                .map(receiverId -> NotificationOutbox.PendingNotification.of(
+                        receiverId,
+                        "정산요청이 들어왔어요.",
+                        "빠른 시일 내에 정산해 주세요.",
+                        NotificationType.SETTLEMENT_REQUEST,
+                        "SETTLEMENT",
+                        settlementId
+                ))
+                .toList());
     }
 
     // 정산 재촉 알림 생성 (정산이 지연되어 재촉할 때 호출)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void sendSettlementRemind(Long receiverId, Long settlementId, String requesterName) {
-        User receiver = userRepository.findById(receiverId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        Notification notification = new Notification(
-                receiver,
-                requesterName + "님이 정산을 재촉했어요.",
-                "프로필에 미정산 이력이 남아요. 정산을 서둘러 주세요.",
-                NotificationType.SETTLEMENT_REMIND,
-                "SETTLEMENT",
-                settlementId
-        );
+        sendSettlementReminds(List.of(receiverId), settlementId, requesterName);
+    }
 
-        Notification saved = notificationRepository.save(notification);
-        log.info("정산 재촉 알림 DB 저장 완료: notificationId={}, receiverId={}, settlementId={}, requesterName={}", 
-                saved.getId(), receiverId, settlementId, requesterName);
-        
-        // SSE로 실시간 알림 전송 (실패해도 알림은 이미 DB에 저장됨)
-        try {
-            sseEmitters.sendToUser(receiverId, "notification", NotificationDto.from(saved));
-            log.debug("정산 재촉 알림 SSE 전송 성공: receiverId={}, notificationId={}", 
-                    receiverId, saved.getId());
-        } catch (Exception e) {
-            log.warn("정산 재촉 알림 SSE 전송 실패 (DB 저장은 완료): receiverId={}, notificationId={}, error={}", 
-                    receiverId, saved.getId(), e.getMessage());
-        }
+    // 정산 재촉 알림 여러 명에게 한 번에 생성
+    public void sendSettlementReminds(List<Long> receiverIds, Long settlementId, String requesterName) {
+        notificationOutbox.appendAll(receiverIds.stream()
+                .map(receiverId -> NotificationOutbox.PendingNotification.of(
+                        receiverId,
+                        requesterName + "님이 정산을 재촉했어요.",
+                        "프로필에 미정산 이력이 남아요. 정산을 서둘러 주세요.",
+                        NotificationType.SETTLEMENT_REMIND,
+                        "SETTLEMENT",
+                        settlementId
+                ))
+                .toList());
     }
 
     // 후기 도착 알림 생성 (후기가 작성되어 도착했을 때 호출)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void sendReviewArrived(Long receiverId, Long reviewId) {
-        User receiver = userRepository.findById(receiverId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        Notification notification = new Notification(
-                receiver,
+        notificationOutbox.append(
+                receiverId,
                 "후기가 도착했어요.",
                 "어떤 후기가 도착했는지 확인해 보세요.",
                 NotificationType.REVIEW_ARRIVED,
                 "REVIEW",
                 reviewId
         );
-
-        Notification saved = notificationRepository.save(notification);
-        log.info("후기 도착 알림 DB 저장 완료: notificationId={}, receiverId={}, reviewId={}", 
-                saved.getId(), receiverId, reviewId);
-        
-        // SSE로 실시간 알림 전송 (실패해도 알림은 이미 DB에 저장됨)
-        try {
-            sseEmitters.sendToUser(receiverId, "notification", NotificationDto.from(saved));
-            log.debug("후기 도착 알림 SSE 전송 성공: receiverId={}, notificationId={}", 
-                    receiverId, saved.getId());
-        } catch (Exception e) {
-            log.warn("후기 도착 알림 SSE 전송 실패 (DB 저장은 완료): receiverId={}, notificationId={}, error={}", 
-                    receiverId, saved.getId(), e.getMessage());
-        }
     }
 
     // 택시팟 참여 요청 알림 생성 (동승슈니가 택시팟에 참여 요청을 보냈을 때 총대에게 알림)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void sendTaxiParticipationRequest(Long receiverId, Long taxiPartyId, String requesterName) {
-        User receiver = userRepository.findById(receiverId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        Notification notification = new Notification(
-                receiver,
+        notificationOutbox.append(
+                receiverId,
                 "택시팟 참여 요청이 왔어요.",
                 requesterName + "님이 같이 타기를 요청했어요.",
                 NotificationType.TAXI_PARTICIPATION_REQUEST,
                 "TAXI_PARTY",
                 taxiPartyId
         );
-
-        Notification saved = notificationRepository.save(notification);
-        log.info("택시팟 참여 요청 알림 DB 저장 완료: notificationId={}, receiverId={}, taxiPartyId={}, requesterName={}", 
-                saved.getId(), receiverId, taxiPartyId, requesterName);
-        
-        // SSE로 실시간 알림 전송 (실패해도 알림은 이미 DB에 저장됨)
-        try {
-            sseEmitters.sendToUser(receiverId, "notification", NotificationDto.from(saved));
-            log.debug("택시팟 참여 요청 알림 SSE 전송 성공: receiverId={}, notificationId={}", 
-                    receiverId, saved.getId());
-        } catch (Exception e) {
-            log.warn("택시팟 참여 요청 알림 SSE 전송 실패 (DB 저장은 완료): receiverId={}, notificationId={}, error={}", 
-                    receiverId, saved.getId(), e.getMessage());
-        }
     }
 
     // 택시팟 참여 수락 알림 생성 (택시팟 참여 요청이 수락되었을 때 호출)
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
     public void sendTaxiParticipationAccepted(Long receiverId, Long roomId, String hostName) {
-        User receiver = userRepository.findById(receiverId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다."));
-
-        Notification notification = new Notification(
-                receiver,
+        notificationOutbox.append(
+                receiverId,
                 hostName + "님이 택시팟 참여를 수락했어요.",
                 "어서 채팅방으로 들어가 소통해 보세요.",
                 NotificationType.TAXI_PARTICIPATION_ACCEPTED,
                 "TAXI_ROOM",
                 roomId
         );
-
-        Notification saved = notificationRepository.save(notification);
-        log.info("택시팟 참여 수락 알림 DB 저장 완료: notificationId={}, receiverId={}, roomId={}, hostName={}", 
-                saved.getId(), receiverId, roomId, hostName);
-        
-        // SSE로 실시간 알림 전송 (실패해도 알림은 이미 DB에 저장됨)
-        try {
-            sseEmitters.sendToUser(receiverId, "notification", NotificationDto.from(saved));
-            log.debug("택시팟 참여 수락 알림 SSE 전송 성공: receiverId={}, notificationId={}", 
-                    receiverId, saved.getId());
-        } catch (Exception e) {
-            log.warn("택시팟 참여 수락 알림 SSE 전송 실패 (DB 저장은 완료): receiverId={}, notificationId={}, error={}", 
-                    receiverId, saved.getId(), e.getMessage());
-        }
     }
 }
-
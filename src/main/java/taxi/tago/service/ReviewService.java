@@ -15,8 +15,11 @@ import taxi.tago.repository.*;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 // 택시팟 후기 관련 비즈니스 로직을 담당하는 서비스 클래스
 @Slf4j
@@ -28,7 +31,7 @@ public class ReviewService {
     private final UserRepository userRepository; // 유저 정보 조회용
     private final TaxiUserRepository taxiUserRepository; // 동승슈니 매핑 조회용
     private final ReviewRepository reviewRepository; // 후기를 실제로 저장/조회하는 레포지토리
-    private final SettlementParticipantRepository settlementParticipantRepository; // 미정산 이력 개수를 계산하기 위해 사용
+    private final UserReputationService userReputationService; // 재매칭 희망률 / 미정산 이력 / 태그 개수 요약 조회용
     private final NotificationService notificationService; // 후기 도착 알림 전송용
 
     // 후기 작성 메서드
@@ -88,6 +91,14 @@ public class ReviewService {
         // DB 저장
         Review saved = reviewRepository.save(review);
 
+        // 대상자의 평판 요약에 이 후기 반영
+        userReputationService.onReviewCreated(
+                reviewee.getId(),
+                request.isWantToMeetAgain(),
+                request.getPositiveTags(),
+                request.getNegativeTags()
+        );
+
         log.info("리뷰 생성 완료: reviewId={}, taxiPartyId={}, reviewerId={}, revieweeId={}",
                 saved.getId(), taxiParty.getId(), reviewerId, reviewee.getId());
 
@@ -108,34 +119,33 @@ public class ReviewService {
     // 채팅창 메뉴 페이지 하단에서 "사용자 목록" 페이지 화면에 보여줄 데이터 조회 메서드
     @Transactional(readOnly = true)
     public List<ReviewDto.MemberReviewStatus> getMemberReviewStatusList(Long taxiPartyId, Long currentUserId) {
-        // 택시팟 조회
-        TaxiParty taxiParty = taxiPartyRepository.findById(taxiPartyId)
+        // 택시팟 + 총대 조회
+        TaxiParty taxiParty = taxiPartyRepository.findWithHostById(taxiPartyId)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "해당 택시팟을 찾을 수 없습니다. id = " + taxiPartyId
                 ));
-        // 현재 유저가 이 택시팟 멤버인지 먼저 검증
-        validateMemberOfTaxiParty(taxiParty, currentUserId);
 
-        // 택시팟의 총대 + ACCEPTED 동승 멤버 모두 조회
+        // 택시팟의 총대 + ACCEPTED 동승 멤버 모두 조회 (사용자 정보까지 한 번에)
         List<User> members = getAllMembersOfTaxiParty(taxiParty);
 
+        // 현재 유저가 이 택시팟 멤버인지 먼저 검증 (이미 조회한 멤버 목록으로 확인)
+        boolean isMember = members.stream().anyMatch(member -> member.getId().equals(currentUserId));
+        if (!isMember) {
+            throw new IllegalArgumentException("해당 택시팟의 멤버만 후기 작성/조회가 가능합니다.");
+        }
+
+        // 현재 유저가 이 택시팟에서 이미 후기를 작성한 대상자 ID들 (멤버 수와 관계없이 한 번만 조회)
+        Set<Long> reviewedIds = new HashSet<>(
+                reviewRepository.findRevieweeIdsByTaxiPartyIdAndReviewerId(taxiPartyId, currentUserId));
+
         // 각 멤버에 대해 현재 유저가 이미 리뷰를 작성했는지 여부를 계산
-        List<ReviewDto.MemberReviewStatus> result = new ArrayList<>();
+        List<ReviewDto.MemberReviewStatus> result = new ArrayList<>(members.size());
 
         for (User member : members) {
             boolean isHost = taxiParty.getUser().getId().equals(member.getId());
 
             // 자기 자신에겐 reviewWritten = false로 내려주기
-            boolean reviewWritten = false;
-
-            if (!member.getId().equals(currentUserId)) {
-                // 현재 유저가 이 멤버에게 이미 리뷰를 작성했는지 확인
-                reviewWritten = reviewRepository.existsByTaxiPartyIdAndReviewerIdAndRevieweeId(
-                        taxiPartyId,
-                        currentUserId,
-                        member.getId()
-                );
-            }
+            boolean reviewWritten = !member.getId().equals(currentUserId) && reviewedIds.contains(member.getId());
 
             ReviewDto.MemberReviewStatus dto = new ReviewDto.MemberReviewStatus(
                     member.getId(),
@@ -160,27 +170,26 @@ public class ReviewService {
                         "사용자를 찾을 수 없습니다. id = " + targetUserId
                 ));
 
-        // 재매칭 희망률 계산
-        Long totalReviews = reviewRepository.countTotalReviews(targetUserId);
-        Long positiveMatchCount = reviewRepository.countPositiveMatchPreference(targetUserId);
+        // 후기 / 정산 집계는 미리 계산해 둔 평판 요약에서 조회
+        UserReputationService.Reputation reputation = userReputationService.getReputation(targetUserId);
 
+        // 재매칭 희망률 계산
         Integer matchPreferenceRate = null;
-        if (totalReviews != null && totalReviews > 0) {
+        if (reputation.totalReviews() > 0) {
             // (다시 만나고 싶어요 개수 / 전체 리뷰 수) * 100
-            double rate = (positiveMatchCount.doubleValue() / totalReviews.doubleValue()) * 100.0;
+            double rate = ((double) reputation.positiveMatchCount() / reputation.totalReviews()) * 100.0;
             // 소수점 반올림해서 정수로 변환
             matchPreferenceRate = (int) Math.round(rate);
         }
 
-        // 미정산 이력 개수 계산
-        Long unpaidCountLong = settlementParticipantRepository.countByUserIdAndPaidFalse(targetUserId);
-        Integer unpaidCount = unpaidCountLong != null ? unpaidCountLong.intValue() : 0;
+        // 미정산 이력 개수
+        Integer unpaidCount = (int) reputation.unpaidCount();
 
-        // 긍정 태그 / 부정 태그 카운트 조회
+        // 긍정 태그 / 부정 태그 카운트
         List<ReviewDto.TagCount> positiveTagCounts =
-                toTagCountList(reviewRepository.countPositiveTags(targetUserId));
+                toTagCountList(Review.PositiveReviewTag.values(), reputation.positiveTagCounts());
         List<ReviewDto.TagCount> negativeTagCounts =
-                toTagCountList(reviewRepository.countNegativeTags(targetUserId));
+                toTagCountList(Review.NegativeReviewTag.values(), reputation.negativeTagCounts());
 
         // 최종 DTO 생성 및 반환
         return new ReviewDto.ProfileSummaryResponse(
@@ -259,13 +268,10 @@ public class ReviewService {
         List<User> members = new ArrayList<>();
         members.add(taxiParty.getUser());
 
-        // taxi_user에서 이 팟에 속한 동승슈니 목록 조회
-        List<TaxiUser> passengers = taxiUserRepository.findAllByTaxiPartyId(taxiParty.getId());
-
-        // 그 중에서 status == ACCEPTED인 사람만 추가
+        // taxi_user에서 이 팟에 ACCEPTED 상태로 속한 동승슈니 목록을 사용자 정보와 함께 조회
         members.addAll(
-                passengers.stream()
-                        .filter(tu -> tu.getStatus() == ParticipationStatus.ACCEPTED)
+                taxiUserRepository.findAllWithUserByTaxiPartyIdAndStatus(taxiParty.getId(), ParticipationStatus.ACCEPTED)
+                        .stream()
                         .map(TaxiUser::getUser)
                         .toList()
         );
@@ -293,18 +299,20 @@ public class ReviewService {
         }
     }
 
-    // nativeQuery 결과(List<Object[]>)를 ReviewDto.TagCount 리스트로 변환하는 메서드
-    private List<ReviewDto.TagCount> toTagCountList(List<Object[]> rows) {
-        // 리스트가 비어있는지 확인
-        if (rows == null || rows.isEmpty()) {
-            return List.of(); // 빈 불변 리스트 반환
+    // 태그별 개수 Map을 ReviewDto.TagCount 리스트로 변환하는 메서드 (enum 선언 순서, 받은 적 있는 태그만)
+    private List<ReviewDto.TagCount> toTagCountList(Enum<?>[] tags, Map<String, Long> counts) {
+        // 받은 태그가 없으면 빈 불변 리스트 반환
+        if (counts.isEmpty()) {
+            return List.of();
         }
 
-        return rows.stream()
-                .map(row -> {
-                    String tag = (String) row[0]; // 첫 번째 컬럼: 태그명
-                    Long count = ((Number) row[1]).longValue(); // 두 번째 컬럼: 개수
-                    return new ReviewDto.TagCount(tag, count); // DTO 생성
-                }).toList();
+        List<ReviewDto.TagCount> result = new ArrayList<>();
+        for (Enum<?> tag : tags) {
+            Long count = counts.get(tag.name());
+            if (count != null && count > 0) {
+                result.add(new ReviewDto.TagCount(tag.name(), count));
+            }
+        }
+        return result;
     }
 }
@@ -9,11 +9,17 @@ import taxi.tago.dto.SettlementDto;
 import taxi.tago.dto.chat.ChatMessageResponse;
 import taxi.tago.entity.*;
 import taxi.tago.repository.*;
+import taxi.tago.util.ChatMessageCache;
 
 import org.springframework.security.access.AccessDeniedException;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 // 정산 관련 비즈니스 로직을 담당하는 서비스 클래스
@@ -30,6 +36,8 @@ public class SettlementService {
     private final ChatRoomRepository chatRoomRepository;
     private final ChatMessageRepository chatMessageRepository;
     private final SimpMessagingTemplate messagingTemplate;
+    private final ChatMessageCache chatMessageCache; // 채팅방별 최근 메시지 캐시
+    private final UserReputationService userReputationService; // 미정산 이력 요약 갱신용
 
     // 정산 생성 메서드
     @Transactional
@@ -40,12 +48,6 @@ public class SettlementService {
                         "해당 택시팟이 존재하지 않습니다. id = " + request.getTaxiPartyId()
                 ));
 
-        // 총대슈니 조회
-        User host = userRepository.findById(hostId)
-                .orElseThrow(() -> new IllegalArgumentException(
-                        "사용자를 찾을 수 없습니다. id = " + hostId
-                ));
-
         // 권한 체크: 현재 로그인한 유저가 이 택시팟의 총대인지 확인
         if (!taxiParty.getUser().getId().equals(hostId)) {
             throw new AccessDeniedException("총대슈니만 정산을 생성할 수 있습니다.");
@@ -56,6 +58,18 @@ public class SettlementService {
             throw new IllegalArgumentException("이미 정산이 생성된 택시팟입니다. settlementId = " + s.getId());
         });
 
+        // 총대슈니 + 정산 대상 사용자를 한 번의 IN 쿼리로 조회
+        Set<Long> userIds = new HashSet<>();
+        userIds.add(hostId);
+        request.getParticipants().forEach(share -> userIds.add(share.getUserId()));
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        User host = users.get(hostId);
+        if (host == null) {
+            throw new IllegalArgumentException("사용자를 찾을 수 없습니다. id = " + hostId);
+        }
+
         // Settlement 엔티티 생성
         Settlement settlement = Settlement.create(
                 taxiParty,
@@ -66,11 +80,14 @@ public class SettlementService {
         );
 
         // 참여자별 엔티티 생성
+        List<SettlementParticipant> participants = new ArrayList<>(request.getParticipants().size());
         for (SettlementDto.ParticipantShare share : request.getParticipants()) {
-            User participantUser = userRepository.findById(share.getUserId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "정산 대상 사용자를 찾을 수 없습니다. id = " + share.getUserId()
-                    ));
+            User participantUser = users.get(share.getUserId());
+            if (participantUser == null) {
+                throw new IllegalArgumentException(
+                        "정산 대상 사용자를 찾을 수 없습니다. id = " + share.getUserId()
+                );
+            }
 
             // 총대인지 여부 확인
             boolean isHost = participantUser.getId().equals(hostId);
@@ -86,35 +103,37 @@ public class SettlementService {
                 participant.markPaid();
             }
 
-            // Settlement에 참여자 추가 (양방향 연관관계 정리)
-            settlement.addParticipant(participant);
+            participants.add(participant);
         }
 
-        // DB에 저장 (Cascade 처리로 participant도 함께 INSERT)
+        // 정산 저장 후 참여자는 JDBC 배치 INSERT 한 번으로 저장 (참여자 수와 관계없이 왕복 횟수 일정)
+        // 참여자는 Settlement 컬렉션에 넣지 않으므로 Cascade로 다시 INSERT되지 않음
         Settlement saved = settlementRepository.save(settlement);
+        settlementParticipantRepository.batchInsert(saved.getId(), participants);
+
+        // 아직 납부하지 않은 참여자들의 미정산 이력 요약 +1
+        userReputationService.onSettlementCreated(participants.stream()
+                .filter(p -> !p.isPaid())
+                .map(p -> p.getUser().getId())
+                .toList());
 
-        // 총대를 제외한 참여자들에게 정산 요청 알림 발송 (요청 알림과 동일한 방식으로 처리)
+        // 총대를 제외한 참여자들에게 정산 요청 알림을 한 묶음으로 발송 (커밋 후 발송)
         String hostName = host.getName() != null ? host.getName() : "총대슈니";
-        saved.getParticipants().stream()
-                .filter(p -> !p.getUser().getId().equals(hostId)) // 총대 제외
-                .forEach(p -> {
-                    try {
-                        notificationService.sendSettlementRequest(
-                                p.getUser().getId(),
-                                saved.getId(),
-                                hostName
-                        );
-                        log.debug("정산 요청 알림 전송 성공: receiverId={}, settlementId={}", 
-                                p.getUser().getId(), saved.getId());
-                    } catch (Exception e) {
-                        log.error("정산 요청 알림 전송 중 오류 발생 (정산 생성은 성공): receiverId={}, settlementId={}, error={}", 
-                                p.getUser().getId(), saved.getId(), e.getMessage(), e);
-                        // 알림 실패해도 정산 생성은 성공 처리
-                    }
-                });
+        List<Long> receiverIds = participants.stream()
+                .map(p -> p.getUser().getId())
+                .filter(id -> !id.equals(hostId)) // 총대 제외
+                .distinct()
+                .toList();
+        try {
+            notificationService.sendSettlementRequests(receiverIds, saved.getId(), hostName);
+        } catch (Exception e) {
+            log.error("정산 요청 알림 전송 중 오류 발생 (정산 생성은 성공): settlementId={}, error={}",
+                    saved.getId(), e.getMessage(), e);
+            // 알림 실패해도 정산 생성은 성공 처리
+        }
 
         // 채팅방에 정산 안내 메시지 자동 전송
-        sendSettlementChatMessage(saved, host, false); // false = 최초 생성용 메시지
+        sendSettlementChatMessage(saved, host, participants, false); // false = 최초 생성용 메시지
 
         // 정산 생성 직후, "총대슈니가 정산 정보를 입력했어요" 시스템 메시지 전송
         sendSettlementInfoEnteredMessage(saved, host);
@@ -190,8 +209,14 @@ public class SettlementService {
                 ));
 
         // 이미 paid == true라면 markPaid 내부에서 아무 일도 하지 않음
+        boolean wasUnpaid = !participant.isPaid();
         participant.markPaid();
 
+        // 실제로 납부 상태가 바뀐 경우에만 미정산 이력 요약 -1
+        if (wasUnpaid) {
+            userReputationService.onPaid(targetUserId);
+        }
+
         // 모든 인원이 납부 완료되었는지 검사 후, 완료면 Settlement 상태 변경
         settlement.updateStatusIfCompleted();
 
@@ -225,28 +250,22 @@ public class SettlementService {
                 ? settlement.getHost().getName()
                 : "총대슈니";
 
-        // 아직 납부하지 않은 참여자들에게만 재촉 알림 발송 (총대 본인 제외) (요청 알림과 동일한 방식으로 처리)
-        settlement.getParticipants().stream()
+        // 아직 납부하지 않은 참여자들에게만 재촉 알림을 한 묶음으로 발송 (총대 본인 제외)
+        List<Long> receiverIds = settlement.getParticipants().stream()
                 .filter(p -> !p.isPaid()) // 미납자만
-                .filter(p -> !p.getUser().getId().equals(hostId)) // 총대 제외
-                .forEach(p -> {
-                    try {
-                        notificationService.sendSettlementRemind(
-                                p.getUser().getId(),
-                                settlement.getId(),
-                                hostName
-                        );
-                        log.debug("정산 재촉 알림 전송 성공: receiverId={}, settlementId={}", 
-                                p.getUser().getId(), settlement.getId());
-                    } catch (Exception e) {
-                        log.error("정산 재촉 알림 전송 중 오류 발생 (재촉은 성공): receiverId={}, settlementId={}, error={}", 
-                                p.getUser().getId(), settlement.getId(), e.getMessage(), e);
-                        // 알림 실패해도 재촉은 성공 처리
-                    }
-                });
+                .map(p -> p.getUser().getId())
+                .filter(id -> !id.equals(hostId)) // 총대 제외
+                .toList();
+        try {
+            notificationService.sendSettlementReminds(receiverIds, settlement.getId(), hostName);
+        } catch (Exception e) {
+            log.error("정산 재촉 알림 전송 중 오류 발생 (재촉은 성공): settlementId={}, error={}",
+                    settlement.getId(), e.getMessage(), e);
+            // 알림 실패해도 재촉은 성공 처리
+        }
 
         // 채팅방에도 정산 안내 메시지를 다시 전송 (재촉용)
-        sendSettlementChatMessage(settlement, settlement.getHost(), true); // true = 재촉용 메시지
+        sendSettlementChatMessage(settlement, settlement.getHost(), settlement.getParticipants(), true); // true = 재촉용 메시지
 
         // 마지막 재촉 시각 업데이트
         settlement.updateLastRemindedAt(now);
@@ -258,7 +277,8 @@ public class SettlementService {
     // 정산 관련 채팅 메시지를 채팅방에 전송하는 메서드
     // 최초 생성 시: "슈니은행 123-456-7890으로 1,234원씩 입금 부탁드립니다!"
     // 재촉 시: "아직 정산하지 않으신 슈니는 123-456-7890으로 1,234원씩 입금 부탁드립니다!"
-    private void sendSettlementChatMessage(Settlement settlement, User host, boolean reminder) {
+    private void sendSettlementChatMessage(Settlement settlement, User host,
+                                           List<SettlementParticipant> participants, boolean reminder) {
         // 택시팟에 연결된 채팅방 찾기
         chatRoomRepository.findByTaxiPartyId(settlement.getTaxiParty().getId())
                 .ifPresent(chatRoom -> {
@@ -268,7 +288,7 @@ public class SettlementService {
                     }
 
                     // 참여자들의 금액이 모두 동일한지 확인
-                    Integer uniformAmount = calculateUniformAmount(settlement);
+                    Integer uniformAmount = calculateUniformAmount(participants);
 
                     String bankInfo = settlement.getBankName() + " " + settlement.getAccountNumber();
                     String messageContent;
@@ -321,6 +341,7 @@ public class SettlementService {
 
                     // 저장된 메시지를 DTO로 변환해서 해당 채팅방을 구독 중인 모든 클라이언트에게 WebSocket(STOMP) 브로드캐스트
                     ChatMessageResponse response = ChatMessageResponse.from(saved);
+                    chatMessageCache.append(response);
                     String destination = "/topic/chatrooms/" + chatRoom.getId();
                     messagingTemplate.convertAndSend(destination, response);
                 });
@@ -350,6 +371,7 @@ public class SettlementService {
                     ChatMessage saved = chatMessageRepository.save(message);
 
                     ChatMessageResponse response = ChatMessageResponse.from(saved);
+                    chatMessageCache.append(response);
                     String destination = "/topic/chatrooms/" + chatRoom.getId();
                     messagingTemplate.convertAndSend(destination, response);
                 });
@@ -357,13 +379,13 @@ public class SettlementService {
 
     // 모든 참여자의 amount가 동일한지 검사하는 메서드
     // 모두 동일하면 그 금액을 반환하고, 하나라도 다르면 null을 반환함
-    private Integer calculateUniformAmount(Settlement settlement) {
-        return settlement.getParticipants().stream()
+    private Integer calculateUniformAmount(List<SettlementParticipant> participants) {
+        return participants.stream()
                 .map(SettlementParticipant::getAmount)
                 .distinct()
                 .reduce((a, b) -> null) // 서로 다른 값이 두 개 이상이면 null
-                .orElseGet(() -> settlement.getParticipants().isEmpty()
-                        ? null : settlement.getParticipants().get(0).getAmount());
+                .orElseGet(() -> participants.isEmpty()
+                        ? null : participants.get(0).getAmount());
     }
 
     // 이미 생성되어 있는 정산에 대해, "현재 로그인한 유저가 속해있는 settlementId"를 조회하는 메서드
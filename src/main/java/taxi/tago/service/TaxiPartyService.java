@@ -2,9 +2,12 @@ package taxi.tago.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 import taxi.tago.constant.TaxiPartyStatus;
 import taxi.tago.constant.ParticipationStatus;
 import taxi.tago.dto.TaxiPartyDto;
@@ -13,6 +16,10 @@ import taxi.tago.dto.chat.ChatMessageResponse;
 import taxi.tago.entity.*;
 import taxi.tago.repository.*;
 import taxi.tago.service.NotificationService;
+import taxi.tago.util.BlockRelationCache;
+import taxi.tago.util.ChatMemberCache;
+import taxi.tago.util.ChatMessageCache;
+import taxi.tago.util.TaxiPartyFeedPublisher;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -27,7 +34,7 @@ public class TaxiPartyService {
     private final TaxiPartyRepository taxiPartyRepository;
     private final UserRepository userRepository;
     private final TaxiUserRepository taxiUserRepository;
-    private final BlockRepository blockRepository;
+    private final BlockRelationCache blockRelationCache;
     private final NotificationService notificationService;
     private final ChatRoomRepository chatRoomRepository;
 
@@ -38,6 +45,13 @@ public class TaxiPartyService {
     );
     private final ChatMessageRepository chatMessageRepository;
     private final SimpMessagingTemplate simpMessagingTemplate; // 서버에서 시스템 메시지 발송을 위한 의존성
+    private final TaxiPartyFeedPublisher taxiPartyFeedPublisher; // 택시팟 목록 실시간 변경 발행
+    private final ChatMessageCache chatMessageCache; // 채팅방별 최근 메시지 캐시
+    private final ChatMemberCache chatMemberCache; // 채팅 참여자 캐시 (참여자 변경 시 무효화)
+
+    // 택시팟 목록 커서 페이지 크기 (기본 / 최대)
+    private static final int DEFAULT_FEED_SIZE = 20;
+    private static final int MAX_FEED_SIZE = 50;
 
     @Transactional
     public Long createTaxiParty(TaxiPartyDto.CreateRequest dto) {
@@ -63,45 +77,86 @@ public class TaxiPartyService {
         );
 
         TaxiParty saved = taxiPartyRepository.save(taxiParty);
+
+        // 택시팟 목록 구독자에게 새 글 알림 (커밋 후 발행)
+        taxiPartyFeedPublisher.publishCreated(saved);
+
         return saved.getId();
     }
 
     // 택시팟 목록 조회 (매칭중 & 최신순 & 차단 필터링)
-        @Transactional(readOnly = true)
-        public List<TaxiPartyDto.InfoResponse> getTaxiParties(Long myId) { // 파라미터로 myId 받기
-            User me = userRepository.findById(myId)
-                    .orElseThrow(() -> new IllegalArgumentException("사용자 정보가 없습니다."));
-
-            // 차단 리스트
-            List<Block> blocksFromMe = blockRepository.findAllByBlocker(me);
-            List<Block> blocksToMe = blockRepository.findAllByBlocked(me);
-
-            Set<Long> invisibleUserIds = blocksFromMe.stream()
-                    .map(block -> block.getBlocked().getId())
-                    .collect(Collectors.toSet());
-
-            invisibleUserIds.addAll(blocksToMe.stream()
-                    .map(block -> block.getBlocker().getId())
-                    .collect(Collectors.toList()));
-
-            // 전체 매칭중 리스트 가져오기
-            List<TaxiParty> parties = taxiPartyRepository.findAllByStatusOrderByCreatedAtDesc(TaxiPartyStatus.MATCHING);
-
-            // 필터링 및 변환
-            return parties.stream()
-                    .filter(party -> !invisibleUserIds.contains(party.getUser().getId())) // 작성자가 차단 목록에 있으면 제외
-                    .map(party -> new TaxiPartyDto.InfoResponse(
-                            party.getId(),
-                            party.getDeparture(),
-                            party.getDestination(),
-                            party.getMeetingTime().toLocalTime(),
-                            party.getCurrentParticipants(),
-                            party.getMaxParticipants(),
-                            party.getExpectedPrice()
-                    ))
-                    .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<TaxiPartyDto.InfoResponse> getTaxiParties(Long myId) { // 파라미터로 myId 받기
+        BlockRelationCache.InvisibleSet invisibleUserIds = blockRelationCache.getInvisibleSet(myId); // 차단 관계 캐시
+
+        // 전체 매칭중 리스트를 목록 DTO로 바로 조회 (작성자 엔티티 로딩 없음)
+        List<TaxiPartyDto.InfoResponse> parties = taxiPartyRepository.findFeed(
+                TaxiPartyStatus.MATCHING, null, null, null, null, Pageable.unpaged());
+
+        // 작성자가 차단 목록에 있으면 제외
+        return parties.stream()
+                .filter(party -> !invisibleUserIds.contains(party.getHostId()))
+                .collect(Collectors.toList());
+    }
+
+    // 택시팟 목록 스냅샷 조회 (실시간 변경 구독 시작 또는 순번 공백 발생 시 재동기화용)
+    @Transactional(readOnly = true)
+    public TaxiPartyDto.FeedSnapshotResponse getTaxiPartySnapshot(Long myId) {
+        // 조회 전에 순번을 읽어서, 조회 도중 발생한 변경은 클라이언트가 이벤트로 다시 적용하도록 함
+        long sequence = taxiPartyFeedPublisher.currentSequence();
+        return new TaxiPartyDto.FeedSnapshotResponse(sequence, getTaxiParties(myId));
+    }
+
+    // 택시팟 목록 커서 페이지 조회 (매칭중 & 최신순 & 차단 필터링 & 승차지/하차지 필터)
+    // 첫 페이지는 커서 없이 요청하고, 이후에는 응답의 nextCursorCreatedAt, nextCursorId를 그대로 보냄
+    @Transactional(readOnly = true)
+    public TaxiPartyDto.FeedResponse getTaxiPartyFeed(Long myId, String departure, String destination,
+                                                      LocalDateTime cursorCreatedAt, Long cursorId, Integer size) {
+        if ((cursorCreatedAt == null) != (cursorId == null)) {
+            throw new IllegalArgumentException("커서는 생성 일시와 ID를 함께 보내야 합니다.");
         }
 
+        int pageSize = (size == null) ? DEFAULT_FEED_SIZE : Math.min(Math.max(size, 1), MAX_FEED_SIZE);
+        BlockRelationCache.InvisibleSet invisibleUserIds = blockRelationCache.getInvisibleSet(myId); // 차단 관계 캐시
+
+        // 다음 페이지 존재 여부 확인을 위해 1개 더 조회
+        List<TaxiPartyDto.InfoResponse> rows = taxiPartyRepository.findFeed(
+                TaxiPartyStatus.MATCHING,
+                likeFilter(departure),
+                likeFilter(destination),
+                cursorCreatedAt,
+                cursorId,
+                PageRequest.of(0, pageSize + 1));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<TaxiPartyDto.InfoResponse> page = hasNext ? rows.subList(0, pageSize) : rows;
+
+        // 커서는 차단 필터링 전 마지막 행 기준 (필터링으로 빠진 글 때문에 같은 글을 다시 받지 않도록)
+        TaxiPartyDto.InfoResponse last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        List<TaxiPartyDto.InfoResponse> visible = page.stream()
+                .filter(party -> !invisibleUserIds.contains(party.getHostId()))
+                .collect(Collectors.toList());
+
+        return new TaxiPartyDto.FeedResponse(
+                visible,
+                hasNext,
+                hasNext ? last.getCreatedAt() : null,
+                hasNext ? last.getId() : null
+        );
+    }
+
+    // 승차지/하차지 부분 일치 필터 값 (비어 있으면 null, 입력한 %, _ 가 와일드카드로 쓰이지 않도록 이스케이프)
+    private static String likeFilter(String keyword) {
+        if (!StringUtils.hasText(keyword)) {
+            return null;
+        }
+        return keyword.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+
     // 택시팟 정보
     @Transactional(readOnly = true)
     public TaxiPartyDto.DetailResponse getTaxiPartyDetail(Long taxiPartyId, Long userId) {
@@ -246,9 +301,11 @@ public class TaxiPartyService {
 
         // 해당 동승슈니의 같이 타기 요청 수락
         taxiUser.setStatus(ParticipationStatus.ACCEPTED);
+        chatMemberCache.onMembersChanged(party.getId());
 
         // 택시팟의 현재 인원 +1
         party.setCurrentParticipants(party.getCurrentParticipants() + 1);
+        publishFeedUpdate(party);
 
         // 수락된 동승슈니에게 알림 보내기
         Long acceptedUserId = taxiUser.getUser().getId();
@@ -290,6 +347,9 @@ public class TaxiPartyService {
         // 상태 변경
         party.setStatus(TaxiPartyStatus.FINISHED);
 
+        // 매칭 종료된 택시팟은 목록에서 제외
+        taxiPartyFeedPublisher.publishRemoved(party.getId(), userId);
+
         // 매칭 종료 직후, 채팅방에 "목적지 도착 후 정산 입력 요청" 시스템 메시지 전송
         sendArrivalSettlementGuideMessage(party);
 
@@ -324,6 +384,7 @@ public class TaxiPartyService {
 
                     // WebSocket 구독자들에게 브로드캐스트
                     ChatMessageResponse response = ChatMessageResponse.from(saved);
+                    chatMessageCache.append(response);
                     String destination = "/topic/chatrooms/" + chatRoom.getId();
                     simpMessagingTemplate.convertAndSend(destination, response);
 
@@ -352,6 +413,8 @@ public class TaxiPartyService {
 
         // 택시팟 삭제
         taxiPartyRepository.delete(party);
+        chatMemberCache.onMembersChanged(partyId);
+        taxiPartyFeedPublisher.publishRemoved(partyId, userId);
 
         return "택시팟 삭제가 완료되었습니다. ID: " + partyId;
     }
@@ -380,6 +443,7 @@ public class TaxiPartyService {
         party.setMaxParticipants(dto.getMaxParticipants());
         party.setExpectedPrice(dto.getExpectedPrice());
         party.setContent(dto.getContent());
+        publishFeedUpdate(party);
 
         return "수정이 완료되었습니다. ID: " + partyId;
     }
@@ -402,9 +466,11 @@ public class TaxiPartyService {
 
         // 상태 변경
         taxiUser.changeStatus(ParticipationStatus.KICKED);
+        chatMemberCache.onMembersChanged(taxiPartyId);
 
         // 강퇴했으니 현재 인원 1명 감소
         taxiParty.setCurrentParticipants(taxiParty.getCurrentParticipants() - 1);
+        publishFeedUpdate(taxiParty);
 
         // 시스템 메시지 채팅방에 전송 (SYSTEM 타입)
         chatRoomRepository.findByTaxiPartyId(taxiPartyId)
@@ -414,11 +480,19 @@ public class TaxiPartyService {
                             taxiParty.getUser(),
                             targetUserId + "님이 내보내졌습니다."
                     );
-                    chatMessageRepository.save(msg);
+                    ChatMessage saved = chatMessageRepository.save(msg);
+                    chatMessageCache.append(ChatMessageResponse.from(saved));
 
                     chatRoom.updateMessage(msg.getContent(), LocalDateTime.now());
                 });
 
         log.info("멤버 강퇴 완료: partyId={}, hostId={}, targetUserId={}", taxiPartyId, hostId, targetUserId);
     }
-}
\ No newline at end of file
+
+    // 매칭 중인 택시팟만 목록에 보이므로, 매칭 중일 때만 변경 이벤트 발행
+    private void publishFeedUpdate(TaxiParty party) {
+        if (party.getStatus() == TaxiPartyStatus.MATCHING) {
+            taxiPartyFeedPublisher.publishUpdated(party);
+        }
+    }
+}
@@ -1,68 +1,102 @@
 package taxi.tago.service.User;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import taxi.tago.constant.TaxiPartyStatus;
 import taxi.tago.dto.UserMapDto;
-import taxi.tago.entity.Block;
 import taxi.tago.entity.TaxiParty;
 import taxi.tago.entity.User;
-import taxi.tago.repository.BlockRepository;
 import taxi.tago.repository.TaxiPartyRepository;
 import taxi.tago.repository.UserRepository;
+import taxi.tago.util.BlockRelationCache;
+import taxi.tago.util.UserLocationWriteBuffer;
+import taxi.tago.util.UserPresenceIndex;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class UserMapService {
 
     private final UserRepository userRepository;
     private final TaxiPartyRepository taxiPartyRepository;
-    private final BlockRepository blockRepository;
+    private final BlockRelationCache blockRelationCache;
+    private final UserPresenceIndex userPresenceIndex;
+    private final UserLocationWriteBuffer userLocationWriteBuffer;
+
+    // 지도 조회 최대 반경 (미터)
+    private static final double MAX_RADIUS_METERS = 50_000.0;
+
+    // 서버 재시작 직후에도 지도가 비지 않도록, 최근 3분 내 활동한 유저를 DB에서 한 번만 읽어 인덱스에 채움
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void warmUpPresenceIndex() {
+        LocalDateTime since = LocalDateTime.now().minus(Duration.ofMillis(UserPresenceIndex.ACTIVE_WINDOW_MILLIS));
+        List<User> recentUsers = userRepository.findAllByLastActiveAtAfter(since);
+
+        recentUsers.stream()
+                .filter(user -> user.getLatitude() != null && user.getLongitude() != null)
+                .forEach(user -> userPresenceIndex.update(
+                        user.getId(),
+                        user.getLatitude(),
+                        user.getLongitude(),
+                        toEpochMillis(user.getLastActiveAt())
+                ));
+
+        log.info("접속 유저 인덱스 초기화 완료: 유저 수={}", userPresenceIndex.size());
+    }
 
     // 유저 위치 및 마지막 활동 시간 업데이트
-    @Transactional
+    // DB에는 바로 쓰지 않고 쓰기 지연 버퍼에 최신 위치만 남겨 주기적으로 배치 반영, 지도 조회는 인메모리 인덱스에서 바로 처리
     public void userMapUpdate(UserMapDto.MapUpdateRequest dto) {
-        // userId로 유저 찾기
-        User user = userRepository.findById(dto.getUserId())
-                .orElseThrow(() -> new IllegalArgumentException("해당 유저가 존재하지 않습니다. id=" + dto.getUserId()));
+        if (dto.getLatitude() == null || dto.getLongitude() == null) {
+            throw new IllegalArgumentException("위도와 경도를 입력해주세요.");
+        }
+        validateCoordinate(dto.getLatitude(), dto.getLongitude());
 
-        // 위치 정보 업데이트
-        user.setLatitude(dto.getLatitude());
-        user.setLongitude(dto.getLongitude());
+        // 인덱스에 아직 없는 유저(접속 후 첫 위치 기록)만 DB에서 존재 여부 확인 (없는 유저가 지도 / 버퍼에 들어가지 않도록)
+        if (userPresenceIndex.get(dto.getUserId(), System.currentTimeMillis()) == null
+                && !userRepository.existsById(dto.getUserId())) {
+            throw new IllegalArgumentException("존재하지 않는 사용자입니다.");
+        }
 
         // 현재 시간을 마지막 활동 시간으로 기록
-        user.setLastActiveAt(LocalDateTime.now());
+        LocalDateTime now = LocalDateTime.now();
+
+        userLocationWriteBuffer.put(dto.getUserId(), dto.getLatitude(), dto.getLongitude(), now);
+        userPresenceIndex.update(dto.getUserId(), dto.getLatitude(), dto.getLongitude(), toEpochMillis(now));
     }
 
     // 현재 접속 중인 유저 조회 (마지막 활동 시간이 3분 이내)
+    // 중심 좌표와 반경(미터)이 모두 주어지면 해당 반경 안의 유저만 조회
     @Transactional(readOnly = true)
-    public List<UserMapDto.Response> getActiveUsers(Long myId) { // 파라미터로 myId 받기
-        User me = userRepository.findById(myId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자 정보가 없습니다."));
+    public List<UserMapDto.Response> getActiveUsers(Long myId, Double latitude, Double longitude, Double radius) {
+        // 안 보여줄 사람들의 ID 집합: 내가 차단한 사람 + 나를 차단한 사람 (차단 관계 캐시)
+        BlockRelationCache.InvisibleSet invisibleUserIds = blockRelationCache.getInvisibleSet(myId);
 
-        // 차단 리스트: 내가 차단한 사람 + 나를 차단한 사람
-        List<Block> blocksFromMe = blockRepository.findAllByBlocker(me);
-        List<Block> blocksToMe = blockRepository.findAllByBlocked(me);
-
-        // 안 보여줄 사람들의 ID 집합
-        Set<Long> invisibleUserIds = blocksFromMe.stream()
-                .map(block -> block.getBlocked().getId())
-                .collect(Collectors.toSet());
-
-        invisibleUserIds.addAll(blocksToMe.stream()
-                .map(block -> block.getBlocker().getId())
-                .collect(Collectors.toList()));
-
-        // 접속 중인 유저 조회
-        List<User> users = userRepository.findAll();
-        LocalDateTime threeMinutesAgo = LocalDateTime.now().minusMinutes(3);
+        // 접속 중인 유저 조회 (DB 대신 인메모리 인덱스 사용)
+        long now = System.currentTimeMillis();
+        List<UserPresenceIndex.Presence> presences;
+        if (latitude != null && longitude != null && radius != null) {
+            validateCoordinate(latitude, longitude);
+            if (!Double.isFinite(radius) || radius <= 0) {
+                throw new IllegalArgumentException("반경은 0보다 큰 숫자여야 합니다.");
+            }
+            // 반경은 최대값으로 제한 (너무 넓은 영역을 격자로 훑지 않도록)
+            presences = userPresenceIndex.findActiveWithin(latitude, longitude, Math.min(radius, MAX_RADIUS_METERS), now);
+        } else {
+            presences = userPresenceIndex.findActive(now);
+        }
 
         // 현재 '매칭 중'인 택시팟 정보
         List<TaxiParty> activeParties = taxiPartyRepository.findAllByStatusOrderByCreatedAtDesc(TaxiPartyStatus.MATCHING);
@@ -74,21 +108,29 @@ public class UserMapService {
                         (oldEmoji, newEmoji) -> oldEmoji
                 ));
 
-        return users.stream()
-                .filter(user -> user.getLatitude() != null
-                        && user.getLongitude() != null
-                        && user.getLastActiveAt() != null
-                        && user.getLastActiveAt().isAfter(threeMinutesAgo))
-                .filter(user -> !invisibleUserIds.contains(user.getId())) // 차단 목록에 없는 사람만 표시
-                .map(user -> {
-                    String emoji = hostEmojiMap.getOrDefault(user.getId(), "👤");
+        return presences.stream()
+                .filter(presence -> !invisibleUserIds.contains(presence.userId())) // 차단 목록에 없는 사람만 표시
+                .map(presence -> {
+                    String emoji = hostEmojiMap.getOrDefault(presence.userId(), "👤");
                     return new UserMapDto.Response(
-                            user.getId(),
-                            user.getLatitude(),
-                            user.getLongitude(),
+                            presence.userId(),
+                            presence.latitude(),
+                            presence.longitude(),
                             emoji
                     );
                 })
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // 위도 [-90, 90], 경도 [-180, 180] 범위의 유한한 값인지 확인
+    private void validateCoordinate(double latitude, double longitude) {
+        if (!Double.isFinite(latitude) || Math.abs(latitude) > UserPresenceIndex.MAX_LATITUDE
+                || !Double.isFinite(longitude) || Math.abs(longitude) > UserPresenceIndex.MAX_LONGITUDE) {
+            throw new IllegalArgumentException("위도는 -90 ~ 90, 경도는 -180 ~ 180 사이여야 합니다.");
+        }
+    }
+
+    private long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -9,9 +9,11 @@ import taxi.tago.constant.UserRole;
 import taxi.tago.dto.MypageDto;
 import taxi.tago.entity.User;
 import taxi.tago.repository.UserRepository;
+import taxi.tago.security.JwtPrincipalCache;
 import taxi.tago.service.EmailAuthService;
 import taxi.tago.service.FileStorageService;
 import taxi.tago.util.PasswordValidator;
+import taxi.tago.util.ProfileThumbnailGenerator;
 
 import org.springframework.web.multipart.MultipartFile;
 import java.io.IOException;
@@ -31,6 +33,8 @@ public class UserService {
     private final EmailAuthService emailAuthService;
     private final PasswordEncoder passwordEncoder;
     private final FileStorageService fileStorageService;
+    private final JwtPrincipalCache jwtPrincipalCache; // 사용자 정보 변경 시 인증 캐시 제거용
+    private final ProfileThumbnailGenerator profileThumbnailGenerator; // 프로필 사진 썸네일 생성용
 
     // 회원가입 처리
     @Transactional
@@ -88,7 +92,8 @@ public class UserService {
 
     // 완전한 회원가입 처리 (도서관 인증 완료 후 호출)
     @Transactional
-    public User completeRegistration(String email, String password, String studentId, String name) {
+    // encodedPassword: 비밀번호 설정 단계에서 검증 후 암호화해 둔 비밀번호
+    public User completeRegistration(String email, String encodedPassword, String studentId, String name) {
         // 1. 이메일 인증 완료 여부 확인
         if (!emailAuthService.isEmailVerified(email)) {
             throw new IllegalArgumentException("이메일 인증이 완료되지 않았습니다.");
@@ -99,10 +104,9 @@ public class UserService {
             throw new IllegalArgumentException("이미 가입된 이메일입니다.");
         }
 
-        // 3. 비밀번호 유효성 검증
-        String passwordError = PasswordValidator.validate(password);
-        if (passwordError != null) {
-            throw new IllegalArgumentException(passwordError);
+        // 3. 비밀번호 확인 (유효성 검증과 암호화는 비밀번호 설정 단계에서 완료됨)
+        if (encodedPassword == null || encodedPassword.isEmpty()) {
+            throw new IllegalArgumentException("비밀번호 설정이 완료되지 않았습니다.");
         }
 
         // 4. 학번과 이름 필수 확인
@@ -113,9 +117,7 @@ public class UserService {
             throw new IllegalArgumentException("이름이 필요합니다.");
         }
 
-        // 5. 비밀번호 암호화 및 사용자 생성
-        String encodedPassword = passwordEncoder.encode(password);
-
+        // 5. 사용자 생성
         User user = new User();
         user.setEmail(email);
         user.setPassword(encodedPassword);
@@ -146,25 +148,27 @@ public class UserService {
             throw new IllegalArgumentException("아이디 또는 비밀번호를 다시 확인해주세요.");
         }
 
-        // 3. 마지막 활동 시간 업데이트
-        user.setLastActiveAt(LocalDateTime.now());
-        userRepository.save(user);
+        // 3. 마지막 활동 시간 업데이트 (위치 버퍼와 같은 컬럼이므로 엔티티 저장 대신 조건부 UPDATE)
+        LocalDateTime now = LocalDateTime.now();
+        user.setLastActiveAt(now);
+        userRepository.touchLastActiveAt(user.getId(), now);
 
         log.info("사용자 로그인 성공!: {}", email);
         return user;
     }
 
     
-    public void sendPasswordResetCode(String email) {
+    public String sendPasswordResetCode(String email) {
         // 1. 사용자 존재 여부 확인
         if (!userRepository.findByEmail(email).isPresent()) {
             throw new IllegalArgumentException("존재하지 않는 사용자입니다.");
         }
 
-        // 2. 인증코드 발송
-        emailAuthService.sendPasswordResetCode(email);
+        // 2. 인증코드 발송 요청 (발송 요청 ID 반환)
+        String requestId = emailAuthService.sendPasswordResetCode(email);
 
-        log.info("비밀번호 변경용 인증코드 발송 완료: {}", email);
+        log.info("비밀번호 변경용 인증코드 발송 요청 완료: {}, requestId={}", email, requestId);
+        return requestId;
     }
 
 
@@ -187,16 +191,17 @@ public class UserService {
     }
 
     // 비밀번호 변경을 위한 인증코드 재전송 (기존 코드 초기화 후 새 코드 전송)
-    public void resendPasswordResetCode(String email) {
+    public String resendPasswordResetCode(String email) {
         // 1. 사용자 존재 여부 확인
         if (!userRepository.findByEmail(email).isPresent()) {
             throw new IllegalArgumentException("존재하지 않는 사용자입니다.");
         }
 
-        // 2. 인증코드 재전송 (기존 코드 초기화 후 새 코드 전송)
-        emailAuthService.resendPasswordResetCode(email);
+        // 2. 인증코드 재전송 요청 (기존 코드 초기화 후 새 코드 전송, 발송 요청 ID 반환)
+        String requestId = emailAuthService.resendPasswordResetCode(email);
 
-        log.info("비밀번호 변경용 인증코드 재전송 완료: {}", email);
+        log.info("비밀번호 변경용 인증코드 재전송 요청 완료: {}, requestId={}", email, requestId);
+        return requestId;
     }
 
     // 비밀번호 변경 처리
@@ -225,12 +230,15 @@ public class UserService {
         // 5. 비밀번호 암호화 및 업데이트
         String encodedPassword = passwordEncoder.encode(newPassword);
         user.setPassword(encodedPassword);
-        user.setLastActiveAt(LocalDateTime.now());
         userRepository.save(user);
+        userRepository.touchLastActiveAt(user.getId(), LocalDateTime.now());
 
         // 6. 인증 완료 상태 제거 (이미 사용됨)
         emailAuthService.removePasswordResetVerifiedEmail(email);
 
+        // 7. 캐시된 인증 사용자 정보 제거 (변경 전 비밀번호가 남지 않도록)
+        jwtPrincipalCache.evict(email);
+
         log.info("비밀번호 변경 완료: {}", email);
     }
 
@@ -287,6 +295,12 @@ public class UserService {
         // imgUrl에 실제 파일 경로를 저장하여 나중에 API에서 읽을 수 있도록 함
         user.setImgUrl(savedFilePath);
 
+        // 7. 캐시된 인증 사용자 정보 제거 (이전 프로필 사진 경로가 남지 않도록)
+        jwtPrincipalCache.evict(user.getEmail());
+
+        // 8. 지도 마커 / 채팅 아바타용 썸네일 생성 (커밋 후 비동기로 생성, 생성 전까지는 원본으로 응답)
+        profileThumbnailGenerator.generateAfterCommit(java.nio.file.Paths.get(savedFilePath));
+
         return "프로필 사진 수정 완료, URL: " + dbImgUrl;
     }
 }
\ No newline at end of file
@@ -0,0 +1,226 @@
+package taxi.tago.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import taxi.tago.entity.Review;
+import taxi.tago.entity.UserReputation;
+import taxi.tago.repository.ReviewRepository;
+import taxi.tago.repository.SettlementParticipantRepository;
+import taxi.tago.repository.UserReputationRepository;
+import taxi.tago.util.AfterCommit;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 사용자 평판 요약(user_reputation) 관리 서비스
+// - 프로필 조회: 메모리 캐시 -> user_reputation PK 조회 순으로 확인 (행이 아직 없으면 집계 쿼리로 계산해서 별도 트랜잭션으로 저장)
+// - 후기 작성, 정산 생성, 정산 완료 처리: 같은 트랜잭션 안에서 요약 행을 증분 갱신하고 커밋 후 캐시 제거
+//   (행이 없으면 변경이 반영된 현재 데이터로 집계해서 생성)
+// 행 생성은 일반 INSERT 후 PK 중복(DuplicateKeyException)이면 이미 있는 것으로 처리 (MySQL / H2 공통)
+@Slf4j
+@Service
+public class UserReputationService {
+
+    // 캐시할 최대 사용자 수
+    private static final int MAX_ENTRIES = 10_000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO user_reputation (user_id, total_reviews, positive_match_count, unpaid_count, " +
+            "positive_tag_counts, negative_tag_counts, updated_at) VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+
+    private static final UserReputation.TagCountsConverter TAG_COUNTS_CONVERTER = new UserReputation.TagCountsConverter();
+
+    private final UserReputationRepository userReputationRepository;
+    private final ReviewRepository reviewRepository;
+    private final SettlementParticipantRepository settlementParticipantRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    // 프로필 조회(읽기 전용 트랜잭션)에서 요약 행을 만들 때 쓰는 별도 쓰기 트랜잭션
+    private final TransactionTemplate requiresNewTransaction;
+
+    // 사용자 ID별 평판 요약
+    private final Map<Long, Reputation> cache = new ConcurrentHashMap<>();
+
+    // 요약이 바뀔 때마다 증가 (DB 조회 도중 변경이 있었으면 조회 결과를 캐시에 넣지 않기 위함)
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    public UserReputationService(UserReputationRepository userReputationRepository,
+                                 ReviewRepository reviewRepository,
+                                 SettlementParticipantRepository settlementParticipantRepository,
+                                 JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager) {
+        this.userReputationRepository = userReputationRepository;
+        this.reviewRepository = reviewRepository;
+        this.settlementParticipantRepository = settlementParticipantRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    // 프로필 화면용 평판 요약 조회
+    // 요약 행이 없으면 집계해서 저장해 둠 (다음 캐시 miss부터는 PK 조회 한 번)
+    public Reputation getReputation(Long userId) {
+        Reputation cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long modificationBefore = modificationCount.get();
+        Reputation loaded = Reputation.from(userReputationRepository.findById(userId)
+                .orElseGet(() -> createOnRead(userId)));
+
+        evictIfFull();
+        cache.compute(userId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return modificationCount.get() == modificationBefore ? loaded : null;
+        });
+        return loaded;
+    }
+
+    // 후기 작성 반영 (후기를 저장하는 트랜잭션 안에서 호출)
+    public void onReviewCreated(Long revieweeId, boolean wantToMeetAgain,
+                                Set<Review.PositiveReviewTag> positiveTags,
+                                Set<Review.NegativeReviewTag> negativeTags) {
+        if (!createIfAbsent(revieweeId)) {
+            userReputationRepository.findByIdForUpdate(revieweeId)
+                    .ifPresent(reputation -> reputation.addReview(wantToMeetAgain, positiveTags, negativeTags));
+        }
+        evictAfterCommit(List.of(revieweeId));
+    }
+
+    // 정산 생성 반영 - 아직 납부하지 않은 참여자들의 미정산 이력 +1 (정산을 저장하는 트랜잭션 안에서 호출)
+    public void onSettlementCreated(Collection<Long> unpaidUserIds) {
+        if (unpaidUserIds.isEmpty()) {
+            return;
+        }
+        List<Long> existing = unpaidUserIds.stream()
+                .filter(userId -> !createIfAbsent(userId))
+                .toList();
+        if (!existing.isEmpty()) {
+            userReputationRepository.incrementUnpaid(existing);
+        }
+        evictAfterCommit(unpaidUserIds);
+    }
+
+    // 정산 완료 처리 반영 - 미정산 이력 -1 (납부 상태가 실제로 바뀐 경우에만 호출)
+    public void onPaid(Long userId) {
+        if (!createIfAbsent(userId)) {
+            userReputationRepository.decrementUnpaid(userId);
+        }
+        evictAfterCommit(List.of(userId));
+    }
+
+    // 요약 행이 없으면 이 트랜잭션의 변경까지 포함해서 집계한 값으로 생성
+    // 새로 만들었으면 true (이미 이번 변경이 반영됨), 이미 있거나 다른 트랜잭션이 먼저 만들었으면 false (변경분만 반영해야 함)
+    private boolean createIfAbsent(Long userId) {
+        if (userReputationRepository.existsById(userId)) {
+            return false;
+        }
+        // 방금 저장한 후기 / 납부 상태가 집계 쿼리에 보이도록 먼저 반영
+        userReputationRepository.flush();
+        return insert(aggregate(userId));
+    }
+
+    // 조회 중 요약 행이 없을 때 별도 트랜잭션에서 집계해서 생성 (호출한 트랜잭션이 읽기 전용이어도 저장되도록)
+    // 다른 트랜잭션이 먼저 만들었으면 그 행을 잠금 조회로 읽음 (일반 조회는 이 트랜잭션 시작 시점 스냅샷이라 안 보일 수 있음)
+    private UserReputation createOnRead(Long userId) {
+        return requiresNewTransaction.execute(status -> {
+            UserReputation aggregated = aggregate(userId);
+            if (insert(aggregated)) {
+                return aggregated;
+            }
+            return userReputationRepository.findByIdForUpdate(userId).orElse(aggregated);
+        });
+    }
+
+    // 요약 행 INSERT (PK가 이미 있으면 false, 동시에 다른 트랜잭션이 만들고 있으면 그 커밋을 기다린 뒤 false)
+    // JdbcTemplate으로 현재 트랜잭션의 연결을 그대로 쓰고, 중복 키 예외는 이 문장만 실패시키므로 트랜잭션은 계속 사용 가능
+    private boolean insert(UserReputation reputation) {
+        try {
+            jdbcTemplate.update(INSERT_SQL,
+                    reputation.getUserId(),
+                    reputation.getTotalReviews(),
+                    reputation.getPositiveMatchCount(),
+                    reputation.getUnpaidCount(),
+                    TAG_COUNTS_CONVERTER.convertToDatabaseColumn(reputation.getPositiveTagCounts()),
+                    TAG_COUNTS_CONVERTER.convertToDatabaseColumn(reputation.getNegativeTagCounts()));
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        log.info("평판 요약 생성: userId={}", reputation.getUserId());
+        return true;
+    }
+
+    // 기존 방식의 집계 쿼리로 요약 계산 (요약 행이 아직 없는 사용자만, 사용자당 한 번)
+    private UserReputation aggregate(Long userId) {
+        Long totalReviews = reviewRepository.countTotalReviews(userId);
+        Long positiveMatchCount = reviewRepository.countPositiveMatchPreference(userId);
+        Long unpaidCount = settlementParticipantRepository.countByUserIdAndPaidFalse(userId);
+
+        return UserReputation.of(
+                userId,
+                totalReviews != null ? totalReviews : 0L,
+                positiveMatchCount != null ? positiveMatchCount : 0L,
+                unpaidCount != null ? unpaidCount : 0L,
+                toTagCounts(reviewRepository.countPositiveTags(userId)),
+                toTagCounts(reviewRepository.countNegativeTags(userId))
+        );
+    }
+
+    // nativeQuery 결과(List<Object[]>: 태그명, 개수)를 Map으로 변환
+    private Map<String, Long> toTagCounts(List<Object[]> rows) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        if (rows != null) {
+            for (Object[] row : rows) {
+                counts.put((String) row[0], ((Number) row[1]).longValue());
+            }
+        }
+        return counts;
+    }
+
+    private void evictAfterCommit(Collection<Long> userIds) {
+        AfterCommit.run(() -> {
+            modificationCount.incrementAndGet();
+            userIds.forEach(cache::remove);
+        });
+    }
+
+    private void evictIfFull() {
+        if (cache.size() < MAX_ENTRIES) {
+            return;
+        }
+        Iterator<Long> iterator = cache.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // 캐시에 보관하는 평판 요약 (불변)
+    public record Reputation(long totalReviews, long positiveMatchCount, long unpaidCount,
+                             Map<String, Long> positiveTagCounts, Map<String, Long> negativeTagCounts) {
+
+        static Reputation from(UserReputation reputation) {
+            return new Reputation(
+                    reputation.getTotalReviews(),
+                    reputation.getPositiveMatchCount(),
+                    reputation.getUnpaidCount(),
+                    Map.copyOf(reputation.getPositiveTagCounts()),
+                    Map.copyOf(reputation.getNegativeTagCounts())
+            );
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package taxi.tago.util;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// 트랜잭션 커밋 이후에 실행해야 하는 작업(캐시 갱신, 이벤트 발행 등)을 등록하는 유틸
+// 롤백된 변경이 캐시나 구독자에게 새어 나가지 않도록 사용
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    // 트랜잭션 안이면 커밋 후 실행, 아니면 바로 실행
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package taxi.tago.util;
+
+import java.time.Duration;
+
+// 인증 코드 / 인증 상태 저장소 - 이메일 인증 코드처럼 잠깐만 유효한 값을 (용도, 키)별로 보관
+// 기본은 메모리 저장소(InMemoryAuthCodeStore), 서버를 여러 대 띄울 때는 auth-code.store.type=jdbc로 DB 저장소(JdbcAuthCodeStore) 사용
+public interface AuthCodeStore {
+
+    // 값 저장 (같은 키가 있으면 덮어쓰고 유효 시간도 새로 시작)
+    void put(String namespace, String key, String value, Duration ttl);
+
+    // 유효한 값 조회 (없거나 만료됐으면 null)
+    String get(String namespace, String key);
+
+    // 값 제거 후 제거한 값 반환 (없거나 만료됐으면 null)
+    String remove(String namespace, String key);
+}
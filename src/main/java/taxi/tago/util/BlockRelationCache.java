@@ -0,0 +1,140 @@
+package taxi.tago.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import taxi.tago.repository.BlockRepository;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 차단 관계 캐시 - 사용자별 "안 보여줄 사람" ID 집합(내가 차단한 사람 + 나를 차단한 사람)을 정렬된 long 배열로 보관
+// 택시팟 목록, 지도 조회 시 DB 조회 없이 메모리에서 바로 차단 여부 확인
+@Component
+@RequiredArgsConstructor
+public class BlockRelationCache {
+
+    // 캐시할 최대 사용자 수
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final BlockRepository blockRepository;
+
+    // 사용자 ID별 안 보여줄 사람 집합
+    private final Map<Long, InvisibleSet> cache = new ConcurrentHashMap<>();
+
+    // 차단/해제가 일어날 때마다 증가 (DB 조회 도중 변경이 있었으면 조회 결과를 캐시에 넣지 않기 위함)
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    // 안 보여줄 사람 집합 조회 (캐시에 없으면 DB에서 한 번만 조회)
+    public InvisibleSet getInvisibleSet(Long userId) {
+        if (userId == null) {
+            return InvisibleSet.EMPTY;
+        }
+
+        InvisibleSet cached = cache.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long modificationBefore = modificationCount.get();
+        List<Long> ids = blockRepository.findInvisibleUserIds(userId);
+        InvisibleSet loaded = InvisibleSet.of(ids);
+
+        // 변경 여부 확인과 저장을 한 번에 처리 (확인 후 저장 전에 차단/해제가 끼어들면 이전 집합이 남으므로)
+        evictIfFull();
+        InvisibleSet stored = cache.compute(userId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return modificationCount.get() == modificationBefore ? loaded : null;
+        });
+        return stored != null ? stored : loaded;
+    }
+
+    // 차단 발생 (트랜잭션 커밋 후 두 사용자의 집합에 서로를 추가)
+    public void onBlocked(Long blockerId, Long blockedId) {
+        AfterCommit.run(() -> {
+            modificationCount.incrementAndGet();
+            cache.computeIfPresent(blockerId, (id, set) -> set.with(blockedId));
+            cache.computeIfPresent(blockedId, (id, set) -> set.with(blockerId));
+        });
+    }
+
+    // 차단 해제 (반대 방향 차단이 남아 있으면 서로 계속 안 보이므로 집합 유지)
+    public void onUnblocked(Long blockerId, Long blockedId, boolean reverseBlockExists) {
+        AfterCommit.run(() -> {
+            modificationCount.incrementAndGet();
+            if (reverseBlockExists) {
+                return;
+            }
+            cache.computeIfPresent(blockerId, (id, set) -> set.without(blockedId));
+            cache.computeIfPresent(blockedId, (id, set) -> set.without(blockerId));
+        });
+    }
+
+    private void evictIfFull() {
+        if (cache.size() < MAX_ENTRIES) {
+            return;
+        }
+        Iterator<Long> iterator = cache.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // 정렬된 long 배열 기반 불변 ID 집합 (이진 탐색으로 포함 여부 확인, 박싱 없음)
+    public static final class InvisibleSet {
+
+        public static final InvisibleSet EMPTY = new InvisibleSet(new long[0]);
+
+        private final long[] ids;
+
+        private InvisibleSet(long[] ids) {
+            this.ids = ids;
+        }
+
+        static InvisibleSet of(List<Long> ids) {
+            if (ids.isEmpty()) {
+                return EMPTY;
+            }
+            long[] sorted = ids.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            return new InvisibleSet(sorted);
+        }
+
+        public boolean contains(Long userId) {
+            return userId != null && Arrays.binarySearch(ids, userId) >= 0;
+        }
+
+        public int size() {
+            return ids.length;
+        }
+
+        InvisibleSet with(long userId) {
+            int index = Arrays.binarySearch(ids, userId);
+            if (index >= 0) {
+                return this;
+            }
+            int insertAt = -index - 1;
+            long[] next = new long[ids.length + 1];
+            System.arraycopy(ids, 0, next, 0, insertAt);
+            next[insertAt] = userId;
+            System.arraycopy(ids, insertAt, next, insertAt + 1, ids.length - insertAt);
+            return new InvisibleSet(next);
+        }
+
+        InvisibleSet without(long userId) {
+            int index = Arrays.binarySearch(ids, userId);
+            if (index < 0) {
+                return this;
+            }
+            long[] next = new long[ids.length - 1];
+            System.arraycopy(ids, 0, next, 0, index);
+            System.arraycopy(ids, index + 1, next, index, ids.length - index - 1);
+            return new InvisibleSet(next);
+        }
+    }
+}
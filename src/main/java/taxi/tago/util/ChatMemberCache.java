@@ -0,0 +1,148 @@
+package taxi.tago.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import taxi.tago.constant.ParticipationStatus;
+import taxi.tago.entity.ChatRoom;
+import taxi.tago.repository.ChatRoomRepository;
+import taxi.tago.repository.TaxiPartyRepository;
+import taxi.tago.repository.TaxiUserRepository;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 채팅 참여자 캐시 - 택시팟별 채팅 가능한 사람(총대슈니 + ACCEPTED 동승슈니) 집합과 채팅방별 택시팟 ID / 종료 여부를 보관
+// 메시지 전송, 이전 메시지 조회, 채팅방 입장 때마다 하던 권한 조회 쿼리를 캐시 조회로 대체
+// 참여 수락, 강퇴, 택시팟 삭제, 채팅방 종료 시 커밋 후 해당 택시팟 / 채팅방 캐시를 무효화
+@Component
+@RequiredArgsConstructor
+public class ChatMemberCache {
+
+    // 캐시할 최대 택시팟 수 / 채팅방 수
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final ChatRoomRepository chatRoomRepository;
+    private final TaxiPartyRepository taxiPartyRepository;
+    private final TaxiUserRepository taxiUserRepository;
+
+    // 택시팟 ID별 채팅 참여자 집합
+    private final Map<Long, Members> members = new ConcurrentHashMap<>();
+
+    // 채팅방 ID별 택시팟 ID, 종료 여부
+    private final Map<Long, RoomRef> rooms = new ConcurrentHashMap<>();
+
+    // 무효화가 일어날 때마다 증가 (DB 조회 도중 변경이 있었으면 조회 결과를 캐시에 넣지 않기 위함)
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    // 택시팟의 채팅 참여자 집합 조회 (캐시에 없으면 DB에서 조회, 택시팟이 없으면 null)
+    public Members getMembers(Long taxiPartyId) {
+        Members cached = members.get(taxiPartyId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long modificationBefore = modificationCount.get();
+        Optional<Long> hostId = taxiPartyRepository.findHostIdById(taxiPartyId);
+        if (hostId.isEmpty()) {
+            return null;
+        }
+        List<Long> acceptedIds = taxiUserRepository.findUserIdsByTaxiPartyIdAndStatus(
+                taxiPartyId, ParticipationStatus.ACCEPTED);
+        Members loaded = Members.of(hostId.get(), acceptedIds);
+
+        return storeIfUnchanged(members, taxiPartyId, loaded, modificationBefore);
+    }
+
+    // 채팅방의 택시팟 ID, 종료 여부 조회 (캐시에 없으면 DB에서 조회, 채팅방이 없으면 null)
+    public RoomRef getRoom(Long chatRoomId) {
+        RoomRef cached = rooms.get(chatRoomId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long modificationBefore = modificationCount.get();
+        Optional<ChatRoom> room = chatRoomRepository.findById(chatRoomId);
+        if (room.isEmpty()) {
+            return null;
+        }
+        // 채팅방 -> 택시팟 연결은 바뀌지 않으므로 프록시에서 ID만 꺼냄 (택시팟 로딩 없음)
+        RoomRef loaded = new RoomRef(chatRoomId, room.get().getTaxiParty().getId(), room.get().isClosed());
+
+        return storeIfUnchanged(rooms, chatRoomId, loaded, modificationBefore);
+    }
+
+    // 참여자 변경 (참여 수락, 강퇴, 택시팟 삭제) - 커밋 후 택시팟 캐시 제거
+    public void onMembersChanged(Long taxiPartyId) {
+        AfterCommit.run(() -> {
+            modificationCount.incrementAndGet();
+            members.remove(taxiPartyId);
+        });
+    }
+
+    // 채팅방 종료 - 커밋 후 채팅방 / 택시팟 캐시 제거
+    public void onRoomClosed(Long chatRoomId, Long taxiPartyId) {
+        AfterCommit.run(() -> {
+            modificationCount.incrementAndGet();
+            rooms.remove(chatRoomId);
+            members.remove(taxiPartyId);
+        });
+    }
+
+    // 조회 도중 무효화가 없었을 때만 캐시에 저장 (확인과 저장을 compute 안에서 한 번에 처리해서, 확인 후 저장 전에 끼어든 무효화를 놓치지 않음)
+    // 다른 요청이 먼저 넣은 값이 있으면 그 값을 사용
+    private <V> V storeIfUnchanged(Map<Long, V> map, Long key, V loaded, long modificationBefore) {
+        evictIfFull(map);
+        V stored = map.compute(key, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return modificationCount.get() == modificationBefore ? loaded : null;
+        });
+        return stored != null ? stored : loaded;
+    }
+
+    private static <V> void evictIfFull(Map<Long, V> map) {
+        if (map.size() < MAX_ENTRIES) {
+            return;
+        }
+        Iterator<Long> iterator = map.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // 채팅방 요약 (불변)
+    public record RoomRef(Long chatRoomId, Long taxiPartyId, boolean closed) {
+    }
+
+    // 택시팟 하나의 채팅 참여자 집합 (총대슈니 ID + 정렬된 ACCEPTED 동승슈니 ID 배열, 불변)
+    public static final class Members {
+
+        private final long hostId;
+        private final long[] acceptedIds;
+
+        private Members(long hostId, long[] acceptedIds) {
+            this.hostId = hostId;
+            this.acceptedIds = acceptedIds;
+        }
+
+        static Members of(Long hostId, List<Long> acceptedIds) {
+            long[] sorted = acceptedIds.stream().mapToLong(Long::longValue).sorted().distinct().toArray();
+            return new Members(hostId, sorted);
+        }
+
+        public boolean isHost(Long userId) {
+            return userId != null && userId == hostId;
+        }
+
+        public boolean contains(Long userId) {
+            return isHost(userId) || (userId != null && Arrays.binarySearch(acceptedIds, userId) >= 0);
+        }
+    }
+}
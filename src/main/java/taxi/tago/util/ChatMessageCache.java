@@ -0,0 +1,149 @@
+package taxi.tago.util;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import taxi.tago.dto.chat.ChatMessageResponse;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// 채팅방별 최근 메시지 캐시 - 활성 채팅방마다 최근 N개 메시지를 링 버퍼로 보관해서 채팅방 입장 시 DB 조회 없이 응답
+// 오래 사용되지 않은 채팅방부터 제거(LRU)하며, 채팅방 수 x 방당 메시지 수로 전체 메모리 사용량을 제한
+@Component
+public class ChatMessageCache {
+
+    private final int messagesPerRoom;
+
+    // 채팅방 ID별 링 버퍼 (접근 순서 기준 LinkedHashMap -> 가장 오래 사용되지 않은 채팅방부터 제거)
+    private final Map<Long, RoomBuffer> rooms;
+
+    public ChatMessageCache(
+            @Value("${chat.cache.max-rooms:500}") int maxRooms,
+            @Value("${chat.cache.messages-per-room:100}") int messagesPerRoom) {
+        this.messagesPerRoom = messagesPerRoom;
+        this.rooms = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, RoomBuffer> eldest) {
+                return size() > maxRooms;
+            }
+        });
+    }
+
+    // 방당 보관하는 최대 메시지 수
+    public int getMessagesPerRoom() {
+        return messagesPerRoom;
+    }
+
+    // 새 메시지 추가 (트랜잭션 커밋 후 반영)
+    // 아직 DB에서 채워지지 않은 채팅방이면 임시 버퍼에 쌓아두고, 이후 DB 조회 결과와 합쳐짐
+    public void append(ChatMessageResponse message) {
+        AfterCommit.run(() -> rooms.computeIfAbsent(message.getChatRoomId(), id -> new RoomBuffer(messagesPerRoom))
+                .add(message));
+    }
+
+    // 최근 limit개 메시지 조회 (시간순), 캐시만으로 응답할 수 없으면 null
+    public CachedPage getRecent(Long chatRoomId, int limit) {
+        RoomBuffer buffer = rooms.get(chatRoomId);
+        return buffer == null ? null : buffer.latest(limit);
+    }
+
+    // DB에서 조회한 최근 메시지로 채팅방 버퍼 채우기
+    // latestFirst: 최신순 정렬된 최근 메시지, wholeHistory: 채팅방의 전체 메시지가 포함되어 있는지 여부
+    public void fill(Long chatRoomId, List<ChatMessageResponse> latestFirst, boolean wholeHistory) {
+        rooms.computeIfAbsent(chatRoomId, id -> new RoomBuffer(messagesPerRoom))
+                .fill(latestFirst, wholeHistory);
+    }
+
+    // 채팅방 캐시 제거
+    public void evict(Long chatRoomId) {
+        rooms.remove(chatRoomId);
+    }
+
+    // 캐시에서 꺼낸 메시지 페이지
+    public record CachedPage(List<ChatMessageResponse> messages, boolean hasNext) {
+    }
+
+    // 채팅방 하나의 고정 크기 링 버퍼 (메시지 ID 오름차순 유지)
+    private static final class RoomBuffer {
+
+        private final ChatMessageResponse[] ring;
+        private int head = 0;   // 가장 오래된 메시지 위치
+        private int count = 0;
+
+        private boolean filled = false;       // DB 조회 결과로 채워졌는지 (false면 최근 메시지 일부만 있을 수 있음)
+        private boolean wholeHistory = false; // 채팅방 전체 메시지가 버퍼에 들어있는지
+
+        RoomBuffer(int capacity) {
+            this.ring = new ChatMessageResponse[capacity];
+        }
+
+        synchronized void add(ChatMessageResponse message) {
+            // 커밋 순서가 뒤바뀐 경우를 대비해 ID 순서 위치에 삽입 (대부분은 맨 뒤)
+            int position = count;
+            while (position > 0 && at(position - 1).getMessageId() >= message.getMessageId()) {
+                if (at(position - 1).getMessageId().equals(message.getMessageId())) {
+                    return; // 이미 있는 메시지
+                }
+                position--;
+            }
+
+            if (count == ring.length) {
+                if (position == 0) {
+                    return; // 버퍼의 가장 오래된 메시지보다 오래된 메시지는 보관하지 않음
+                }
+                // 가장 오래된 메시지 제거
+                ring[head] = null;
+                head = (head + 1) % ring.length;
+                count--;
+                position--;
+                wholeHistory = false;
+            }
+
+            for (int i = count; i > position; i--) {
+                ring[index(i)] = at(i - 1);
+            }
+            ring[index(position)] = message;
+            count++;
+        }
+
+        synchronized void fill(List<ChatMessageResponse> latestFirst, boolean wholeHistory) {
+            // 버퍼 용량만큼 최근 메시지를 오래된 순서로 추가 (이미 쌓여 있던 메시지와는 ID 기준으로 병합)
+            // 추가 도중 용량 초과로 오래된 메시지가 밀려나면 add()에서 wholeHistory가 false로 바뀜
+            int size = Math.min(latestFirst.size(), ring.length);
+            this.wholeHistory = wholeHistory && latestFirst.size() <= ring.length;
+            for (int i = size - 1; i >= 0; i--) {
+                add(latestFirst.get(i));
+            }
+            this.filled = true;
+        }
+
+        synchronized CachedPage latest(int limit) {
+            if (!filled) {
+                return null;
+            }
+            // 요청한 개수보다 버퍼가 작고, 그 이전 메시지가 DB에 더 있으면 캐시로 응답 불가
+            if (limit >= count && !wholeHistory) {
+                return null;
+            }
+
+            int size = Math.min(limit, count);
+            List<ChatMessageResponse> result = new ArrayList<>(size);
+            for (int i = count - size; i < count; i++) {
+                result.add(at(i));
+            }
+            boolean hasNext = count > size || !wholeHistory;
+            return new CachedPage(result, hasNext);
+        }
+
+        private ChatMessageResponse at(int position) {
+            return ring[index(position)];
+        }
+
+        private int index(int position) {
+            return (head + position) % ring.length;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package taxi.tago.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import taxi.tago.dto.chat.ChatMessageAck;
+import taxi.tago.dto.chat.ChatMessageResponse;
+import taxi.tago.entity.User;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// 채팅 메시지 비동기 저장 큐 - 메시지는 순번만 부여해서 먼저 브로드캐스트하고, DB 저장은 큐에 모아 한 번에 처리(group commit)
+// 저장 스레드가 하나라서 큐에 들어온 순서(= 순번 순서)대로 저장되므로 채팅방별 메시지 순서가 보장됨
+// 순번은 채팅방별로 1씩 증가하므로 클라이언트는 같은 방에서 순번이 건너뛰면 메시지 목록을 다시 조회
+// 저장 결과(ack)는 보낸 사람에게만 "/user/queue/chat-acks"로 전달
+@Slf4j
+@Component
+public class ChatMessageWriteQueue {
+
+    private static final String INSERT_MESSAGE_SQL =
+            "INSERT INTO chat_message (chatroom_id, sender_id, message_type, content, sent_at) VALUES (?, ?, ?, ?, ?)";
+    // ack 전송 경로 (클라이언트는 "/user/queue/chat-acks" 구독)
+    public static final String ACK_DESTINATION = "/queue/chat-acks";
+
+    private static final String UPDATE_LAST_MESSAGE_SQL =
+            "UPDATE chat_room SET last_message = ?, last_message_at = ? WHERE chatroom_id = ?";
+
+    // chat_room.last_message 컬럼 길이
+    private static final int LAST_MESSAGE_MAX_LENGTH = 255;
+
+    // 저장 실패 시 재시도 횟수 및 첫 대기 시간 (재시도마다 2배)
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MILLIS = 200L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatMessageCache chatMessageCache;
+
+    private final boolean enabled;
+    private final int batchSize;
+    private final BlockingQueue<PendingMessage> queue;
+
+    // 채팅방 ID별 마지막으로 부여한 메시지 순번 (enqueue에서만 접근, this로 동기화)
+    private final Map<Long, Long> roomSequences = new HashMap<>();
+
+    private volatile boolean running = false;
+    private Thread writerThread;
+
+    public ChatMessageWriteQueue(
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            SimpMessagingTemplate messagingTemplate,
+            ChatMessageCache chatMessageCache,
+            @Value("${chat.async-persist.enabled:false}") boolean enabled,
+            @Value("${chat.async-persist.queue-capacity:10000}") int queueCapacity,
+            @Value("${chat.async-persist.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.messagingTemplate = messagingTemplate;
+        this.chatMessageCache = chatMessageCache;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    // 비동기 저장 모드 사용 여부
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::runWriter, "chat-message-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("채팅 메시지 비동기 저장 모드 시작: batchSize={}, queueCapacity={}", batchSize, queue.remainingCapacity());
+    }
+
+    // 메시지에 채팅방별 순번을 부여하고 저장 큐에 넣음 (순번 부여와 큐 삽입을 한 번에 해서 순번 순서 = 저장 순서)
+    public synchronized ChatMessageResponse enqueue(Long chatRoomId, User sender, String content) {
+        long sequence = roomSequences.getOrDefault(chatRoomId, 0L) + 1;
+        ChatMessageResponse pending = ChatMessageResponse.pending(
+                sequence, chatRoomId, sender, content, LocalDateTime.now());
+
+        if (!queue.offer(new PendingMessage(pending, sender.getEmail()))) {
+            throw new IllegalStateException("채팅 메시지가 너무 많아 잠시 후 다시 시도해주세요.");
+        }
+        roomSequences.put(chatRoomId, sequence);
+        return pending;
+    }
+
+    private void runWriter() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMessage first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flushWithRetry(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushWithRetry(List<PendingMessage> batch) throws InterruptedException {
+        List<Long> ids = null;
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS && ids == null; attempt++) {
+            try {
+                ids = transactionTemplate.execute(status -> flush(batch));
+            } catch (Exception e) {
+                log.warn("채팅 메시지 배치 저장 실패: attempt={}, count={}, error={}", attempt, batch.size(), e.getMessage());
+                if (attempt < MAX_ATTEMPTS) {
+                    Thread.sleep(backoff);
+                    backoff *= 2;
+                }
+            }
+        }
+
+        if (ids == null) {
+            // 배치 전체가 계속 실패하면 한 건씩 저장해서 문제 있는 메시지(삭제된 채팅방 등)만 실패 처리
+            ids = flushOneByOne(batch);
+        }
+        acknowledge(batch, ids);
+    }
+
+    // 메시지별로 따로 저장 (실패한 메시지는 ID 자리에 null)
+    private List<Long> flushOneByOne(List<PendingMessage> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        int failed = 0;
+        for (PendingMessage pending : batch) {
+            ChatMessageResponse message = pending.message();
+            try {
+                ids.add(transactionTemplate.execute(status -> flush(List.of(pending))).get(0));
+            } catch (Exception e) {
+                failed++;
+                ids.add(null);
+                log.error("채팅 메시지 저장 최종 실패: sequence={}, chatRoomId={}, error={}",
+                        message.getSequence(), message.getChatRoomId(), e.getMessage());
+            }
+        }
+        log.warn("채팅 메시지 배치를 한 건씩 저장: count={}, failed={}", batch.size(), failed);
+        return ids;
+    }
+
+    // 메시지 INSERT 배치 + 채팅방별 마지막 메시지 UPDATE 배치 (같은 채팅방은 배치 안에서 마지막 메시지 하나로 합침)
+    private List<Long> flush(List<PendingMessage> batch) {
+        List<Long> ids = jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            List<Long> generated = new ArrayList<>(batch.size());
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_MESSAGE_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (PendingMessage pending : batch) {
+                    ChatMessageResponse message = pending.message();
+                    ps.setLong(1, message.getChatRoomId());
+                    ps.setLong(2, message.getSenderId());
+                    ps.setString(3, message.getMessageType());
+                    ps.setString(4, message.getContent());
+                    ps.setTimestamp(5, Timestamp.valueOf(message.getSentAt()));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    while (keys.next()) {
+                        generated.add(keys.getLong(1));
+                    }
+                }
+            }
+            return generated;
+        });
+
+        Map<Long, ChatMessageResponse> lastByRoom = new LinkedHashMap<>();
+        for (PendingMessage pending : batch) {
+            lastByRoom.put(pending.message().getChatRoomId(), pending.message());
+        }
+        List<ChatMessageResponse> lastMessages = new ArrayList<>(lastByRoom.values());
+        jdbcTemplate.batchUpdate(UPDATE_LAST_MESSAGE_SQL, lastMessages, lastMessages.size(), (ps, message) -> {
+            String content = message.getContent();
+            ps.setString(1, content.length() > LAST_MESSAGE_MAX_LENGTH
+                    ? content.substring(0, LAST_MESSAGE_MAX_LENGTH) : content);
+            ps.setTimestamp(2, Timestamp.valueOf(message.getSentAt()));
+            ps.setLong(3, message.getChatRoomId());
+        });
+
+        return ids;
+    }
+
+    // 저장 결과를 보낸 사람에게 ack로 전달 (ID가 null인 메시지는 저장 실패, ID 수가 다르면 저장은 됐지만 ID를 모름)
+    private void acknowledge(List<PendingMessage> batch, List<Long> ids) {
+        boolean idsKnown = ids.size() == batch.size();
+        for (int i = 0; i < batch.size(); i++) {
+            ChatMessageResponse message = batch.get(i).message();
+            Long messageId = idsKnown ? ids.get(i) : null;
+            boolean persisted = !idsKnown || messageId != null;
+
+            if (messageId != null) {
+                chatMessageCache.append(message.withMessageId(messageId));
+            }
+
+            try {
+                messagingTemplate.convertAndSendToUser(
+                        batch.get(i).senderEmail(),
+                        ACK_DESTINATION,
+                        new ChatMessageAck(message.getSequence(), message.getChatRoomId(),
+                                message.getSenderId(), messageId, persisted));
+            } catch (Exception e) {
+                log.warn("채팅 메시지 ack 전송 실패: sequence={}, error={}", message.getSequence(), e.getMessage());
+            }
+        }
+    }
+
+    // 애플리케이션 종료 시 큐에 남은 메시지를 모두 저장한 뒤 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        if (writerThread == null) {
+            return;
+        }
+        running = false;
+        writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        if (!queue.isEmpty()) {
+            log.error("종료 시 저장하지 못한 채팅 메시지: count={}", queue.size());
+        }
+    }
+
+    // 저장 대기 중인 메시지 (senderEmail: ack를 보낼 사용자, WebSocket 세션 사용자 이름)
+    private record PendingMessage(ChatMessageResponse message, String senderEmail) {
+    }
+}
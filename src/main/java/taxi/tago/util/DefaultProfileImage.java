@@ -0,0 +1,158 @@
+package taxi.tago.util;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+// 기본 프로필 이미지 - 시작 시 classpath의 default.png(없으면 default.svg)를 한 번만 읽어 힙 밖(direct) 버퍼에 보관
+// 기본 이미지 요청마다 classpath에서 다시 읽지 않고, ETag도 미리 계산해 둠
+@Slf4j
+@Component
+public class DefaultProfileImage {
+
+    private static final String[] CANDIDATES = {"static/images/default.png", "static/images/default.svg"};
+
+    // 읽기 전용 direct 버퍼 (요청마다 duplicate로 위치만 따로 사용)
+    private ByteBuffer content;
+    private MediaType contentType;
+    private String etag;
+    private long lastModified;
+
+    @PostConstruct
+    public void load() {
+        for (String candidate : CANDIDATES) {
+            ClassPathResource resource = new ClassPathResource(candidate);
+            if (!resource.exists()) {
+                continue;
+            }
+            try (InputStream in = resource.getInputStream()) {
+                byte[] bytes = in.readAllBytes();
+                ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+                buffer.put(bytes).flip();
+
+                this.content = buffer.asReadOnlyBuffer();
+                this.contentType = candidate.endsWith(".svg")
+                        ? MediaType.parseMediaType("image/svg+xml") : MediaType.IMAGE_PNG;
+                this.etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                this.lastModified = lastModifiedOf(resource);
+                log.info("기본 프로필 이미지 로드 완료: {}, 크기={} bytes", candidate, bytes.length);
+                return;
+            } catch (IOException e) {
+                log.error("기본 프로필 이미지 읽기 실패: {}, error={}", candidate, e.getMessage(), e);
+            }
+        }
+        log.warn("기본 프로필 이미지 파일을 찾을 수 없음: {}", String.join(", ", CANDIDATES));
+    }
+
+    public boolean exists() {
+        return content != null;
+    }
+
+    public MediaType getContentType() {
+        return contentType;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getContentLength() {
+        return content.capacity();
+    }
+
+    // 응답 본문용 Resource (Range 요청도 처리할 수 있도록 매번 처음부터 읽을 수 있는 스트림 제공)
+    public Resource asResource() {
+        return new AbstractResource() {
+            @Override
+            public String getDescription() {
+                return "default profile image";
+            }
+
+            @Override
+            public String getFilename() {
+                return "profile";
+            }
+
+            @Override
+            public long contentLength() {
+                return content.capacity();
+            }
+
+            @Override
+            public long lastModified() {
+                return lastModified;
+            }
+
+            @Override
+            public InputStream getInputStream() {
+                return new ByteBufferInputStream(content.duplicate());
+            }
+        };
+    }
+
+    // jar 안의 리소스는 수정 시각을 못 읽을 수 있으므로 그 경우 로드 시각 사용
+    private static long lastModifiedOf(Resource resource) {
+        try {
+            long modified = resource.lastModified();
+            if (modified > 0) {
+                return modified;
+            }
+        } catch (IOException ignored) {
+            // 아래에서 로드 시각 사용
+        }
+        return System.currentTimeMillis() / 1000 * 1000;
+    }
+
+    // direct 버퍼를 힙에 복사하지 않고 그대로 읽는 InputStream
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long n) {
+            int count = (int) Math.max(0, Math.min(n, buffer.remaining()));
+            buffer.position(buffer.position() + count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package taxi.tago.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 메모리 인증 코드 저장소 - 조회 / 저장은 해시맵으로 O(1), 만료는 타임 휠로 처리
+// 값을 다시 찾으러 오지 않은(가입을 중간에 그만둔) 이메일도 유효 시간이 지나면 타임 휠이 지우므로 메모리가 계속 늘지 않음
+// 최대 개수를 넘으면 새 키는 저장하지 않음 (이미 있는 키는 덮어쓰기 가능)
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth-code.store.type", havingValue = "memory", matchIfMissing = true)
+public class InMemoryAuthCodeStore implements AuthCodeStore {
+
+    // 타임 휠 한 칸의 시간 (1초) 및 칸 수 (한 바퀴 10분, 더 긴 유효 시간은 여러 바퀴 후 만료)
+    private static final long TICK_MILLIS = 1000L;
+    private static final int WHEEL_SIZE = 600;
+
+    private final int maxEntries;
+
+    // "용도:키"별 저장 값
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    // 타임 휠 - 각 칸에는 해당 시각에 만료되는 "용도:키"가 들어감
+    private final List<Set<String>> wheel = new ArrayList<>(WHEEL_SIZE);
+
+    public InMemoryAuthCodeStore(@Value("${auth-code.store.max-entries:100000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @Override
+    public void put(String namespace, String key, String value, Duration ttl) {
+        String storeKey = storeKey(namespace, key);
+        if (entries.size() >= maxEntries && !entries.containsKey(storeKey)) {
+            log.warn("인증 코드 저장소 용량 초과: namespace={}, size={}", namespace, entries.size());
+            throw new IllegalStateException("요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+
+        long expiresAt = System.currentTimeMillis() + ttl.toMillis();
+        entries.put(storeKey, new Entry(value, expiresAt));
+
+        // 만료 시각에 해당하는 타임 휠 칸에 등록 (덮어쓴 이전 칸의 항목은 만료 처리 시 만료 시각으로 걸러짐)
+        wheel.get(slotOf(expiresAt)).add(storeKey);
+    }
+
+    @Override
+    public String get(String namespace, String key) {
+        Entry entry = entries.get(storeKey(namespace, key));
+        return entry != null && !entry.isExpired(System.currentTimeMillis()) ? entry.value() : null;
+    }
+
+    @Override
+    public String remove(String namespace, String key) {
+        Entry entry = entries.remove(storeKey(namespace, key));
+        return entry != null && !entry.isExpired(System.currentTimeMillis()) ? entry.value() : null;
+    }
+
+    // 타임 휠 한 칸 진행 - 방금 지난 칸에 있던 키 중 만료된 것만 제거
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void expire() {
+        long now = System.currentTimeMillis();
+        int slot = slotOf(now - TICK_MILLIS);
+        Set<String> expiredSlot = wheel.get(slot);
+        int removed = 0;
+
+        for (String storeKey : expiredSlot) {
+            Entry entry = entries.get(storeKey);
+            if (entry == null) {
+                // 이미 사용되어 제거된 키
+                expiredSlot.remove(storeKey);
+            } else if (entry.isExpired(now)) {
+                expiredSlot.remove(storeKey);
+                if (entries.remove(storeKey, entry)) {
+                    removed++;
+                }
+            } else if (slotOf(entry.expiresAt()) != slot) {
+                // 덮어쓰여서 다른 칸으로 옮겨간 키
+                expiredSlot.remove(storeKey);
+            }
+            // 같은 칸이지만 아직 만료 전이면 다음 바퀴에 다시 확인
+        }
+
+        if (removed > 0) {
+            log.debug("인증 코드 저장소 만료 처리: removed={}, 남은 개수={}", removed, entries.size());
+        }
+    }
+
+    // 저장된 값 개수 (만료 처리 전 항목 포함)
+    public int size() {
+        return entries.size();
+    }
+
+    private int slotOf(long millis) {
+        return (int) ((millis / TICK_MILLIS) % WHEEL_SIZE);
+    }
+
+    private static String storeKey(String namespace, String key) {
+        return namespace + ":" + key;
+    }
+
+    // 저장 값 (expiresAt: epoch milliseconds)
+    private record Entry(String value, long expiresAt) {
+
+        boolean isExpired(long nowMillis) {
+            return nowMillis >= expiresAt;
+        }
+    }
+}
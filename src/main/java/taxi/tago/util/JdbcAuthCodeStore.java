@@ -0,0 +1,94 @@
+package taxi.tago.util;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// DB 인증 코드 저장소 - 서버를 여러 대 띄울 때 인증 코드 / 인증 상태를 auth_codes 테이블로 공유 (auth-code.store.type=jdbc)
+// 조회는 (용도, 키) PK로 한 번에 찾고, 만료된 행은 주기적으로 한꺼번에 삭제
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "auth-code.store.type", havingValue = "jdbc")
+public class JdbcAuthCodeStore implements AuthCodeStore {
+
+    private static final String CREATE_TABLE_SQL =
+            "CREATE TABLE IF NOT EXISTS auth_codes (" +
+            "namespace VARCHAR(40) NOT NULL, " +
+            "code_key VARCHAR(255) NOT NULL, " +
+            "code_value VARCHAR(255) NOT NULL, " +
+            "expires_at DATETIME(3) NOT NULL, " +
+            "PRIMARY KEY (namespace, code_key), " +
+            "INDEX idx_auth_codes_expires_at (expires_at))";
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO auth_codes (namespace, code_key, code_value, expires_at) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE code_value = VALUES(code_value), expires_at = VALUES(expires_at)";
+
+    private static final String SELECT_SQL =
+            "SELECT code_value FROM auth_codes WHERE namespace = ? AND code_key = ? AND expires_at > ?";
+
+    private static final String SELECT_FOR_UPDATE_SQL = SELECT_SQL + " FOR UPDATE";
+
+    private static final String DELETE_SQL =
+            "DELETE FROM auth_codes WHERE namespace = ? AND code_key = ?";
+
+    private static final String DELETE_EXPIRED_SQL =
+            "DELETE FROM auth_codes WHERE expires_at <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public JdbcAuthCodeStore(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @PostConstruct
+    public void createTable() {
+        jdbcTemplate.execute(CREATE_TABLE_SQL);
+    }
+
+    @Override
+    public void put(String namespace, String key, String value, Duration ttl) {
+        Timestamp expiresAt = Timestamp.valueOf(LocalDateTime.now().plus(ttl));
+        jdbcTemplate.update(UPSERT_SQL, namespace, key, value, expiresAt);
+    }
+
+    @Override
+    public String get(String namespace, String key) {
+        List<String> values = jdbcTemplate.queryForList(SELECT_SQL, String.class, namespace, key, now());
+        return values.isEmpty() ? null : values.get(0);
+    }
+
+    // 조회와 삭제 사이에 다른 서버가 같은 값을 가져가지 않도록 행을 잠그고 처리
+    @Override
+    public String remove(String namespace, String key) {
+        return transactionTemplate.execute(status -> {
+            List<String> values = jdbcTemplate.queryForList(SELECT_FOR_UPDATE_SQL, String.class, namespace, key, now());
+            jdbcTemplate.update(DELETE_SQL, namespace, key);
+            return values.isEmpty() ? null : values.get(0);
+        });
+    }
+
+    // 만료된 행 정리 (1분마다)
+    @Scheduled(fixedDelay = 60_000L)
+    public void deleteExpired() {
+        int deleted = jdbcTemplate.update(DELETE_EXPIRED_SQL, now());
+        if (deleted > 0) {
+            log.debug("인증 코드 저장소 만료 처리: deleted={}", deleted);
+        }
+    }
+
+    private static Timestamp now() {
+        return Timestamp.valueOf(LocalDateTime.now());
+    }
+}
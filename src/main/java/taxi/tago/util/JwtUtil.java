@@ -1,10 +1,12 @@
 package taxi.tago.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import taxi.tago.constant.UserRole;
 import taxi.tago.entity.User;
@@ -12,20 +14,39 @@ import taxi.tago.entity.User;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Slf4j
 @Component
 public class JwtUtil {
 
+    // 만료된 캐시 정리 주기
+    private static final long CLEANUP_MILLIS = 60_000L;
+
     private final SecretKey secretKey;
     private final long expirationTime; // milliseconds
 
+    // 서명 검증용 파서 (스레드 안전, 시작 시 한 번만 생성)
+    private final JwtParser parser;
+
+    // 검증 완료된 토큰별 Claims 캐시 (같은 토큰으로 오는 요청마다 서명 검증 / JSON 파싱을 반복하지 않음)
+    // 토큰의 exp가 지나면 캐시에서도 사용하지 않음
+    private final int maxCachedTokens;
+    private final Map<String, CachedClaims> verifiedClaims = new ConcurrentHashMap<>();
+
     public JwtUtil(
             @Value("${jwt.secret:tago-secret-key-for-jwt-token-generation-minimum-256-bits-required-for-security}") String secret,
-            @Value("${jwt.expiration:86400000}") long expirationTime) {
+            @Value("${jwt.expiration:86400000}") long expirationTime,
+            @Value("${jwt.claims-cache.max-entries:10000}") int maxCachedTokens) {
         // JWT secret key must be at least 256 bits (32 bytes)
         this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
         this.expirationTime = expirationTime;
+        this.parser = Jwts.parser()
+                .verifyWith(secretKey)
+                .build();
+        this.maxCachedTokens = maxCachedTokens;
     }
 
     // JWT 토큰 생성
@@ -62,27 +83,59 @@ public class JwtUtil {
         return UserRole.valueOf(roleName);
     }
 
-    // JWT 토큰에서 Claims 추출
+    // JWT 토큰에서 Claims 추출 (캐시에 없거나 만료됐으면 서명 검증 후 캐시)
     private Claims getClaimsFromToken(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        long now = System.currentTimeMillis();
+        CachedClaims cached = verifiedClaims.get(token);
+        if (cached != null) {
+            if (now < cached.expiresAt()) {
+                return cached.claims();
+            }
+            verifiedClaims.remove(token);
+        }
+
+        // 만료 / 위조 토큰이면 여기서 예외 발생 (캐시하지 않음)
+        Claims claims = parser.parseSignedClaims(token).getPayload();
+
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            evictIfFull();
+            verifiedClaims.put(token, new CachedClaims(claims, expiration.getTime()));
+        }
+        return claims;
     }
 
     // JWT 토큰 유효성 검증
     public boolean validateToken(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(token);
+            getClaimsFromToken(token);
             return true;
         } catch (Exception e) {
             log.warn("JWT 토큰 검증 실패: {}", e.getMessage());
             return false;
         }
     }
-}
 
+    // 만료된 토큰 정리 (요청 처리 중에는 전체를 훑지 않도록 주기적으로 실행)
+    @Scheduled(fixedRate = CLEANUP_MILLIS)
+    public void cleanup() {
+        long now = System.currentTimeMillis();
+        verifiedClaims.values().removeIf(cached -> now >= cached.expiresAt());
+    }
+
+    // 캐시가 가득 차면 하나 제거 (만료된 토큰은 cleanup에서 정리)
+    private void evictIfFull() {
+        if (verifiedClaims.size() < maxCachedTokens) {
+            return;
+        }
+        Iterator<String> iterator = verifiedClaims.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // 검증 완료된 Claims (expiresAt: 토큰 exp, epoch milliseconds)
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
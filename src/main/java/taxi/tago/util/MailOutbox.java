@@ -0,0 +1,262 @@
+package taxi.tago.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+import taxi.tago.exception.MailQueueFullException;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 메일 발송함(outbox) - HTTP 요청 스레드에서는 메일을 큐에 넣고 요청 ID만 돌려주고, 발송 스레드들이 모아서 SMTP로 전송
+// 발송 스레드는 모인 메일을 SMTP 연결 하나로 한 번에 보내고(연결 / 인증을 메일마다 하지 않음), 실패한 메일만 backoff 후 재시도
+// 재시도는 전송 / 연결 실패(MailSendException)만 하고, 메시지 오류나 인증 실패처럼 다시 보내도 같은 오류는 바로 버림
+// 초당 발송 수를 제한해서 SMTP 서버(SES / Gmail)의 발송 한도를 넘지 않도록 함
+// 발송함이 가득 차면 요청 스레드에서 보내지 않고 MailQueueFullException (호출 측에서 503 + Retry-After)
+@Slf4j
+@Component
+public class MailOutbox {
+
+    // 발송 실패 시 재시도 횟수 및 첫 대기 시간 (재시도마다 2배)
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long INITIAL_BACKOFF_MILLIS = 1_000L;
+
+    private final JavaMailSender mailSender;
+
+    private final int workers;
+    private final int batchSize;
+    private final int maxPerSecond;
+    private final long sendIntervalNanos;
+    private final BlockingQueue<OutgoingMail> queue;
+
+    // 다음 메일을 보낼 수 있는 시각 (System.nanoTime 기준, 발송 스레드들이 공유)
+    private final AtomicLong nextSendAt = new AtomicLong(System.nanoTime());
+
+    // 발송 통계
+    private final AtomicLong enqueued = new AtomicLong(); // 발송함에 들어온 메일 수
+    private final AtomicLong sent = new AtomicLong();     // 전송 완료된 메일 수
+    private final AtomicLong retried = new AtomicLong();  // 재시도한 메일 수
+    private final AtomicLong failed = new AtomicLong();   // 최종 실패로 버린 메일 수
+    private final AtomicLong rejected = new AtomicLong(); // 발송함 초과로 거절한 메일 수
+
+    private volatile boolean running = false;
+    private final List<Thread> workerThreads = new ArrayList<>();
+
+    public MailOutbox(
+            JavaMailSender mailSender,
+            @Value("${mail.outbox.queue-capacity:1000}") int queueCapacity,
+            @Value("${mail.outbox.workers:2}") int workers,
+            @Value("${mail.outbox.batch-size:20}") int batchSize,
+            @Value("${mail.outbox.max-per-second:10}") int maxPerSecond) {
+        this.mailSender = mailSender;
+        this.workers = workers;
+        this.batchSize = batchSize;
+        this.maxPerSecond = Math.max(1, maxPerSecond);
+        this.sendIntervalNanos = TimeUnit.SECONDS.toNanos(1) / this.maxPerSecond;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        for (int i = 1; i <= workers; i++) {
+            Thread thread = new Thread(this::runWorker, "mail-sender-" + i);
+            thread.setDaemon(true);
+            thread.start();
+            workerThreads.add(thread);
+        }
+    }
+
+    // 메일 추가 후 요청 ID 반환 (발송 결과는 로그에서 요청 ID로 확인)
+    // 발송함이 가득 차면 MailQueueFullException (요청 스레드에서 SMTP 전송 / 발송 한도 대기를 하지 않음)
+    public String enqueue(SimpleMailMessage message) {
+        OutgoingMail mail = new OutgoingMail(UUID.randomUUID().toString(), message);
+        if (!queue.offer(mail)) {
+            rejected.incrementAndGet();
+            long retryAfterSeconds = Math.max(1, queue.size() / maxPerSecond);
+            log.warn("메일 발송함 초과로 거절: requestId={}, to={}, retryAfter={}s",
+                    mail.requestId(), String.join(",", message.getTo()), retryAfterSeconds);
+            throw new MailQueueFullException(retryAfterSeconds);
+        }
+        enqueued.incrementAndGet();
+        return mail.requestId();
+    }
+
+    // 발송 통계 조회
+    public Stats getStats() {
+        return new Stats(enqueued.get(), sent.get(), retried.get(), failed.get(), rejected.get(), queue.size());
+    }
+
+    private void runWorker() {
+        List<OutgoingMail> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                OutgoingMail first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                sendWithRetry(batch);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+                log.error("메일 발송 중 예상치 못한 오류: count={}, error={}", batch.size(), e.getMessage(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 배치 전송 (실패한 메일만 backoff 후 재시도, 최종 실패하면 버림)
+    private void sendWithRetry(List<OutgoingMail> batch) {
+        List<OutgoingMail> pending = batch;
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS && !pending.isEmpty(); attempt++) {
+            if (attempt > 1) {
+                retried.addAndGet(pending.size());
+                if (!sleep(backoff)) {
+                    break;
+                }
+                backoff *= 2;
+            }
+            pending = send(pending, attempt);
+        }
+
+        for (OutgoingMail mail : pending) {
+            failed.incrementAndGet();
+            log.error("❌ 메일 전송 최종 실패: requestId={}, to={}",
+                    mail.requestId(), String.join(",", mail.message().getTo()));
+        }
+    }
+
+    // SMTP 연결 하나로 배치 전송 후 재시도할 메일 목록 반환
+    private List<OutgoingMail> send(List<OutgoingMail> batch, int attempt) {
+        if (!acquire(batch.size())) {
+            return batch;
+        }
+
+        Map<SimpleMailMessage, OutgoingMail> byMessage = new IdentityHashMap<>();
+        for (OutgoingMail mail : batch) {
+            byMessage.put(mail.message(), mail);
+        }
+
+        try {
+            mailSender.send(byMessage.keySet().toArray(new SimpleMailMessage[0]));
+            onSent(batch);
+            return List.of();
+        } catch (MailSendException e) {
+            // 일부만 실패했으면 실패한 메일만 다시 보냄
+            List<OutgoingMail> failedMails = new ArrayList<>();
+            for (Object failedMessage : e.getFailedMessages().keySet()) {
+                OutgoingMail mail = byMessage.get(failedMessage);
+                if (mail != null) {
+                    failedMails.add(mail);
+                }
+            }
+            if (failedMails.isEmpty()) {
+                failedMails = batch;
+            } else {
+                List<OutgoingMail> succeeded = new ArrayList<>(batch);
+                succeeded.removeAll(failedMails);
+                onSent(succeeded);
+            }
+            // 연결 실패도 MailSendException이며 이때는 배치 전체가 실패 목록에 들어 있음
+            log.warn("메일 전송 실패: attempt={}, failed={}/{}, error={}",
+                    attempt, failedMails.size(), batch.size(), e.getMessage());
+            return failedMails;
+        } catch (MailParseException | MailPreparationException e) {
+            // 메시지 변환 단계에서 배치 전체가 실패하므로 어느 메일 문제인지 알 수 없음 -> 한 건씩 다시 보내서 문제 있는 메일만 버림
+            if (batch.size() > 1) {
+                return sendOneByOne(batch, attempt);
+            }
+            discard(batch, e);
+            return List.of();
+        } catch (Exception e) {
+            // 인증 실패(MailAuthenticationException) 등은 다시 보내도 같은 오류이므로 재시도하지 않음
+            discard(batch, e);
+            return List.of();
+        }
+    }
+
+    // 메일을 한 건씩 전송 후 재시도할 메일 목록 반환
+    private List<OutgoingMail> sendOneByOne(List<OutgoingMail> batch, int attempt) {
+        List<OutgoingMail> retry = new ArrayList<>();
+        for (OutgoingMail mail : batch) {
+            retry.addAll(send(List.of(mail), attempt));
+        }
+        return retry;
+    }
+
+    // 재시도하지 않고 최종 실패 처리
+    private void discard(List<OutgoingMail> mails, Exception e) {
+        failed.addAndGet(mails.size());
+        for (OutgoingMail mail : mails) {
+            log.error("❌ 메일 전송 최종 실패 (재시도 안 함): requestId={}, to={}, error={}",
+                    mail.requestId(), String.join(",", mail.message().getTo()), e.getMessage());
+        }
+    }
+
+    private void onSent(List<OutgoingMail> mails) {
+        sent.addAndGet(mails.size());
+        for (OutgoingMail mail : mails) {
+            log.info("✅ 메일 전송 성공: requestId={}, to={}",
+                    mail.requestId(), String.join(",", mail.message().getTo()));
+        }
+    }
+
+    // 초당 발송 수 제한 - 보낼 메일 수만큼 발송 시각을 예약하고 그 시각까지 대기
+    private boolean acquire(int count) {
+        long now = System.nanoTime();
+        long reservedAt = nextSendAt.getAndUpdate(next -> Math.max(next, now) + sendIntervalNanos * count);
+        long waitNanos = reservedAt - now;
+        return waitNanos <= 0 || sleep(TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 애플리케이션 종료 시 발송함에 남은 메일을 모두 보낸 뒤 종료
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        for (Thread thread : workerThreads) {
+            thread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        if (!queue.isEmpty()) {
+            log.error("종료 시 전송하지 못한 메일: count={}", queue.size());
+        }
+        log.info("메일 발송 통계: {}", getStats());
+    }
+
+    // 발송 대기 중인 메일
+    private record OutgoingMail(String requestId, SimpleMailMessage message) {
+    }
+
+    // 발송 통계 (queued: 현재 발송 대기 중인 메일 수)
+    public record Stats(long enqueued, long sent, long retried, long failed, long rejected, int queued) {
+    }
+}
@@ -0,0 +1,244 @@
+package taxi.tago.util;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import taxi.tago.constant.NotificationType;
+import taxi.tago.dto.NotificationDto;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 알림 발송함(outbox) - 비즈니스 트랜잭션 안에서 notifications 테이블에 dispatched = false로 JDBC 배치 INSERT
+// 알림 행은 비즈니스 데이터와 함께 커밋되거나 함께 롤백되므로, 커밋 직후 서버가 죽어도 알림이 사라지지 않음
+// 발송 스레드는 커밋 알림(또는 주기적 확인)으로 깨어나 미전송 알림을 ID순으로 모아서, dispatched = false인 행만 true로 바꿔 선점한 뒤 SSE로 보냄
+// 선점은 행 단위 조건부 UPDATE라서 서버가 여러 대여도 한 알림은 한 서버만 보냄
+// 선점 후 전송 전에 서버가 죽으면 실시간 전송만 빠지고, 알림은 DB에 있으므로 알림 목록 / SSE 재연결 시 재전송으로 확인 가능
+@Slf4j
+@Component
+public class NotificationOutbox {
+
+    // SSE 알림 이벤트 이름 (이벤트 ID는 notification_id)
+    public static final String EVENT_NAME = "notification";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO notifications (receiver_id, title, body, type, target_type, target_id, `read`, dispatched, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, false, false, ?)";
+
+    private static final String SELECT_PENDING_SQL =
+            "SELECT notification_id, receiver_id, title, body, type, target_type, target_id, `read`, created_at " +
+            "FROM notifications WHERE dispatched = false ORDER BY notification_id LIMIT ?";
+
+    // 다른 서버가 먼저 선점한 알림은 0건 갱신 -> 보내지 않음
+    private static final String CLAIM_SQL =
+            "UPDATE notifications SET dispatched = true WHERE notification_id = ? AND dispatched = false";
+
+    // 커밋 알림이 없어도 미전송 알림을 확인하는 주기 (다른 경로로 저장된 알림, 재시작 전 남은 알림 처리)
+    private static final long POLL_INTERVAL_MILLIS = 1_000L;
+
+    // DB 오류 시 재시도 대기 시간 (재시도마다 2배, 최대값까지)
+    private static final long INITIAL_BACKOFF_MILLIS = 200L;
+    private static final long MAX_BACKOFF_MILLIS = 10_000L;
+
+    private static final RowMapper<DispatchRow> DISPATCH_ROW_MAPPER = (rs, rowNum) -> {
+        long targetIdValue = rs.getLong("target_id");
+        Long targetId = rs.wasNull() ? null : targetIdValue;
+        return new DispatchRow(rs.getLong("notification_id"), rs.getBoolean("read"), new PendingNotification(
+                rs.getLong("receiver_id"),
+                rs.getString("title"),
+                rs.getString("body"),
+                NotificationType.valueOf(rs.getString("type")),
+                rs.getString("target_type"),
+                targetId,
+                rs.getTimestamp("created_at").toLocalDateTime()
+        ));
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SseEmitters sseEmitters;
+    private final UnreadNotificationCounter unreadNotificationCounter;
+
+    private final int batchSize;
+
+    // 커밋된 알림이 있다고 발송 스레드를 깨우는 신호
+    private final Semaphore wakeUp = new Semaphore(0);
+
+    // 발송 통계
+    private final AtomicLong appended = new AtomicLong();   // 커밋되어 발송함에 들어온 알림 수
+    private final AtomicLong dispatched = new AtomicLong(); // 선점해서 SSE로 보낸 알림 수
+    private final AtomicLong retried = new AtomicLong();    // DB 오류로 재시도한 횟수
+
+    private volatile boolean running = false;
+    private Thread dispatcherThread;
+
+    public NotificationOutbox(
+            JdbcTemplate jdbcTemplate,
+            SseEmitters sseEmitters,
+            UnreadNotificationCounter unreadNotificationCounter,
+            @Value("${notification.outbox.batch-size:200}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.sseEmitters = sseEmitters;
+        this.unreadNotificationCounter = unreadNotificationCounter;
+        this.batchSize = batchSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        dispatcherThread = new Thread(this::runDispatcher, "notification-dispatcher");
+        dispatcherThread.setDaemon(true);
+        dispatcherThread.start();
+    }
+
+    // 알림 추가 (호출한 트랜잭션 안에서 저장, 트랜잭션 밖이면 바로 저장)
+    public void append(Long receiverId, String title, String body, NotificationType type,
+                       String targetType, Long targetId) {
+        appendAll(List.of(PendingNotification.of(receiverId, title, body, type, targetType, targetId)));
+    }
+
+    // 여러 알림을 한 번에 추가 (JDBC 배치 INSERT 한 번, 커밋 후 발송 스레드를 깨움)
+    public void appendAll(List<PendingNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, notifications, notifications.size(), (ps, notification) -> {
+            ps.setLong(1, notification.receiverId());
+            ps.setString(2, notification.title());
+            ps.setString(3, notification.body());
+            ps.setString(4, notification.type().name());
+            ps.setString(5, notification.targetType());
+            if (notification.targetId() == null) {
+                ps.setNull(6, Types.BIGINT);
+            } else {
+                ps.setLong(6, notification.targetId());
+            }
+            ps.setTimestamp(7, Timestamp.valueOf(notification.createdAt()));
+        });
+
+        AfterCommit.run(() -> {
+            appended.addAndGet(notifications.size());
+            notifications.forEach(notification -> unreadNotificationCounter.onSaved(notification.receiverId()));
+            wakeUp.release();
+        });
+    }
+
+    // 발송 통계 조회
+    public Stats getStats() {
+        return new Stats(appended.get(), dispatched.get(), retried.get());
+    }
+
+    private void runDispatcher() {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        while (running) {
+            try {
+                wakeUp.tryAcquire(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                wakeUp.drainPermits();
+                dispatchPending();
+                backoff = INITIAL_BACKOFF_MILLIS;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                // 알림 행은 DB에 남아 있으므로 버리지 않고 잠시 후 다시 시도
+                retried.incrementAndGet();
+                log.warn("알림 발송 실패, {}ms 후 재시도: error={}", backoff, e.getMessage());
+                if (!sleep(backoff)) {
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    // 미전송 알림을 배치 단위로 모두 전송
+    private void dispatchPending() {
+        List<DispatchRow> batch;
+        do {
+            batch = jdbcTemplate.query(SELECT_PENDING_SQL, DISPATCH_ROW_MAPPER, batchSize);
+            if (batch.isEmpty()) {
+                return;
+            }
+            int[][] claimed = claim(batch);
+            int index = 0;
+            for (int[] counts : claimed) {
+                for (int count : counts) {
+                    // SUCCESS_NO_INFO(-2)는 갱신 건수를 알 수 없으므로 선점한 것으로 봄
+                    if (count != 0) {
+                        publish(batch.get(index));
+                        dispatched.incrementAndGet();
+                    }
+                    index++;
+                }
+            }
+        } while (batch.size() == batchSize && running);
+    }
+
+    // 행마다 조건부 UPDATE를 배치로 한 번에 실행하고 행별 갱신 건수 반환
+    private int[][] claim(List<DispatchRow> batch) {
+        return jdbcTemplate.batchUpdate(CLAIM_SQL, batch, batch.size(),
+                (ps, row) -> ps.setLong(1, row.id()));
+    }
+
+    // SSE로 실시간 알림 전송 (실패해도 알림은 이미 DB에 저장되어 있고 알림 목록 / 재연결 시 재전송으로 확인 가능)
+    private void publish(DispatchRow row) {
+        PendingNotification notification = row.notification();
+        try {
+            sseEmitters.sendToUser(notification.receiverId(), EVENT_NAME, row.id(), notification.toDto(row.id(), row.read()));
+        } catch (Exception e) {
+            log.warn("알림 SSE 전송 실패 (DB 저장은 완료): receiverId={}, notificationId={}, error={}",
+                    notification.receiverId(), row.id(), e.getMessage());
+        }
+    }
+
+    private boolean sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    // 애플리케이션 종료 시 발송 스레드 종료 (선점하지 않은 미전송 알림은 DB에 있으므로 재시작 후 전송)
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        wakeUp.release();
+        if (dispatcherThread != null) {
+            dispatcherThread.join(TimeUnit.SECONDS.toMillis(10));
+        }
+        log.info("알림 발송 통계: {}", getStats());
+    }
+
+    // 저장할 알림 (불변)
+    public record PendingNotification(Long receiverId, String title, String body, NotificationType type,
+                                      String targetType, Long targetId, LocalDateTime createdAt) {
+
+        public static PendingNotification of(Long receiverId, String title, String body, NotificationType type,
+                                             String targetType, Long targetId) {
+            return new PendingNotification(receiverId, title, body, type, targetType, targetId, LocalDateTime.now());
+        }
+
+        NotificationDto toDto(Long id, boolean read) {
+            return new NotificationDto(id, title, body, type.name(), targetType, targetId, read, createdAt);
+        }
+    }
+
+    // 저장된 미전송 알림
+    private record DispatchRow(long id, boolean read, PendingNotification notification) {
+    }
+
+    // 발송 통계
+    public record Stats(long appended, long dispatched, long retried) {
+    }
+}
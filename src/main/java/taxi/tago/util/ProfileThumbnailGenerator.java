@@ -0,0 +1,178 @@
+package taxi.tago.util;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 프로필 사진 썸네일 생성기 - 업로드된 원본 옆에 정사각형 JPEG 썸네일(64 / 128 / 256px)을 만들어 둠
+// 지도 마커, 채팅 아바타처럼 작게 보여주는 곳에서는 원본 대신 썸네일을 내려받도록 함
+// 생성은 작업 큐 크기가 정해진 별도 스레드 풀에서 처리하고, 큐가 가득 차면 건너뜀 (썸네일이 없으면 원본으로 응답)
+@Slf4j
+@Component
+public class ProfileThumbnailGenerator {
+
+    // 생성하는 썸네일 크기 (px, 오름차순)
+    public static final int[] SIZES = {64, 128, 256};
+
+    private static final float JPEG_QUALITY = 0.85f;
+
+    private final ThreadPoolExecutor executor;
+
+    // 썸네일을 만들 원본의 최대 픽셀 수 (압축률이 높은 초대형 이미지를 디코딩하다 메모리가 터지지 않도록, 넘으면 원본으로 응답)
+    private final long maxSourcePixels;
+
+    public ProfileThumbnailGenerator(
+            @Value("${profile.thumbnail.threads:2}") int threads,
+            @Value("${profile.thumbnail.queue-capacity:100}") int queueCapacity,
+            @Value("${profile.thumbnail.max-source-pixels:50000000}") long maxSourcePixels) {
+        this.maxSourcePixels = maxSourcePixels;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "profile-thumbnail-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                (runnable, pool) -> log.warn("썸네일 생성 작업 큐 초과로 건너뜀 (원본으로 응답됨)"));
+    }
+
+    // 원본 이미지의 썸네일 생성 요청 (트랜잭션 안이면 커밋 후 요청)
+    public void generateAfterCommit(Path original) {
+        AfterCommit.run(() -> executor.execute(() -> generate(original)));
+    }
+
+    // 요청한 크기 이상인 썸네일 중 가장 작은 것 (아직 없거나 원본보다 크게 요청하면 null -> 원본 사용)
+    public Path findVariant(Path original, int requestedSize) {
+        for (int size : SIZES) {
+            if (size >= requestedSize) {
+                Path variant = variantPath(original, size);
+                return Files.exists(variant) ? variant : null;
+            }
+        }
+        return null;
+    }
+
+    private void generate(Path original) {
+        long startedAt = System.nanoTime();
+        try {
+            BufferedImage square = readCenterSquare(original);
+            if (square == null) {
+                return;
+            }
+
+            int side = square.getWidth();
+            for (int size : SIZES) {
+                writeVariant(square, Math.min(size, side), variantPath(original, size));
+            }
+            log.info("썸네일 생성 완료: {}, {}ms", original.getFileName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        } catch (Exception e) {
+            log.error("썸네일 생성 실패: {}, error={}", original, e.getMessage(), e);
+        }
+    }
+
+    // 가운데 정사각형 영역만 가장 큰 썸네일의 2배 정도 크기로 줄여서 디코딩 (아바타는 원형 / 정사각형으로 표시됨)
+    // 크기는 헤더에서 먼저 읽어서 최대 픽셀 수를 넘으면 디코딩하지 않음 (형식을 모르거나 너무 크면 null)
+    private BufferedImage readCenterSquare(Path original) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(original.toFile())) {
+            Iterator<ImageReader> readers = in == null ? null : ImageIO.getImageReaders(in);
+            if (readers == null || !readers.hasNext()) {
+                log.warn("썸네일 생성 불가 (지원하지 않는 이미지 형식): {}", original);
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxSourcePixels) {
+                    log.warn("썸네일 생성 건너뜀 (이미지가 너무 큼): {}, {}x{}", original, width, height);
+                    return null;
+                }
+
+                int side = Math.min(width, height);
+                int step = Math.max(1, side / (SIZES[SIZES.length - 1] * 2));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceRegion(new Rectangle((width - side) / 2, (height - side) / 2, side, side));
+                param.setSourceSubsampling(step, step, 0, 0);
+
+                BufferedImage decoded = reader.read(0, param);
+                // 나누어떨어지지 않으면 한 줄 차이가 날 수 있으므로 짧은 쪽에 맞춰 정사각형으로 자름
+                int decodedSide = Math.min(decoded.getWidth(), decoded.getHeight());
+                return decoded.getSubimage(0, 0, decodedSide, decodedSide);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // 임시 파일에 쓴 뒤 이동해서, 쓰는 도중의 파일이 응답되지 않도록 함
+    private void writeVariant(BufferedImage square, int size, Path target) throws IOException {
+        BufferedImage resized = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // 투명 배경(PNG / GIF)은 흰색으로 채움 (JPEG는 투명도 없음)
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, size, size);
+            g.drawImage(square, 0, 0, size, size, null);
+        } finally {
+            g.dispose();
+        }
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(resized, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // 원본 파일명(UUID.확장자) 옆에 UUID_크기.jpg로 저장
+    private Path variantPath(Path original, int size) {
+        String fileName = original.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return original.resolveSibling(baseName + "_" + size + ".jpg");
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdown();
+    }
+}
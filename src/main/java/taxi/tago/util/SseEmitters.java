@@ -1,93 +1,505 @@
 package taxi.tago.util;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
-import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
-// SSE(Server-Sent Events) Emitter 관리 클래스 - 사용자별 SseEmitter를 관리하고, 알림 발생 시 해당 사용자에게 실시간으로 전송
+// SSE(Server-Sent Events) Emitter 관리 클래스 - 사용자별 여러 SseEmitter(탭/기기마다 하나)를 관리하고, 알림 발생 시 해당 사용자의 모든 연결로 전송
+// 전송은 연결마다 크기가 제한된 큐에 넣기만 하고, 실제 쓰기는 전용 전송 스레드풀에서 처리 -> 느린 클라이언트가 알림을 만든 트랜잭션을 막지 않음
+// 큐가 가득 찬(따라가지 못하는) 연결과 heartbeat 전송에 실패한 연결은 정리함
+// 전송 하나가 제한 시간을 넘기면(멈춘 클라이언트) 연결을 끊고 전송 스레드를 풀어줌, 전송 스레드는 필요하면 최대값까지 늘어남
+// -> 느린 연결 몇 개가 다른 사용자의 전송을 막지 않음
+// ID가 있는 이벤트는 사용자별 최근 이벤트 버퍼에 보관해 두었다가, 재연결 시 Last-Event-ID 이후 이벤트를 다시 보내줌
+// 알림 ID는 INSERT 시점에 정해지고 커밋 순서와 다를 수 있어서(늦게 커밋된 작은 ID), Last-Event-ID보다 조금 앞에서부터 다시 보냄
+// -> 이미 받은 이벤트가 다시 갈 수 있으므로 클라이언트는 이벤트 ID로 중복 제거
 @Slf4j
 @Component
 public class SseEmitters {
 
-    // 사용자 ID별 SseEmitter 저장 (동시성 안전)
-    private final Map<Long, SseEmitter> emitters = new ConcurrentHashMap<>();
-
     // SSE 연결 타임아웃 (30분)
     private static final long TIMEOUT = 30 * 60 * 1000L;
 
-    // 사용자별 SSE 연결 생성
+    // heartbeat 주기 (프록시 유휴 연결 끊김 방지 + 죽은 연결 정리)
+    private static final long HEARTBEAT_MILLIS = 30 * 1000L;
+
+    // 오래 걸리는 전송 확인 주기
+    private static final long SEND_CHECK_MILLIS = 1000L;
+
+    // 사용자 ID별 SSE 연결 목록 (동시성 안전)
+    private final Map<Long, Set<Connection>> emitters = new ConcurrentHashMap<>();
+
+    private final AtomicLong connectionSequence = new AtomicLong();
+    private final AtomicInteger connectionCount = new AtomicInteger();
+
+    // 사용자 ID별 최근 이벤트 버퍼 (접근 순서 기준 LinkedHashMap -> 가장 오래 사용되지 않은 사용자부터 제거)
+    private final Map<Long, Backlog> backlogs;
+
+    private final int maxConnectionsPerUser;
+    private final int queueCapacity;
+    private final int backlogSize;
+    private final long replayOverlap;
+    private final long sendTimeoutNanos;
+
+    // SSE 쓰기 전용 스레드풀 (연결마다 동시에 하나의 전송 작업만 실행, 기본 스레드가 모두 바쁘면 최대값까지 늘어남)
+    // 최대값까지 차서 거절된 전송은 큐에 남아 있다가 전송 확인 주기에 다시 예약됨
+    private final ThreadPoolExecutor sender;
+
+    public SseEmitters(
+            @Value("${sse.max-connections-per-user:5}") int maxConnectionsPerUser,
+            @Value("${sse.queue-capacity:100}") int queueCapacity,
+            @Value("${sse.sender-threads:4}") int senderThreads,
+            @Value("${sse.max-sender-threads:64}") int maxSenderThreads,
+            @Value("${sse.send-timeout-ms:5000}") long sendTimeoutMillis,
+            @Value("${sse.replay.backlog-size:50}") int backlogSize,
+            @Value("${sse.replay.overlap-ids:1000}") long replayOverlap,
+            @Value("${sse.replay.max-users:10000}") int maxBacklogUsers) {
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.queueCapacity = queueCapacity;
+        this.backlogSize = backlogSize;
+        this.replayOverlap = Math.max(0, replayOverlap);
+        this.sendTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(sendTimeoutMillis);
+        this.backlogs = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Backlog> eldest) {
+                return size() > maxBacklogUsers;
+            }
+        });
+        this.sender = new ThreadPoolExecutor(senderThreads, Math.max(senderThreads, maxSenderThreads),
+                60L, TimeUnit.SECONDS, new SynchronousQueue<>(), daemonThreadFactory());
+    }
+
+    // 사용자별 SSE 연결 생성 (같은 사용자의 기존 연결은 유지, 최대 연결 수를 넘으면 가장 오래된 연결 종료)
     public SseEmitter create(Long userId) {
-        // 기존 연결이 있으면 제거
-        remove(userId);
+        return create(userId, null, null);
+    }
 
-        // 새로운 SseEmitter 생성
+    // 재연결 시 놓친 이벤트를 다시 보내주는 SSE 연결 생성
+    // lastEventId: 클라이언트가 마지막으로 받은 이벤트 ID (Last-Event-ID 헤더, 첫 연결이면 null)
+    // fallback: 최근 이벤트 버퍼로 커버되지 않을 때 주어진 ID 이후 이벤트를 DB에서 조회하는 함수
+    public SseEmitter create(Long userId, Long lastEventId, Function<Long, List<ReplayEvent>> fallback) {
         SseEmitter emitter = new SseEmitter(TIMEOUT);
-        emitters.put(userId, emitter);
+        Connection connection = new Connection(connectionSequence.incrementAndGet(), userId, emitter, queueCapacity,
+                lastEventId != null);
+
+        // 마지막 연결이 끊기면서 목록이 지워지는 것과 겹치지 않도록 compute 안에서 추가
+        Set<Connection> connections = emitters.compute(userId, (id, current) -> {
+            Set<Connection> next = (current == null) ? ConcurrentHashMap.newKeySet() : current;
+            next.add(connection);
+            return next;
+        });
+        connectionCount.incrementAndGet();
+        evictOldestIfFull(connections);
 
-        // 연결 종료 시 Map에서 제거
+        // 연결 종료 시 목록에서 제거
         emitter.onCompletion(() -> {
-            emitters.remove(userId);
-            log.info("SSE 연결 종료: userId={}", userId);
+            detach(connection);
+            log.info("SSE 연결 종료: userId={}, connectionId={}", userId, connection.id);
         });
 
-        // 타임아웃 시 Map에서 제거
+        // 타임아웃 시 목록에서 제거
         emitter.onTimeout(() -> {
-            emitters.remove(userId);
-            log.info("SSE 연결 타임아웃: userId={}", userId);
+            detach(connection);
+            log.info("SSE 연결 타임아웃: userId={}, connectionId={}", userId, connection.id);
         });
 
-        // 에러 발생 시 Map에서 제거
+        // 에러 발생 시 목록에서 제거
         emitter.onError((ex) -> {
-            emitters.remove(userId);
-            log.error("SSE 연결 에러: userId={}, error={}", userId, ex.getMessage());
+            detach(connection);
+            log.error("SSE 연결 에러: userId={}, connectionId={}, error={}", userId, connection.id, ex.getMessage());
         });
 
-        log.info("SSE 연결 생성: userId={}, 현재 연결 수={}", userId, emitters.size());
+        // 연결 즉시 초기 이벤트 전송 (연결 확인용, 이후 알림과 같은 큐를 거치므로 순서 보장)
+        offer(connection, SseEmitter.event()
+                .name("connect")
+                .data("SSE 연결이 성공적으로 설정되었습니다."));
+
+        // 놓친 이벤트 재전송 (재전송하는 동안 들어온 실시간 이벤트는 보류했다가 재전송 뒤에 이어서 보냄)
+        if (lastEventId != null) {
+            replay(connection, lastEventId, fallback);
+        }
+
+        log.info("SSE 연결 생성: userId={}, connectionId={}, 사용자 연결 수={}, 전체 연결 수={}",
+                userId, connection.id, connections.size(), connectionCount.get());
         return emitter;
     }
 
-    // 특정 사용자에게 알림 전송
+    // 특정 사용자의 모든 연결에 알림 전송 (큐에 넣고 바로 반환)
     public void sendToUser(Long userId, String eventName, Object data) {
-        SseEmitter emitter = emitters.get(userId);
-        if (emitter != null) {
+        Set<Connection> connections = emitters.get(userId);
+        if (connections == null || connections.isEmpty()) {
+            log.debug("SSE 연결 없음 (알림 전송 스킵): userId={}", userId);
+            return;
+        }
+
+        for (Connection connection : connections) {
+            enqueue(connection, null, SseEmitter.event()
+                    .name(eventName)
+                    .data(data));
+        }
+    }
+
+    // 특정 사용자의 모든 연결에 ID가 있는 이벤트 전송 (최근 이벤트 버퍼에도 보관 -> 재연결 시 재전송 가능)
+    // eventId: 사용자별로 증가하는 이벤트 ID (알림은 notification_id 사용)
+    public void sendToUser(Long userId, String eventName, long eventId, Object data) {
+        ReplayEvent event = new ReplayEvent(eventId, eventName, data);
+        backlogs.computeIfAbsent(userId, id -> new Backlog(eventId, backlogSize)).add(event);
+
+        Set<Connection> connections = emitters.get(userId);
+        if (connections == null || connections.isEmpty()) {
+            log.debug("SSE 연결 없음 (알림 전송 스킵): userId={}, eventId={}", userId, eventId);
+            return;
+        }
+
+        for (Connection connection : connections) {
+            enqueue(connection, eventId, event.toSseEvent());
+        }
+    }
+
+    // 특정 사용자의 SSE 연결 모두 제거
+    public void remove(Long userId) {
+        Set<Connection> connections = emitters.remove(userId);
+        if (connections == null) {
+            return;
+        }
+        for (Connection connection : connections) {
+            close(connection, null);
+        }
+        log.info("SSE 연결 제거: userId={}, count={}", userId, connections.size());
+    }
+
+    // 현재 열려 있는 SSE 연결 수 조회
+    public int getConnectionCount() {
+        return connectionCount.get();
+    }
+
+    // 모든 연결에 heartbeat(주석 이벤트) 전송 - 쓰기에 실패한 연결은 전송 스레드에서 정리됨
+    @Scheduled(fixedRate = HEARTBEAT_MILLIS)
+    public void heartbeat() {
+        for (Set<Connection> connections : emitters.values()) {
+            for (Connection connection : connections) {
+                enqueue(connection, null, SseEmitter.event().comment("heartbeat"));
+            }
+        }
+    }
+
+    // 제한 시간을 넘긴 전송은 연결을 끊고 전송 스레드를 깨움, 거절되어 멈춰 있는 연결 큐는 다시 예약
+    @Scheduled(fixedRate = SEND_CHECK_MILLIS)
+    public void checkSends() {
+        long now = System.nanoTime();
+        for (Set<Connection> connections : emitters.values()) {
+            for (Connection connection : connections) {
+                long startedAt = connection.sendStartedAt;
+                if (startedAt != 0 && now - startedAt > sendTimeoutNanos) {
+                    log.warn("SSE 전송 시간 초과로 연결 종료: userId={}, connectionId={}", connection.userId, connection.id);
+                    close(connection, null);
+                } else if (!connection.draining.get() && !connection.queue.isEmpty()) {
+                    scheduleDrain(connection);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+        for (Long userId : new ArrayList<>(emitters.keySet())) {
+            remove(userId);
+        }
+    }
+
+    // lastEventId - replayOverlap 이후 이벤트를 최근 이벤트 버퍼(없으면 fallback)에서 찾아 보내고, 그동안 보류한 실시간 이벤트를 이어서 보냄
+    // (lastEventId보다 늦게 커밋된 작은 ID의 이벤트도 다시 보내도록 겹치는 구간을 둠)
+    private void replay(Connection connection, long lastEventId, Function<Long, List<ReplayEvent>> fallback) {
+        long replayAfter = Math.max(0, lastEventId - replayOverlap);
+        Backlog backlog = backlogs.get(connection.userId);
+        List<ReplayEvent> missed = (backlog == null) ? null : backlog.after(replayAfter);
+        if (missed == null && fallback != null) {
             try {
-                emitter.send(SseEmitter.event()
-                        .name(eventName)
-                        .data(data));
-                log.info("SSE 알림 전송 성공: userId={}, eventName={}, 현재 연결 수={}", userId, eventName, emitters.size());
-            } catch (IOException e) {
-                // 전송 실패 시 연결 제거
-                emitters.remove(userId);
-                emitter.completeWithError(e);
-                log.error("SSE 알림 전송 실패: userId={}, error={}", userId, e.getMessage(), e);
+                missed = fallback.apply(replayAfter);
             } catch (Exception e) {
-                // 예상치 못한 오류
-                emitters.remove(userId);
-                emitter.completeWithError(e);
-                log.error("SSE 알림 전송 중 예상치 못한 오류: userId={}, error={}", userId, e.getMessage(), e);
+                log.warn("SSE 재전송 이벤트 조회 실패: userId={}, lastEventId={}, error={}",
+                        connection.userId, lastEventId, e.getMessage());
+            }
+        }
+        if (missed == null) {
+            missed = List.of();
+        }
+
+        synchronized (connection) {
+            long lastReplayed = lastEventId;
+            for (ReplayEvent event : missed) {
+                offer(connection, event.toSseEvent());
+                lastReplayed = Math.max(lastReplayed, event.id());
             }
+            // 재전송 목록에 이미 포함된 이벤트는 건너뜀
+            for (Pending pending : connection.deferred) {
+                if (pending.eventId() == null || pending.eventId() > lastReplayed) {
+                    offer(connection, pending.event());
+                }
+            }
+            connection.deferred.clear();
+            connection.replaying = false;
+        }
+        log.info("SSE 놓친 이벤트 재전송: userId={}, connectionId={}, lastEventId={}, count={}",
+                connection.userId, connection.id, lastEventId, missed.size());
+    }
+
+    // 재전송 중인 연결이면 보류 목록에, 아니면 전송 큐에 넣음
+    private void enqueue(Connection connection, Long eventId, SseEmitter.SseEventBuilder event) {
+        if (connection.replaying) {
+            synchronized (connection) {
+                if (connection.replaying) {
+                    if (connection.deferred.size() >= queueCapacity) {
+                        log.warn("SSE 재전송 중 보류 이벤트 초과로 연결 종료: userId={}, connectionId={}",
+                                connection.userId, connection.id);
+                        close(connection, null);
+                        return;
+                    }
+                    connection.deferred.add(new Pending(eventId, event));
+                    return;
+                }
+            }
+        }
+        offer(connection, event);
+    }
+
+    // 연결 큐에 이벤트를 넣고, 전송 작업이 돌고 있지 않으면 예약
+    private void offer(Connection connection, SseEmitter.SseEventBuilder event) {
+        if (connection.closed.get()) {
+            return;
+        }
+        if (!connection.queue.offer(event)) {
+            // 클라이언트가 전송 속도를 따라가지 못함 -> 연결을 끊고 재연결하도록 함
+            log.warn("SSE 전송 큐 초과로 연결 종료: userId={}, connectionId={}", connection.userId, connection.id);
+            close(connection, null);
+            return;
+        }
+        scheduleDrain(connection);
+    }
+
+    private void scheduleDrain(Connection connection) {
+        if (!connection.draining.compareAndSet(false, true)) {
+            return; // 이미 전송 작업이 돌고 있음 (그 작업이 큐를 비움)
+        }
+        try {
+            sender.execute(() -> drain(connection));
+        } catch (RejectedExecutionException e) {
+            connection.draining.set(false);
+        }
+    }
+
+    // 전송 스레드에서 연결 큐를 비움 (한 연결에 대해 동시에 하나만 실행 -> 이벤트 순서 보장)
+    private void drain(Connection connection) {
+        try {
+            SseEmitter.SseEventBuilder event;
+            while (!connection.closed.get() && (event = connection.queue.poll()) != null) {
+                connection.beginSend();
+                try {
+                    connection.emitter.send(event);
+                } finally {
+                    connection.endSend();
+                }
+            }
+        } catch (Exception e) {
+            log.warn("SSE 전송 실패로 연결 종료: userId={}, connectionId={}, error={}",
+                    connection.userId, connection.id, e.getMessage());
+            // 전송 중에 닫힌(시간 초과 / 큐 초과) 연결도 응답은 여기서 종료
+            detach(connection);
+            complete(connection, e);
+        } finally {
+            connection.draining.set(false);
+        }
+
+        if (connection.closed.get()) {
+            // 전송 중에 다른 스레드가 닫은 연결은 전송 스레드에서 응답 종료
+            complete(connection, null);
+        } else if (!connection.queue.isEmpty()) {
+            // 작업 종료 직전에 들어온 이벤트가 있으면 다시 예약
+            scheduleDrain(connection);
+        }
+    }
+
+    // 이미 닫힌 연결이 목록에 남아 있어도 반복이 끝나도록 목록에서 먼저 제거한 뒤 종료
+    private void evictOldestIfFull(Set<Connection> connections) {
+        while (connections.size() > maxConnectionsPerUser) {
+            Connection oldest = connections.stream()
+                    .min(Comparator.comparingLong(c -> c.id))
+                    .orElse(null);
+            if (oldest == null) {
+                return;
+            }
+            connections.remove(oldest);
+            close(oldest, null);
+        }
+    }
+
+    // 목록에서 빼고 응답 종료
+    // 전송 중인 연결은 쓰기가 끝나야 응답을 종료할 수 있으므로, 호출한 스레드가 기다리지 않도록 전송 스레드를 깨우고 종료는 맡김
+    private void close(Connection connection, Exception error) {
+        if (!detach(connection)) {
+            return;
+        }
+        if (connection.draining.get()) {
+            connection.interruptSend(connection.sendStartedAt);
         } else {
-            log.warn("SSE 연결 없음 (알림 전송 스킵): userId={}, 현재 연결 수={}, 연결된 사용자={}", 
-                    userId, emitters.size(), emitters.keySet());
+            complete(connection, error);
         }
     }
 
-    // 특정 사용자의 SSE 연결 제거
-    public void remove(Long userId) {
-        SseEmitter emitter = emitters.remove(userId);
-        if (emitter != null) {
-            emitter.complete();
-            log.info("SSE 연결 제거: userId={}", userId);
+    private void complete(Connection connection, Exception error) {
+        connection.queue.clear();
+        try {
+            if (error == null) {
+                connection.emitter.complete();
+            } else {
+                connection.emitter.completeWithError(error);
+            }
+        } catch (Exception ignored) {
+            // 이미 끝난 응답
         }
     }
 
-    // 현재 연결된 사용자 수 조회
-    public int getConnectionCount() {
-        return emitters.size();
+    // 목록에서 연결 제거 (처음 제거한 호출만 true)
+    private boolean detach(Connection connection) {
+        if (!connection.closed.compareAndSet(false, true)) {
+            return false;
+        }
+        connectionCount.decrementAndGet();
+        emitters.computeIfPresent(connection.userId, (id, connections) -> {
+            connections.remove(connection);
+            return connections.isEmpty() ? null : connections;
+        });
+        return true;
     }
-}
 
+    private static ThreadFactory daemonThreadFactory() {
+        AtomicInteger index = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + index.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // SSE 연결 하나 (탭/기기 단위)
+    private static final class Connection {
+
+        private final long id;
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        // 놓친 이벤트 재전송 중 여부와 그동안 보류한 실시간 이벤트 (this로 동기화)
+        private volatile boolean replaying;
+        private final List<Pending> deferred = new ArrayList<>();
+
+        // 진행 중인 전송의 시작 시각(System.nanoTime, 전송 중이 아니면 0)과 전송 스레드 (sendLock으로 동기화)
+        private final Object sendLock = new Object();
+        private volatile long sendStartedAt;
+        private Thread sendingThread;
+
+        Connection(long id, Long userId, SseEmitter emitter, int queueCapacity, boolean replaying) {
+            this.id = id;
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.replaying = replaying;
+        }
+
+        void beginSend() {
+            synchronized (sendLock) {
+                sendingThread = Thread.currentThread();
+                sendStartedAt = System.nanoTime();
+            }
+        }
+
+        // 전송이 끝나면 시간 초과로 받은 인터럽트를 지움 (스레드풀의 다음 작업에 남지 않도록)
+        void endSend() {
+            synchronized (sendLock) {
+                sendingThread = null;
+                sendStartedAt = 0;
+                Thread.interrupted();
+            }
+        }
+
+        // startedAt에 시작한 전송이 아직 진행 중일 때만 전송 스레드를 깨움
+        void interruptSend(long startedAt) {
+            synchronized (sendLock) {
+                if (sendingThread != null && sendStartedAt == startedAt) {
+                    sendingThread.interrupt();
+                }
+            }
+        }
+    }
+
+    // 재전송 중 보류한 이벤트 (ID 없는 이벤트는 eventId = null)
+    private record Pending(Long eventId, SseEmitter.SseEventBuilder event) {
+    }
+
+    // 재전송 가능한 이벤트
+    public record ReplayEvent(long id, String name, Object data) {
+
+        SseEmitter.SseEventBuilder toSseEvent() {
+            return SseEmitter.event()
+                    .id(String.valueOf(id))
+                    .name(name)
+                    .data(data);
+        }
+    }
+
+    // 사용자 한 명의 최근 이벤트 버퍼 (ID 오름차순, 최대 capacity개)
+    private static final class Backlog {
+
+        private final TreeMap<Long, ReplayEvent> events = new TreeMap<>();
+        private final int capacity;
+
+        // 이 ID보다 큰 이벤트는 모두 버퍼에 들어 있음 (버퍼 생성 이전 또는 밀려난 이벤트는 DB에서 조회)
+        private long coveredAfter;
+
+        Backlog(long firstEventId, int capacity) {
+            this.capacity = capacity;
+            this.coveredAfter = firstEventId - 1;
+        }
+
+        synchronized void add(ReplayEvent event) {
+            events.put(event.id(), event);
+            while (events.size() > capacity) {
+                coveredAfter = events.pollFirstEntry().getKey();
+            }
+        }
+
+        // lastEventId 이후 이벤트 (버퍼로 커버되지 않으면 null)
+        synchronized List<ReplayEvent> after(long lastEventId) {
+            if (lastEventId < coveredAfter) {
+                return null;
+            }
+            return new ArrayList<>(events.tailMap(lastEventId, false).values());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package taxi.tago.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.user.SimpSubscription;
+import org.springframework.messaging.simp.user.SimpUser;
+import org.springframework.messaging.simp.user.SimpUserRegistry;
+import org.springframework.stereotype.Component;
+import taxi.tago.dto.TaxiPartyDto;
+import taxi.tago.entity.TaxiParty;
+import taxi.tago.security.StompPrincipal;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+// 택시팟 목록 실시간 변경 발행 - 목록을 다시 조회하지 않도록 변경분(생성/수정/제외)만 순번과 함께 STOMP로 전송
+// 구독자마다 차단 관계 캐시로 걸러서 사용자별 큐로 보냄 (나를 차단한 사람의 택시팟은 클라이언트가 알 수 없으므로 서버에서 필터링)
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaxiPartyFeedPublisher {
+
+    // 클라이언트 구독 경로 "/user/queue/taxi-parties"
+    public static final String DESTINATION = "/queue/taxi-parties";
+    private static final String SUBSCRIPTION = "/user" + DESTINATION;
+
+    private final SimpMessagingTemplate simpMessagingTemplate;
+    private final SimpUserRegistry simpUserRegistry;
+    private final BlockRelationCache blockRelationCache;
+
+    // 마지막으로 발행한 이벤트 순번 (발행 순서와 순번이 어긋나지 않도록 publish에서만 증가)
+    private long sequence = 0;
+
+    // 새 택시팟 등록
+    public void publishCreated(TaxiParty party) {
+        publishAfterCommit(TaxiPartyDto.FeedEventType.CREATED, party.getId(), party.getUser().getId(),
+                TaxiPartyDto.InfoResponse.from(party));
+    }
+
+    // 택시팟 수정 또는 인원 변경
+    public void publishUpdated(TaxiParty party) {
+        publishAfterCommit(TaxiPartyDto.FeedEventType.UPDATED, party.getId(), party.getUser().getId(),
+                TaxiPartyDto.InfoResponse.from(party));
+    }
+
+    // 매칭 종료 또는 삭제
+    public void publishRemoved(Long partyId, Long hostId) {
+        publishAfterCommit(TaxiPartyDto.FeedEventType.REMOVED, partyId, hostId, null);
+    }
+
+    // 현재까지 발행한 이벤트 순번 (스냅샷과 함께 내려줌)
+    public synchronized long currentSequence() {
+        return sequence;
+    }
+
+    // 트랜잭션이 롤백되면 이벤트가 나가지 않도록 커밋 후 발행
+    private void publishAfterCommit(TaxiPartyDto.FeedEventType type, Long partyId, Long hostId,
+                                    TaxiPartyDto.InfoResponse party) {
+        AfterCommit.run(() -> publish(type, partyId, hostId, party));
+    }
+
+    private synchronized void publish(TaxiPartyDto.FeedEventType type, Long partyId, Long hostId,
+                                      TaxiPartyDto.InfoResponse party) {
+        TaxiPartyDto.FeedEvent event = new TaxiPartyDto.FeedEvent(++sequence, type, partyId, hostId, party);
+        // 차단 관계인 구독자에게는 내용 없이 목록에서 빼라는 이벤트만 보냄 (순번 공백으로 불필요한 재동기화가 생기지 않도록)
+        TaxiPartyDto.FeedEvent hidden = new TaxiPartyDto.FeedEvent(event.getSequence(),
+                TaxiPartyDto.FeedEventType.REMOVED, partyId, null, null);
+
+        for (SimpUser user : subscribers()) {
+            Long viewerId = user.getPrincipal() instanceof StompPrincipal principal ? principal.userId() : null;
+            boolean invisible = viewerId != null && blockRelationCache.getInvisibleSet(viewerId).contains(hostId);
+            try {
+                simpMessagingTemplate.convertAndSendToUser(user.getName(), DESTINATION, invisible ? hidden : event);
+            } catch (Exception e) {
+                // 전송 실패해도 순번은 소비됨 -> 클라이언트는 순번 공백을 보고 스냅샷으로 재동기화
+                log.warn("택시팟 목록 변경 이벤트 전송 실패: sequence={}, type={}, partyId={}, user={}, error={}",
+                        event.getSequence(), type, partyId, user.getName(), e.getMessage());
+            }
+        }
+    }
+
+    // 택시팟 목록 변경을 구독 중인 사용자 (한 사용자가 여러 세션으로 구독해도 한 번만 보냄, 세션별 전달은 브로커가 처리)
+    private Set<SimpUser> subscribers() {
+        Set<SimpUser> users = new LinkedHashSet<>();
+        for (SimpSubscription subscription : simpUserRegistry.findSubscriptions(
+                candidate -> SUBSCRIPTION.equals(candidate.getDestination()))) {
+            users.add(subscription.getSession().getUser());
+        }
+        return users;
+    }
+}
@@ -0,0 +1,81 @@
+package taxi.tago.util;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import taxi.tago.repository.NotificationRepository;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 미확인 알림 개수 캐시 - 벨 배지 조회마다 COUNT 쿼리를 날리지 않도록 사용자별 미확인 개수를 메모리에 보관
+// 알림 저장 / 읽음 처리가 커밋되면 해당 사용자의 캐시를 지우고 다음 조회 때 DB에서 다시 셈
+// (증감으로 고치면 커밋 직후 COUNT한 값과 겹쳐서 한 번 더 반영될 수 있으므로 항상 제거)
+@Component
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    // 캐시할 최대 사용자 수
+    private static final int MAX_ENTRIES = 10_000;
+
+    private final NotificationRepository notificationRepository;
+
+    // 사용자 ID별 미확인 알림 개수
+    private final Map<Long, Long> counts = new ConcurrentHashMap<>();
+
+    // 개수가 바뀔 때마다 증가 (DB 조회 도중 변경이 커밋됐으면 조회 결과를 캐시에 넣지 않기 위함)
+    private final AtomicLong modificationCount = new AtomicLong();
+
+    // 미확인 알림 개수 조회 (캐시에 없으면 DB에서 한 번만 셈)
+    public long get(Long receiverId) {
+        Long cached = counts.get(receiverId);
+        if (cached != null) {
+            return cached;
+        }
+
+        long modificationBefore = modificationCount.get();
+        long loaded = notificationRepository.countByReceiverIdAndReadFalse(receiverId);
+
+        evictIfFull();
+        // 같은 사용자의 캐시 제거와 겹치지 않도록 compute 안에서 변경 여부 확인 후 저장
+        counts.compute(receiverId, (id, current) -> {
+            if (current != null) {
+                return current;
+            }
+            return modificationCount.get() == modificationBefore ? loaded : null;
+        });
+        return loaded;
+    }
+
+    // 새 알림 저장됨 (알림을 저장한 트랜잭션의 커밋 후 호출)
+    public void onSaved(Long receiverId) {
+        invalidate(receiverId);
+    }
+
+    // 알림 하나 읽음 처리 (실제로 읽음 상태가 바뀐 경우에만 호출, 커밋 후 반영)
+    public void onRead(Long receiverId) {
+        AfterCommit.run(() -> invalidate(receiverId));
+    }
+
+    // 모든 알림 읽음 처리 (커밋 후 반영)
+    public void onAllRead(Long receiverId) {
+        AfterCommit.run(() -> invalidate(receiverId));
+    }
+
+    private void invalidate(Long receiverId) {
+        modificationCount.incrementAndGet();
+        counts.remove(receiverId);
+    }
+
+    private void evictIfFull() {
+        if (counts.size() < MAX_ENTRIES) {
+            return;
+        }
+        Iterator<Long> iterator = counts.keySet().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package taxi.tago.util;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 유저 위치 쓰기 지연(write-behind) 버퍼 - 유저별 최신 위치만 보관했다가 주기적으로 users 테이블에 JDBC 배치 UPDATE
+// 쓰기 전용 - 위치 조회는 UserPresenceIndex에서 하고, DB 위치는 서버 재시작 시 인덱스를 채울 때만 읽음
+// users.latitude / longitude는 이 버퍼만 씀 (User 엔티티에서는 updatable = false라 오래된 엔티티를 저장해도 덮어쓰지 않음)
+// last_active_at은 로그인 시 UserRepository.touchLastActiveAt도 쓰므로 둘 다 더 최신 값일 때만 갱신
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserLocationWriteBuffer {
+
+    private static final String UPDATE_SQL =
+            "UPDATE users SET latitude = ?, longitude = ?, " +
+            "last_active_at = GREATEST(COALESCE(last_active_at, ?), ?) WHERE user_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 유저 ID별 아직 DB에 반영되지 않은 최신 위치 (같은 유저의 이전 위치는 덮어씀)
+    private final Map<Long, PendingLocation> pending = new ConcurrentHashMap<>();
+
+    // 위치 기록 (DB 쓰기는 flush 시점에 일괄 처리)
+    public void put(Long userId, double latitude, double longitude, LocalDateTime activeAt) {
+        pending.put(userId, new PendingLocation(userId, latitude, longitude, activeAt));
+    }
+
+    // 버퍼에 쌓인 위치를 한 번의 배치 UPDATE로 반영
+    @Scheduled(fixedDelayString = "${map.location.flush-interval-ms:5000}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PendingLocation> batch = new ArrayList<>(pending.values());
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, location) -> {
+                ps.setDouble(1, location.latitude());
+                ps.setDouble(2, location.longitude());
+                Timestamp activeAt = Timestamp.valueOf(location.activeAt());
+                ps.setTimestamp(3, activeAt);
+                ps.setTimestamp(4, activeAt);
+                ps.setLong(5, location.userId());
+            });
+
+            // flush 도중 새 위치가 들어온 유저는 남겨두고, 반영된 값만 제거
+            for (PendingLocation location : batch) {
+                pending.remove(location.userId(), location);
+            }
+            log.debug("유저 위치 배치 반영 완료: count={}, 남은 버퍼={}", batch.size(), pending.size());
+        } catch (Exception e) {
+            // 실패한 위치는 버퍼에 그대로 남아 다음 flush 때 재시도됨
+            log.error("유저 위치 배치 반영 실패: count={}, error={}", batch.size(), e.getMessage(), e);
+        }
+    }
+
+    // 애플리케이션 종료 시 남은 위치 반영
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // 버퍼에 보관 중인 위치 (불변)
+    public record PendingLocation(Long userId, double latitude, double longitude, LocalDateTime activeAt) {
+    }
+}
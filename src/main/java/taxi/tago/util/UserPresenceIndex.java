@@ -0,0 +1,244 @@
+package taxi.tago.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 지도용 실시간 접속 유저 인덱스 - 위/경도 고정 격자(grid)에 유저 위치를 보관하고, 타임 휠로 활동 시간이 지난 유저를 만료시킴
+@Slf4j
+@Component
+public class UserPresenceIndex {
+
+    // 접속 중으로 판단하는 활동 시간 (3분)
+    public static final long ACTIVE_WINDOW_MILLIS = 3 * 60 * 1000L;
+
+    // 격자 한 칸의 크기 (위/경도 0.01도, 약 1km)
+    private static final double CELL_SIZE_DEGREES = 0.01;
+
+    // 타임 휠 한 칸의 시간 (5초) 및 칸 수 (활동 시간 3분 + 여유 2칸, 만료 대상 칸이 항상 3분보다 오래되도록)
+    private static final long TICK_MILLIS = 5 * 1000L;
+    private static final int WHEEL_SIZE = (int) (ACTIVE_WINDOW_MILLIS / TICK_MILLIS) + 2;
+
+    // 지구 반지름 (미터)
+    private static final double EARTH_RADIUS_METERS = 6_371_000.0;
+
+    // 위/경도 범위
+    public static final double MAX_LATITUDE = 90.0;
+    public static final double MAX_LONGITUDE = 180.0;
+
+    // 유저 ID별 최신 위치
+    private final Map<Long, Presence> presences = new ConcurrentHashMap<>();
+
+    // 격자 칸별 유저 ID 집합
+    private final Map<Long, Set<Long>> cells = new ConcurrentHashMap<>();
+
+    // 타임 휠 - 각 칸에는 해당 시간대에 활동한 유저 ID가 들어감
+    private final List<Set<Long>> wheel = new ArrayList<>(WHEEL_SIZE);
+
+    public UserPresenceIndex() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel.add(ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    // 유저 위치 기록 (기존 위치가 있으면 격자 칸 이동)
+    public void update(Long userId, double latitude, double longitude, long activeAtMillis) {
+        long cellKey = cellKey(latitude, longitude);
+        Presence presence = new Presence(userId, latitude, longitude, activeAtMillis, cellKey);
+
+        Presence previous = presences.put(userId, presence);
+        if (previous != null && previous.cellKey() != cellKey) {
+            removeFromCell(previous.cellKey(), userId);
+        }
+        cells.computeIfAbsent(cellKey, key -> ConcurrentHashMap.newKeySet()).add(userId);
+
+        // 활동 시각에 해당하는 타임 휠 칸에 등록 (이전 칸의 항목은 만료 시 활동 시각으로 걸러짐)
+        wheel.get(slotOf(activeAtMillis)).add(userId);
+    }
+
+    // 특정 유저 제거 (회원 탈퇴 등)
+    public void remove(Long userId) {
+        Presence previous = presences.remove(userId);
+        if (previous != null) {
+            removeFromCell(previous.cellKey(), userId);
+        }
+    }
+
+    // 특정 유저의 현재 위치 조회 (만료된 경우 null)
+    public Presence get(Long userId, long nowMillis) {
+        Presence presence = presences.get(userId);
+        return presence != null && presence.isActive(nowMillis) ? presence : null;
+    }
+
+    // 현재 접속 중인 전체 유저 조회
+    public List<Presence> findActive(long nowMillis) {
+        List<Presence> result = new ArrayList<>();
+        for (Presence presence : presences.values()) {
+            if (presence.isActive(nowMillis)) {
+                result.add(presence);
+            }
+        }
+        return result;
+    }
+
+    // 사각형 영역(지도 화면) 안의 접속 중인 유저 조회
+    // 영역은 위도 [-90, 90], 경도 [-180, 180]으로 잘라서 사용 (NaN / 무한대 좌표는 빈 결과)
+    public List<Presence> findActiveInBox(double minLat, double minLon, double maxLat, double maxLon, long nowMillis) {
+        List<Presence> result = new ArrayList<>();
+        minLat = Math.max(minLat, -MAX_LATITUDE);
+        maxLat = Math.min(maxLat, MAX_LATITUDE);
+        minLon = Math.max(minLon, -MAX_LONGITUDE);
+        maxLon = Math.min(maxLon, MAX_LONGITUDE);
+        if (!(minLat <= maxLat) || !(minLon <= maxLon)) {
+            return result;
+        }
+
+        long minRow = toIndex(minLat);
+        long maxRow = toIndex(maxLat);
+        long minCol = toIndex(minLon);
+        long maxCol = toIndex(maxLon);
+
+        // 영역이 넓어 훑을 칸 수가 실제 사용 중인 칸 수보다 많으면 사용 중인 칸만 순회
+        if (boxCells(minRow, maxRow, minCol, maxCol) > cells.size()) {
+            for (Set<Long> userIds : cells.values()) {
+                collectInBox(userIds, minLat, minLon, maxLat, maxLon, nowMillis, result);
+            }
+            return result;
+        }
+
+        for (long row = minRow; row <= maxRow; row++) {
+            for (long col = minCol; col <= maxCol; col++) {
+                Set<Long> userIds = cells.get(cellKey(row, col));
+                if (userIds != null) {
+                    collectInBox(userIds, minLat, minLon, maxLat, maxLon, nowMillis, result);
+                }
+            }
+        }
+        return result;
+    }
+
+    // 영역이 덮는 격자 칸 수 (넘치면 Long.MAX_VALUE -> 사용 중인 칸만 순회)
+    private static long boxCells(long minRow, long maxRow, long minCol, long maxCol) {
+        try {
+            return Math.multiplyExact(
+                    Math.addExact(Math.subtractExact(maxRow, minRow), 1),
+                    Math.addExact(Math.subtractExact(maxCol, minCol), 1));
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private void collectInBox(Set<Long> userIds, double minLat, double minLon, double maxLat, double maxLon,
+                              long nowMillis, List<Presence> result) {
+        for (Long userId : userIds) {
+            Presence presence = presences.get(userId);
+            if (presence != null
+                    && presence.isActive(nowMillis)
+                    && presence.latitude() >= minLat && presence.latitude() <= maxLat
+                    && presence.longitude() >= minLon && presence.longitude() <= maxLon) {
+                result.add(presence);
+            }
+        }
+    }
+
+    // 중심 좌표로부터 반경(미터) 안의 접속 중인 유저 조회
+    public List<Presence> findActiveWithin(double latitude, double longitude, double radiusMeters, long nowMillis) {
+        double latDelta = Math.toDegrees(radiusMeters / EARTH_RADIUS_METERS);
+        double lonDelta = latDelta / Math.max(Math.cos(Math.toRadians(latitude)), 1e-6);
+
+        List<Presence> candidates = findActiveInBox(
+                latitude - latDelta, longitude - lonDelta,
+                latitude + latDelta, longitude + lonDelta,
+                nowMillis);
+
+        List<Presence> result = new ArrayList<>(candidates.size());
+        for (Presence presence : candidates) {
+            if (distanceMeters(latitude, longitude, presence.latitude(), presence.longitude()) <= radiusMeters) {
+                result.add(presence);
+            }
+        }
+        return result;
+    }
+
+    // 타임 휠 한 칸 진행 - 가장 오래된 칸에 있던 유저 중 이후 활동이 없는 유저만 제거
+    @Scheduled(fixedRate = TICK_MILLIS)
+    public void expire() {
+        long now = System.currentTimeMillis();
+
+        // 다음 틱에 재사용될 칸 = 활동 시간이 이미 지난 칸
+        Set<Long> expiredSlot = wheel.get(slotOf(now + TICK_MILLIS));
+        int removed = 0;
+
+        for (Long userId : expiredSlot) {
+            expiredSlot.remove(userId);
+            Presence presence = presences.get(userId);
+            if (presence == null) {
+                continue;
+            }
+            if (presence.isActive(now)) {
+                // 스케줄 지연 등으로 아직 활동 중이면 활동 시각의 칸으로 다시 등록
+                wheel.get(slotOf(presence.activeAtMillis())).add(userId);
+            } else if (presences.remove(userId, presence)) {
+                removeFromCell(presence.cellKey(), userId);
+                removed++;
+            }
+        }
+
+        if (removed > 0) {
+            log.debug("접속 유저 인덱스 만료 처리: removed={}, 현재 접속 유저 수={}", removed, presences.size());
+        }
+    }
+
+    // 인덱스에 등록된 유저 수
+    public int size() {
+        return presences.size();
+    }
+
+    private void removeFromCell(long cellKey, Long userId) {
+        cells.computeIfPresent(cellKey, (key, userIds) -> {
+            userIds.remove(userId);
+            return userIds.isEmpty() ? null : userIds;
+        });
+    }
+
+    private int slotOf(long millis) {
+        return (int) ((millis / TICK_MILLIS) % WHEEL_SIZE);
+    }
+
+    private static long toIndex(double degrees) {
+        return (long) Math.floor(degrees / CELL_SIZE_DEGREES);
+    }
+
+    private static long cellKey(double latitude, double longitude) {
+        return cellKey(toIndex(latitude), toIndex(longitude));
+    }
+
+    // 격자 행/열을 하나의 long 키로 합침 (위도 행은 상위 32비트, 경도 열은 하위 32비트)
+    private static long cellKey(long row, long col) {
+        return (row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    // 두 좌표 사이의 거리 (하버사인 공식, 미터)
+    private static double distanceMeters(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2))
+                * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * EARTH_RADIUS_METERS * Math.atan2(Math.sqrt(a), Math.sqrt(1 - a));
+    }
+
+    // 유저 위치 스냅샷 (불변)
+    public record Presence(Long userId, double latitude, double longitude, long activeAtMillis, long cellKey) {
+
+        public boolean isActive(long nowMillis) {
+            return nowMillis - activeAtMillis < ACTIVE_WINDOW_MILLIS;
+        }
+    }
+}
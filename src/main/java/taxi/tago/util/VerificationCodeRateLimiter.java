@@ -0,0 +1,216 @@
+package taxi.tago.util;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 인증 코드 발송 요청 제한기 - 이메일별 / 클라이언트 IP별 토큰 버킷으로 메일 폭탄, 코드 발송 남용을 막음
+// 버킷마다 "다음 토큰이 비는 시각"(GCRA) 하나만 AtomicLong으로 두고 CAS로 갱신하므로 락 없이 동작
+// (버킷 용량 = burst, 토큰 충전 주기 = refill, 최근 burst x refill 구간 안의 요청 수를 세는 슬라이딩 윈도우와 같은 효과)
+@Slf4j
+@Component
+public class VerificationCodeRateLimiter {
+
+    // 오래 쓰지 않은 버킷 정리 주기
+    private static final long CLEANUP_MILLIS = 60_000L;
+
+    private final Bucket.Limit emailLimit;
+    private final Bucket.Limit ipLimit;
+    private final int maxKeys;
+    private final boolean trustForwardedFor;
+
+    // 이메일 / IP별 버킷
+    private final Map<String, Bucket> emailBuckets = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> ipBuckets = new ConcurrentHashMap<>();
+
+    // 제한 통계
+    private final AtomicLong admitted = new AtomicLong();        // 허용된 요청 수
+    private final AtomicLong rejectedByEmail = new AtomicLong(); // 이메일 제한으로 거부된 요청 수
+    private final AtomicLong rejectedByIp = new AtomicLong();    // IP 제한으로 거부된 요청 수
+    private final AtomicLong refunded = new AtomicLong();        // 토큰을 돌려준 요청 수
+
+    public VerificationCodeRateLimiter(
+            @Value("${rate-limit.verification-code.email.burst:3}") int emailBurst,
+            @Value("${rate-limit.verification-code.email.refill-seconds:60}") long emailRefillSeconds,
+            @Value("${rate-limit.verification-code.ip.burst:20}") int ipBurst,
+            @Value("${rate-limit.verification-code.ip.refill-seconds:10}") long ipRefillSeconds,
+            @Value("${rate-limit.verification-code.max-keys:100000}") int maxKeys,
+            @Value("${rate-limit.trust-forwarded-for:false}") boolean trustForwardedFor) {
+        this.emailLimit = new Bucket.Limit(emailBurst, Duration.ofSeconds(emailRefillSeconds).toNanos());
+        this.ipLimit = new Bucket.Limit(ipBurst, Duration.ofSeconds(ipRefillSeconds).toNanos());
+        this.maxKeys = maxKeys;
+        this.trustForwardedFor = trustForwardedFor;
+    }
+
+    // 인증 코드 발송 요청 허용 여부 (IP를 먼저 확인하고, 이메일에서 거부되면 IP 토큰은 돌려줌)
+    public Decision tryAcquire(String email, HttpServletRequest request) {
+        long now = System.nanoTime();
+        String clientIp = clientIp(request);
+
+        Bucket ipBucket = bucket(ipBuckets, clientIp, now);
+        long ipWait = ipBucket.tryAcquire(ipLimit, now);
+        if (ipWait > 0) {
+            rejectedByIp.incrementAndGet();
+            log.warn("인증 코드 발송 제한 (IP): ip={}, retryAfter={}s", clientIp, toSeconds(ipWait));
+            return Decision.rejected(toSeconds(ipWait));
+        }
+
+        // 이메일이 비어 있으면 IP 제한만 적용 (입력값 검증은 이후 단계에서 처리)
+        if (email == null || email.isBlank()) {
+            admitted.incrementAndGet();
+            return Decision.ALLOWED;
+        }
+
+        String emailKey = email.trim().toLowerCase(Locale.ROOT);
+        long emailWait = bucket(emailBuckets, emailKey, now).tryAcquire(emailLimit, now);
+        if (emailWait > 0) {
+            ipBucket.refund(ipLimit);
+            rejectedByEmail.incrementAndGet();
+            log.warn("인증 코드 발송 제한 (이메일): email={}, retryAfter={}s", emailKey, toSeconds(emailWait));
+            return Decision.rejected(toSeconds(emailWait));
+        }
+
+        admitted.incrementAndGet();
+        return Decision.ALLOWED;
+    }
+
+    // 허용된 요청이 메일을 보내지 못했을 때(발송함 초과 등) 사용한 토큰을 돌려줌 (tryAcquire와 같은 이메일 / 요청으로 호출)
+    public void refund(String email, HttpServletRequest request) {
+        refund(ipBuckets, clientIp(request), ipLimit);
+        if (email != null && !email.isBlank()) {
+            refund(emailBuckets, email.trim().toLowerCase(Locale.ROOT), emailLimit);
+        }
+        refunded.incrementAndGet();
+    }
+
+    // 제한 통계 조회
+    public Stats getStats() {
+        return new Stats(admitted.get(), rejectedByEmail.get(), rejectedByIp.get(), refunded.get(),
+                emailBuckets.size(), ipBuckets.size());
+    }
+
+    // 토큰이 다 찬 버킷은 새로 만든 버킷과 같으므로 제거
+    @Scheduled(fixedRate = CLEANUP_MILLIS)
+    public void cleanup() {
+        long now = System.nanoTime();
+        emailBuckets.values().removeIf(bucket -> bucket.isFull(now));
+        ipBuckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private Bucket bucket(Map<String, Bucket> buckets, String key, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        evictIfFull(buckets);
+        return buckets.computeIfAbsent(key, k -> new Bucket(now));
+    }
+
+    // 버킷이 그 사이 정리됐으면(가득 찬 상태) 돌려줄 토큰이 없음
+    private static void refund(Map<String, Bucket> buckets, String key, Bucket.Limit limit) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            bucket.refund(limit);
+        }
+    }
+
+    private void evictIfFull(Map<String, Bucket> buckets) {
+        if (buckets.size() < maxKeys) {
+            return;
+        }
+        Iterator<Bucket> iterator = buckets.values().iterator();
+        if (iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    // 프록시 뒤에서 실행할 때만 X-Forwarded-For의 첫 번째 주소 사용 (그 외에는 클라이언트가 위조할 수 있음)
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwardedFor = request.getHeader("X-Forwarded-For");
+            if (forwardedFor != null && !forwardedFor.isBlank()) {
+                int comma = forwardedFor.indexOf(',');
+                return (comma >= 0 ? forwardedFor.substring(0, comma) : forwardedFor).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @PreDestroy
+    public void stop() {
+        log.info("인증 코드 발송 제한 통계: {}", getStats());
+    }
+
+    // 토큰 버킷 (GCRA) - tat: 버킷이 다시 가득 차는 시각 (System.nanoTime 기준)
+    // 요청 1건마다 tat를 refill만큼 뒤로 미루고, tat가 지금부터 burst x refill보다 멀어지면 거부
+    private static final class Bucket {
+
+        private final AtomicLong tat;
+
+        private Bucket(long now) {
+            this.tat = new AtomicLong(now);
+        }
+
+        // 토큰 하나 사용 (성공하면 0, 실패하면 다음 토큰까지 남은 시간(ns))
+        private long tryAcquire(Limit limit, long now) {
+            while (true) {
+                long current = tat.get();
+                long next = Math.max(current, now) + limit.refillNanos();
+                long wait = next - now - limit.capacityNanos();
+                if (wait > 0) {
+                    return wait;
+                }
+                if (tat.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        // 사용한 토큰 하나 반환
+        private void refund(Limit limit) {
+            tat.addAndGet(-limit.refillNanos());
+        }
+
+        private boolean isFull(long now) {
+            return tat.get() - now <= 0;
+        }
+
+        // 버킷 설정 (capacityNanos: 버킷이 빈 상태에서 가득 찰 때까지 걸리는 시간)
+        private record Limit(int burst, long refillNanos) {
+            private long capacityNanos() {
+                return burst * refillNanos;
+            }
+        }
+    }
+
+    // 허용 여부 (retryAfterSeconds: 거부된 경우 다시 요청할 수 있을 때까지 남은 초)
+    public record Decision(boolean allowed, long retryAfterSeconds) {
+
+        private static final Decision ALLOWED = new Decision(true, 0);
+
+        private static Decision rejected(long retryAfterSeconds) {
+            return new Decision(false, retryAfterSeconds);
+        }
+    }
+
+    // 제한 통계 (emailKeys / ipKeys: 현재 추적 중인 이메일 / IP 수)
+    public record Stats(long admitted, long rejectedByEmail, long rejectedByIp, long refunded,
+                        int emailKeys, int ipKeys) {
+    }
+}
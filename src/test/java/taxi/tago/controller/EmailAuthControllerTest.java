@@ -0,0 +1,91 @@
+package taxi.tago.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import taxi.tago.exception.MailQueueFullException;
+import taxi.tago.service.EmailAuthService;
+import taxi.tago.service.LibraryCardAuthService;
+import taxi.tago.service.User.UserService;
+import taxi.tago.util.VerificationCodeRateLimiter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class EmailAuthControllerTest {
+
+    private EmailAuthService emailAuthService;
+    private VerificationCodeRateLimiter rateLimiter;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        emailAuthService = mock(EmailAuthService.class);
+        rateLimiter = new VerificationCodeRateLimiter(3, 60, 20, 10, 1000, false);
+        EmailAuthController controller = new EmailAuthController(emailAuthService,
+                mock(UserService.class), mock(LibraryCardAuthService.class), rateLimiter);
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void 발송함이_가득_차면_503과_Retry_After() throws Exception {
+        when(emailAuthService.sendAuthCode("user@swu.ac.kr")).thenThrow(new MailQueueFullException(7));
+
+        mockMvc.perform(post("/api/auth/email/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"user@swu.ac.kr\"}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "7"))
+                .andExpect(jsonPath("$.success").value(false))
+                .andExpect(jsonPath("$.email").value("user@swu.ac.kr"));
+        assertThat(rateLimiter.getStats().refunded()).isEqualTo(1);
+    }
+
+    @Test
+    void 발송함이_가득_차서_실패한_요청은_발송_제한에_포함되지_않음() throws Exception {
+        when(emailAuthService.sendAuthCode("user@swu.ac.kr")).thenThrow(new MailQueueFullException(1));
+
+        // 이메일 burst(3)보다 많이 실패해도 429가 아니라 계속 503
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/auth/email/send")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"user@swu.ac.kr\"}"))
+                    .andExpect(status().isServiceUnavailable());
+        }
+    }
+
+    @Test
+    void 서울여대_웹메일이_아니면_발송_제한_토큰을_쓰지_않고_400() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(post("/api/auth/email/send")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"email\":\"user@gmail.com\"}"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value(EmailAuthService.SWU_EMAIL_REQUIRED_MESSAGE));
+        }
+
+        assertThat(rateLimiter.getStats().admitted()).isZero();
+        verifyNoInteractions(emailAuthService);
+    }
+
+    @Test
+    void 발송함에_넣으면_요청_ID와_함께_200() throws Exception {
+        when(emailAuthService.sendAuthCode("user@swu.ac.kr")).thenReturn("request-1");
+
+        mockMvc.perform(post("/api/auth/email/send")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"user@swu.ac.kr\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.success").value(true))
+                .andExpect(jsonPath("$.requestId").value("request-1"));
+    }
+}
@@ -0,0 +1,165 @@
+package taxi.tago.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.client.RestTemplate;
+import taxi.tago.service.LibraryCardAuthService;
+import taxi.tago.service.LibraryCardAuthService.LibraryCardAuthResult;
+import taxi.tago.service.LibraryCardOcrJobService;
+import taxi.tago.service.NaverOcrService;
+import taxi.tago.service.NaverOcrService.OcrResult;
+
+import java.util.Base64;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.jsonPath;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class LibraryCardAuthControllerTest {
+
+    private static final String OCR_URL = "https://ocr.test/general";
+    private static final String EMAIL = "user@swu.ac.kr";
+    private static final byte[] IMAGE = {(byte) 0x89, 'P', 'N', 'G', 1, 2, 3, 4};
+
+    private static final String OCR_RESPONSE = """
+            {"version":"V2","requestId":"r","timestamp":0,
+             "images":[{"uid":"u","name":"library_card","inferResult":"SUCCESS",
+               "fields":[{"inferText":"이름: 김슈니","inferConfidence":0.99},
+                         {"inferText":"학번: 2021111222","inferConfidence":0.98}]}]}
+            """;
+
+    private MockRestServiceServer ocrServer;
+    private LibraryCardAuthService libraryCardAuthService;
+    private LibraryCardOcrJobService jobService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        RestTemplate restTemplate = new RestTemplate();
+        ocrServer = MockRestServiceServer.bindTo(restTemplate).build();
+        NaverOcrService ocrService = new NaverOcrService(restTemplate);
+        ReflectionTestUtils.setField(ocrService, "apiKey", "test-key");
+        ReflectionTestUtils.setField(ocrService, "ocrUrl", OCR_URL);
+
+        libraryCardAuthService = mock(LibraryCardAuthService.class);
+        jobService = new LibraryCardOcrJobService(ocrService, libraryCardAuthService, 1, 10, 100, 10);
+        mockMvc = MockMvcBuilders.standaloneSetup(
+                new LibraryCardAuthController(libraryCardAuthService, jobService)).build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        jobService.stop();
+    }
+
+    @Test
+    void 업로드하면_202_후_조회하면_SUCCEEDED() throws Exception {
+        ocrServer.expect(requestTo(OCR_URL))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(header("X-OCR-SECRET", "test-key"))
+                .andExpect(jsonPath("$.images[0].data").value(Base64.getEncoder().encodeToString(IMAGE)))
+                .andRespond(withSuccess(OCR_RESPONSE, MediaType.APPLICATION_JSON));
+        when(libraryCardAuthService.completeRegistrationWithOcrResult(eq(EMAIL), any(OcrResult.class)))
+                .thenAnswer(invocation -> {
+                    OcrResult ocrResult = invocation.getArgument(1);
+                    return LibraryCardAuthResult.success("회원가입이 완료되었습니다.",
+                            ocrResult.getName(), ocrResult.getStudentId());
+                });
+
+        String jobId = upload();
+        String body = pollUntilFinished(jobId);
+
+        assertThat((String) JsonPath.read(body, "$.status")).isEqualTo("SUCCEEDED");
+        assertThat((Boolean) JsonPath.read(body, "$.success")).isTrue();
+        assertThat((String) JsonPath.read(body, "$.extractedName")).isEqualTo("김슈니");
+        assertThat((String) JsonPath.read(body, "$.extractedStudentId")).isEqualTo("2021111222");
+        ocrServer.verify();
+    }
+
+    @Test
+    void OCR_API가_실패하면_FAILED() throws Exception {
+        ocrServer.expect(requestTo(OCR_URL)).andRespond(withServerError());
+
+        String jobId = upload();
+        String body = pollUntilFinished(jobId);
+
+        assertThat((String) JsonPath.read(body, "$.status")).isEqualTo("FAILED");
+        assertThat((Boolean) JsonPath.read(body, "$.success")).isFalse();
+        ocrServer.verify();
+    }
+
+    @Test
+    void 진행_중에_다시_업로드하면_409와_진행_중인_작업_ID() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ocrServer.expect(requestTo(OCR_URL)).andRespond(withSuccess(OCR_RESPONSE, MediaType.APPLICATION_JSON));
+        when(libraryCardAuthService.completeRegistrationWithOcrResult(eq(EMAIL), any(OcrResult.class)))
+                .thenAnswer(invocation -> {
+                    release.await(5, TimeUnit.SECONDS);
+                    return LibraryCardAuthResult.failure("학번을 인식하지 못했습니다.");
+                });
+
+        String jobId = upload();
+        String conflict = mockMvc.perform(multipart("/api/auth/library-card/upload")
+                        .file(image())
+                        .param("email", EMAIL))
+                .andExpect(status().isConflict())
+                .andReturn().getResponse().getContentAsString();
+        release.countDown();
+
+        assertThat((String) JsonPath.read(conflict, "$.jobId")).isEqualTo(jobId);
+        assertThat((String) JsonPath.read(pollUntilFinished(jobId), "$.status")).isEqualTo("FAILED");
+    }
+
+    private String upload() throws Exception {
+        var response = mockMvc.perform(multipart("/api/auth/library-card/upload")
+                        .file(image())
+                        .param("email", EMAIL))
+                .andExpect(status().isAccepted())
+                .andReturn().getResponse();
+        String jobId = JsonPath.read(response.getContentAsString(), "$.jobId");
+        assertThat(response.getHeader(HttpHeaders.LOCATION)).isEqualTo("/api/auth/library-card/jobs/" + jobId);
+        return jobId;
+    }
+
+    private String pollUntilFinished(String jobId) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            String body = mockMvc.perform(get("/api/auth/library-card/jobs/" + jobId).param("email", EMAIL))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            String status = JsonPath.read(body, "$.status");
+            if (status.equals("SUCCEEDED") || status.equals("FAILED")) {
+                return body;
+            }
+            Thread.sleep(20);
+        }
+        throw new AssertionError("도서관 인증 작업이 끝나지 않음: jobId=" + jobId);
+    }
+
+    private static MockMultipartFile image() {
+        return new MockMultipartFile("image", "card.png", MediaType.IMAGE_PNG_VALUE, IMAGE);
+    }
+}
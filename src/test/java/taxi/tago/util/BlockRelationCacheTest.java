@@ -0,0 +1,107 @@
+package taxi.tago.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import taxi.tago.repository.BlockRepository;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class BlockRelationCacheTest {
+
+    private final BlockRepository blockRepository = mock(BlockRepository.class);
+    private final BlockRelationCache cache = new BlockRelationCache(blockRepository);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void 한_번_조회한_집합은_캐시에서_반환() {
+        when(blockRepository.findInvisibleUserIds(1L)).thenReturn(List.of(3L, 2L, 3L));
+
+        BlockRelationCache.InvisibleSet first = cache.getInvisibleSet(1L);
+        BlockRelationCache.InvisibleSet second = cache.getInvisibleSet(1L);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.size()).isEqualTo(2);
+        assertThat(first.contains(2L)).isTrue();
+        assertThat(first.contains(4L)).isFalse();
+        verify(blockRepository, times(1)).findInvisibleUserIds(1L);
+    }
+
+    @Test
+    void 차단은_커밋된_뒤에_양쪽_집합에_반영() {
+        when(blockRepository.findInvisibleUserIds(1L)).thenReturn(List.of());
+        when(blockRepository.findInvisibleUserIds(2L)).thenReturn(List.of());
+        cache.getInvisibleSet(1L);
+        cache.getInvisibleSet(2L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onBlocked(1L, 2L);
+
+        // 커밋 전에는 그대로
+        assertThat(cache.getInvisibleSet(1L).contains(2L)).isFalse();
+
+        commit();
+
+        assertThat(cache.getInvisibleSet(1L).contains(2L)).isTrue();
+        assertThat(cache.getInvisibleSet(2L).contains(1L)).isTrue();
+        verify(blockRepository, times(1)).findInvisibleUserIds(1L);
+    }
+
+    @Test
+    void 롤백된_차단은_반영되지_않음() {
+        when(blockRepository.findInvisibleUserIds(1L)).thenReturn(List.of());
+        cache.getInvisibleSet(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onBlocked(1L, 2L);
+        TransactionSynchronizationManager.clearSynchronization(); // afterCommit 없이 종료 (롤백)
+
+        assertThat(cache.getInvisibleSet(1L).contains(2L)).isFalse();
+    }
+
+    @Test
+    void 반대_방향_차단이_남아_있으면_해제해도_집합_유지() {
+        when(blockRepository.findInvisibleUserIds(1L)).thenReturn(List.of(2L));
+        cache.getInvisibleSet(1L);
+
+        cache.onUnblocked(1L, 2L, true);
+        assertThat(cache.getInvisibleSet(1L).contains(2L)).isTrue();
+
+        cache.onUnblocked(1L, 2L, false);
+        assertThat(cache.getInvisibleSet(1L).contains(2L)).isFalse();
+    }
+
+    @Test
+    void 조회_도중_차단이_커밋되면_조회_결과를_캐시에_넣지_않음() {
+        when(blockRepository.findInvisibleUserIds(1L))
+                .thenAnswer(invocation -> {
+                    // DB 조회와 결과 저장 사이에 다른 요청의 차단이 커밋됨 (트랜잭션 밖이라 바로 실행)
+                    cache.onBlocked(1L, 2L);
+                    return List.of();
+                })
+                .thenReturn(List.of(2L));
+
+        assertThat(cache.getInvisibleSet(1L).contains(2L)).isFalse();
+        assertThat(cache.getInvisibleSet(1L).contains(2L)).isTrue();
+        verify(blockRepository, times(2)).findInvisibleUserIds(1L);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
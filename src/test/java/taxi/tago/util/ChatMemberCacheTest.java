@@ -0,0 +1,156 @@
+package taxi.tago.util;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import taxi.tago.constant.ParticipationStatus;
+import taxi.tago.entity.ChatRoom;
+import taxi.tago.entity.TaxiParty;
+import taxi.tago.repository.ChatRoomRepository;
+import taxi.tago.repository.TaxiPartyRepository;
+import taxi.tago.repository.TaxiUserRepository;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ChatMemberCacheTest {
+
+    private static final Long PARTY_ID = 10L;
+    private static final Long ROOM_ID = 20L;
+    private static final Long HOST_ID = 1L;
+
+    private final ChatRoomRepository chatRoomRepository = mock(ChatRoomRepository.class);
+    private final TaxiPartyRepository taxiPartyRepository = mock(TaxiPartyRepository.class);
+    private final TaxiUserRepository taxiUserRepository = mock(TaxiUserRepository.class);
+    private final ChatMemberCache cache = new ChatMemberCache(chatRoomRepository, taxiPartyRepository, taxiUserRepository);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void 참여자_집합은_한_번만_조회() {
+        when(taxiPartyRepository.findHostIdById(PARTY_ID)).thenReturn(Optional.of(HOST_ID));
+        when(taxiUserRepository.findUserIdsByTaxiPartyIdAndStatus(PARTY_ID, ParticipationStatus.ACCEPTED))
+                .thenReturn(List.of(3L, 2L));
+
+        ChatMemberCache.Members members = cache.getMembers(PARTY_ID);
+
+        assertThat(cache.getMembers(PARTY_ID)).isSameAs(members);
+        assertThat(members.isHost(HOST_ID)).isTrue();
+        assertThat(members.contains(HOST_ID)).isTrue();
+        assertThat(members.contains(2L)).isTrue();
+        assertThat(members.contains(4L)).isFalse();
+        verify(taxiPartyRepository, times(1)).findHostIdById(PARTY_ID);
+    }
+
+    @Test
+    void 없는_택시팟은_캐시하지_않음() {
+        when(taxiPartyRepository.findHostIdById(PARTY_ID)).thenReturn(Optional.empty());
+
+        assertThat(cache.getMembers(PARTY_ID)).isNull();
+        assertThat(cache.getMembers(PARTY_ID)).isNull();
+        verify(taxiPartyRepository, times(2)).findHostIdById(PARTY_ID);
+    }
+
+    @Test
+    void 참여자_변경은_커밋된_뒤에_캐시를_무효화() {
+        when(taxiPartyRepository.findHostIdById(PARTY_ID)).thenReturn(Optional.of(HOST_ID));
+        when(taxiUserRepository.findUserIdsByTaxiPartyIdAndStatus(PARTY_ID, ParticipationStatus.ACCEPTED))
+                .thenReturn(List.of(), List.of(2L));
+        cache.getMembers(PARTY_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onMembersChanged(PARTY_ID);
+
+        // 커밋 전에는 이전 집합 유지
+        assertThat(cache.getMembers(PARTY_ID).contains(2L)).isFalse();
+
+        commit();
+
+        assertThat(cache.getMembers(PARTY_ID).contains(2L)).isTrue();
+        verify(taxiPartyRepository, times(2)).findHostIdById(PARTY_ID);
+    }
+
+    @Test
+    void 롤백된_변경은_캐시를_무효화하지_않음() {
+        when(taxiPartyRepository.findHostIdById(PARTY_ID)).thenReturn(Optional.of(HOST_ID));
+        when(taxiUserRepository.findUserIdsByTaxiPartyIdAndStatus(PARTY_ID, ParticipationStatus.ACCEPTED))
+                .thenReturn(List.of());
+        cache.getMembers(PARTY_ID);
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onMembersChanged(PARTY_ID);
+        TransactionSynchronizationManager.clearSynchronization(); // afterCommit 없이 종료 (롤백)
+
+        cache.getMembers(PARTY_ID);
+        verify(taxiPartyRepository, times(1)).findHostIdById(PARTY_ID);
+    }
+
+    @Test
+    void 채팅방_종료는_커밋된_뒤에_채팅방과_참여자_캐시를_무효화() {
+        ChatRoom openRoom = room(false);
+        ChatRoom closedRoom = room(true);
+        when(chatRoomRepository.findById(ROOM_ID)).thenReturn(Optional.of(openRoom), Optional.of(closedRoom));
+        when(taxiPartyRepository.findHostIdById(PARTY_ID)).thenReturn(Optional.of(HOST_ID));
+        when(taxiUserRepository.findUserIdsByTaxiPartyIdAndStatus(PARTY_ID, ParticipationStatus.ACCEPTED))
+                .thenReturn(List.of());
+
+        ChatMemberCache.RoomRef before = cache.getRoom(ROOM_ID);
+        cache.getMembers(PARTY_ID);
+        assertThat(before.taxiPartyId()).isEqualTo(PARTY_ID);
+        assertThat(before.closed()).isFalse();
+
+        TransactionSynchronizationManager.initSynchronization();
+        cache.onRoomClosed(ROOM_ID, PARTY_ID);
+        assertThat(cache.getRoom(ROOM_ID).closed()).isFalse();
+
+        commit();
+
+        assertThat(cache.getRoom(ROOM_ID).closed()).isTrue();
+        cache.getMembers(PARTY_ID);
+        verify(chatRoomRepository, times(2)).findById(ROOM_ID);
+        verify(taxiPartyRepository, times(2)).findHostIdById(PARTY_ID);
+    }
+
+    @Test
+    void 조회_도중_무효화되면_조회_결과를_캐시에_넣지_않음() {
+        when(taxiPartyRepository.findHostIdById(PARTY_ID)).thenReturn(Optional.of(HOST_ID));
+        when(taxiUserRepository.findUserIdsByTaxiPartyIdAndStatus(PARTY_ID, ParticipationStatus.ACCEPTED))
+                .thenAnswer(invocation -> {
+                    // DB 조회와 결과 저장 사이에 다른 요청의 강퇴가 커밋됨 (트랜잭션 밖이라 바로 실행)
+                    cache.onMembersChanged(PARTY_ID);
+                    return List.of(2L);
+                })
+                .thenReturn(List.of());
+
+        assertThat(cache.getMembers(PARTY_ID).contains(2L)).isTrue();
+        assertThat(cache.getMembers(PARTY_ID).contains(2L)).isFalse();
+        verify(taxiPartyRepository, times(2)).findHostIdById(PARTY_ID);
+    }
+
+    private static ChatRoom room(boolean closed) {
+        TaxiParty party = mock(TaxiParty.class);
+        when(party.getId()).thenReturn(PARTY_ID);
+        ChatRoom room = mock(ChatRoom.class);
+        when(room.getTaxiParty()).thenReturn(party);
+        when(room.isClosed()).thenReturn(closed);
+        return room;
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+}
@@ -0,0 +1,82 @@
+package taxi.tago.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryAuthCodeStoreTest {
+
+    // 타임 휠 한 칸의 시간과 같은 값 (expire()가 방금 지난 칸을 처리하도록 만료 시각을 맞춤)
+    private static final Duration ONE_TICK_AGO = Duration.ofMillis(-1_000);
+
+    private final InMemoryAuthCodeStore store = new InMemoryAuthCodeStore(3);
+
+    @Test
+    void 저장한_값을_조회하고_제거() {
+        store.put("signup-code", "user@swu.ac.kr", "123456", Duration.ofMinutes(5));
+
+        assertThat(store.get("signup-code", "user@swu.ac.kr")).isEqualTo("123456");
+        assertThat(store.get("reset-code", "user@swu.ac.kr")).isNull();
+        assertThat(store.remove("signup-code", "user@swu.ac.kr")).isEqualTo("123456");
+        assertThat(store.get("signup-code", "user@swu.ac.kr")).isNull();
+    }
+
+    @Test
+    void 만료된_값은_타임_휠_처리_전에도_조회되지_않음() {
+        store.put("signup-code", "user@swu.ac.kr", "123456", Duration.ZERO);
+
+        assertThat(store.get("signup-code", "user@swu.ac.kr")).isNull();
+        assertThat(store.remove("signup-code", "user@swu.ac.kr")).isNull();
+    }
+
+    @Test
+    void 타임_휠이_만료된_값을_제거() {
+        expireUntilEmpty(() -> store.put("signup-code", "user@swu.ac.kr", "123456", ONE_TICK_AGO));
+
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void 덮어쓴_값은_이전_칸이_만료돼도_남음() {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            store.put("signup-code", "user@swu.ac.kr", "111111", ONE_TICK_AGO);
+            store.put("signup-code", "user@swu.ac.kr", "222222", Duration.ofMinutes(5));
+            store.expire();
+        }
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.get("signup-code", "user@swu.ac.kr")).isEqualTo("222222");
+    }
+
+    @Test
+    void 최대_개수를_넘으면_새_키는_저장하지_않음() {
+        store.put("signup-code", "a@swu.ac.kr", "1", Duration.ofMinutes(5));
+        store.put("signup-code", "b@swu.ac.kr", "2", Duration.ofMinutes(5));
+        store.put("signup-code", "c@swu.ac.kr", "3", Duration.ofMinutes(5));
+
+        assertThatThrownBy(() -> store.put("signup-code", "d@swu.ac.kr", "4", Duration.ofMinutes(5)))
+                .isInstanceOf(IllegalStateException.class);
+
+        // 이미 있는 키는 덮어쓸 수 있고, 제거하면 다시 저장 가능
+        store.put("signup-code", "a@swu.ac.kr", "5", Duration.ofMinutes(5));
+        assertThat(store.get("signup-code", "a@swu.ac.kr")).isEqualTo("5");
+        store.remove("signup-code", "b@swu.ac.kr");
+        store.put("signup-code", "d@swu.ac.kr", "4", Duration.ofMinutes(5));
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    // 저장 후 바로 expire() 실행 (그 사이 타임 휠 칸 경계를 넘으면 다른 칸을 처리하므로 다시 시도)
+    private void expireUntilEmpty(Runnable put) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            put.run();
+            store.expire();
+            if (store.size() == 0) {
+                return;
+            }
+        }
+        throw new AssertionError("타임 휠 만료 처리 후에도 값이 남음: size=" + store.size());
+    }
+}
@@ -0,0 +1,164 @@
+package taxi.tago.util;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import taxi.tago.exception.MailQueueFullException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MailOutboxTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private MailOutbox outbox;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (outbox != null) {
+            outbox.stop();
+        }
+    }
+
+    @Test
+    void 모인_메일을_한_번에_전송() {
+        RecordingMailSender mailSender = new RecordingMailSender();
+        mailSender.setHost(greenMail.getSmtp().getBindTo());
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        outbox = new MailOutbox(mailSender, 100, 1, 20, 1000);
+
+        // 발송 스레드 시작 전에 넣어서 한 배치로 모이게 함
+        for (int i = 1; i <= 5; i++) {
+            outbox.enqueue(message("user" + i + "@swu.ac.kr"));
+        }
+        outbox.start();
+
+        assertThat(greenMail.waitForIncomingEmail(5_000, 5)).isTrue();
+        assertThat(greenMail.getReceivedMessages()).hasSize(5);
+        assertThat(mailSender.calls).hasSize(1);
+        assertThat(mailSender.calls.get(0)).hasSize(5);
+        awaitStats(stats -> stats.sent() == 5);
+        assertThat(outbox.getStats().retried()).isZero();
+    }
+
+    @Test
+    void 일부만_실패하면_실패한_메일만_재시도() {
+        SimpleMailMessage first = message("user1@swu.ac.kr");
+        SimpleMailMessage second = message("user2@swu.ac.kr");
+        SimpleMailMessage third = message("user3@swu.ac.kr");
+        RecordingMailSender mailSender = new RecordingMailSender() {
+            @Override
+            protected void onSend(SimpleMailMessage[] messages) {
+                if (calls.size() == 1) {
+                    throw new MailSendException("일부 전송 실패", null,
+                            Map.of(second, new MessagingException("452 Too many recipients")));
+                }
+            }
+        };
+        outbox = new MailOutbox(mailSender, 100, 1, 20, 1000);
+
+        outbox.enqueue(first);
+        outbox.enqueue(second);
+        outbox.enqueue(third);
+        outbox.start();
+
+        MailOutbox.Stats stats = awaitStats(s -> s.sent() == 3);
+        assertThat(mailSender.calls).hasSize(2);
+        assertThat(mailSender.calls.get(0)).containsExactly(first, second, third);
+        assertThat(mailSender.calls.get(1)).containsExactly(second);
+        assertThat(stats.retried()).isEqualTo(1);
+        assertThat(stats.failed()).isZero();
+    }
+
+    @Test
+    void 인증_실패는_재시도하지_않음() {
+        RecordingMailSender mailSender = new RecordingMailSender() {
+            @Override
+            protected void onSend(SimpleMailMessage[] messages) {
+                throw new MailAuthenticationException("535 Authentication failed");
+            }
+        };
+        outbox = new MailOutbox(mailSender, 100, 1, 20, 1000);
+
+        outbox.enqueue(message("user1@swu.ac.kr"));
+        outbox.enqueue(message("user2@swu.ac.kr"));
+        outbox.start();
+
+        MailOutbox.Stats stats = awaitStats(s -> s.failed() == 2);
+        assertThat(mailSender.calls).hasSize(1);
+        assertThat(stats.retried()).isZero();
+        assertThat(stats.sent()).isZero();
+    }
+
+    @Test
+    void 발송함이_가득_차면_MailQueueFullException() {
+        outbox = new MailOutbox(new RecordingMailSender(), 2, 1, 20, 1);
+
+        outbox.enqueue(message("user1@swu.ac.kr"));
+        outbox.enqueue(message("user2@swu.ac.kr"));
+
+        assertThatThrownBy(() -> outbox.enqueue(message("user3@swu.ac.kr")))
+                .isInstanceOf(MailQueueFullException.class)
+                .satisfies(e -> assertThat(((MailQueueFullException) e).getRetryAfterSeconds()).isPositive());
+        assertThat(outbox.getStats().rejected()).isEqualTo(1);
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@swu.ac.kr");
+        message.setTo(to);
+        message.setSubject("[슈슝] 이메일 인증 코드");
+        message.setText("인증 코드: 123456");
+        return message;
+    }
+
+    private MailOutbox.Stats awaitStats(Predicate<MailOutbox.Stats> condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            MailOutbox.Stats stats = outbox.getStats();
+            if (condition.test(stats)) {
+                return stats;
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        throw new AssertionError("발송 통계가 기대한 상태가 되지 않음: " + outbox.getStats());
+    }
+
+    // 배치 전송 호출을 기록하는 JavaMailSender (onSend에서 예외를 던지지 않으면 실제로 전송)
+    private static class RecordingMailSender extends JavaMailSenderImpl {
+
+        final List<List<SimpleMailMessage>> calls = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SimpleMailMessage... simpleMessages) {
+            calls.add(List.of(simpleMessages));
+            onSend(simpleMessages);
+            if (getHost() != null) {
+                super.send(simpleMessages);
+            }
+        }
+
+        protected void onSend(SimpleMailMessage[] messages) {
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package taxi.tago.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserPresenceIndexTest {
+
+    // 타임 휠 한 칸(5초) / 칸 수(38)와 같은 값 (expire()가 처리하는 칸에 맞춰 활동 시각을 잡기 위함)
+    private static final long TICK_MILLIS = 5_000L;
+    private static final long WHEEL_MILLIS = (UserPresenceIndex.ACTIVE_WINDOW_MILLIS / TICK_MILLIS + 2) * TICK_MILLIS;
+
+    // 서울여대 정문 근처
+    private static final double LAT = 37.6286;
+    private static final double LON = 127.0903;
+
+    private final UserPresenceIndex index = new UserPresenceIndex();
+
+    @Test
+    void 사각형_영역_안의_접속_유저만_조회() {
+        long now = System.currentTimeMillis();
+        index.update(1L, LAT, LON, now);
+        index.update(2L, LAT + 0.005, LON + 0.005, now);
+        index.update(3L, LAT + 0.1, LON, now); // 영역 밖 (약 11km 북쪽)
+
+        List<UserPresenceIndex.Presence> found = index.findActiveInBox(LAT - 0.01, LON - 0.01, LAT + 0.01, LON + 0.01, now);
+
+        assertThat(found).extracting(UserPresenceIndex.Presence::userId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void 반경_안의_접속_유저만_조회() {
+        long now = System.currentTimeMillis();
+        index.update(1L, LAT, LON, now);
+        index.update(2L, LAT + 0.004, LON, now); // 약 445m
+        index.update(3L, LAT + 0.004, LON + 0.005, now); // 대각선 약 630m (사각형 후보에는 들어가지만 반경 밖)
+
+        List<UserPresenceIndex.Presence> found = index.findActiveWithin(LAT, LON, 500, now);
+
+        assertThat(found).extracting(UserPresenceIndex.Presence::userId).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void 위치가_바뀌면_이전_격자_칸에서_빠짐() {
+        long now = System.currentTimeMillis();
+        index.update(1L, LAT, LON, now);
+        index.update(1L, LAT + 1.0, LON, now);
+
+        assertThat(index.findActiveWithin(LAT, LON, 1_000, now)).isEmpty();
+        assertThat(index.findActiveWithin(LAT + 1.0, LON, 1_000, now))
+                .extracting(UserPresenceIndex.Presence::userId).containsExactly(1L);
+    }
+
+    @Test
+    void 지구_전체_영역도_사용_중인_칸만_훑어서_조회() {
+        long now = System.currentTimeMillis();
+        index.update(1L, LAT, LON, now);
+        index.update(2L, -33.8688, 151.2093, now);
+
+        List<UserPresenceIndex.Presence> found = index.findActiveInBox(
+                -Double.MAX_VALUE, -Double.MAX_VALUE, Double.MAX_VALUE, Double.MAX_VALUE, now);
+
+        assertThat(found).extracting(UserPresenceIndex.Presence::userId).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.findActiveInBox(Double.NaN, LON, LAT, LON, now)).isEmpty();
+    }
+
+    @Test
+    void 활동_시간이_지난_유저는_조회되지_않음() {
+        long now = System.currentTimeMillis();
+        index.update(1L, LAT, LON, now - UserPresenceIndex.ACTIVE_WINDOW_MILLIS);
+        index.update(2L, LAT, LON, now - UserPresenceIndex.ACTIVE_WINDOW_MILLIS + 1_000);
+
+        assertThat(index.get(1L, now)).isNull();
+        assertThat(index.get(2L, now)).isNotNull();
+        assertThat(index.findActiveWithin(LAT, LON, 100, now))
+                .extracting(UserPresenceIndex.Presence::userId).containsExactly(2L);
+    }
+
+    @Test
+    void 타임_휠이_활동_시간이_지난_유저를_제거() {
+        expireUntil(() -> {
+            long now = System.currentTimeMillis();
+            // 다음 expire()가 처리할 칸에 들어가는 활동 시각 (이미 활동 시간이 지남)
+            index.update(1L, LAT, LON, now + TICK_MILLIS - WHEEL_MILLIS);
+        }, () -> index.size() == 0);
+
+        assertThat(index.findActiveInBox(-90, -180, 90, 180, System.currentTimeMillis())).isEmpty();
+    }
+
+    @Test
+    void 다시_활동한_유저는_이전_칸이_만료돼도_남음() {
+        expireUntil(() -> {
+            long now = System.currentTimeMillis();
+            index.update(1L, LAT, LON, now + TICK_MILLIS - WHEEL_MILLIS);
+            index.update(1L, LAT, LON, now);
+        }, () -> true);
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.get(1L, System.currentTimeMillis())).isNotNull();
+    }
+
+    // 기록 후 바로 expire() 실행 (그 사이 타임 휠 칸 경계를 넘으면 다른 칸을 처리하므로 다시 시도)
+    private void expireUntil(Runnable record, BooleanSupplier done) {
+        for (int attempt = 0; attempt < 3; attempt++) {
+            record.run();
+            index.expire();
+            if (done.getAsBoolean()) {
+                return;
+            }
+        }
+        throw new AssertionError("타임 휠 만료 처리가 기대한 결과를 내지 않음: size=" + index.size());
+    }
+}
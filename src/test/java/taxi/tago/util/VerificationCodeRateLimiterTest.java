@@ -0,0 +1,94 @@
+package taxi.tago.util;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VerificationCodeRateLimiterTest {
+
+    @Test
+    void 이메일별로_burst만큼_허용하고_초과하면_Retry_After와_함께_거부() {
+        VerificationCodeRateLimiter limiter = new VerificationCodeRateLimiter(3, 60, 100, 1, 1000, false);
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("user@swu.ac.kr", request).allowed()).isTrue();
+        }
+        VerificationCodeRateLimiter.Decision rejected = limiter.tryAcquire("USER@swu.ac.kr ", request);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isBetween(1L, 60L);
+        assertThat(limiter.tryAcquire("other@swu.ac.kr", request).allowed()).isTrue();
+        assertThat(limiter.getStats().rejectedByEmail()).isEqualTo(1);
+    }
+
+    @Test
+    void IP별로_burst만큼_허용() {
+        VerificationCodeRateLimiter limiter = new VerificationCodeRateLimiter(10, 60, 2, 60, 1000, false);
+
+        assertThat(limiter.tryAcquire("a@swu.ac.kr", request("10.0.0.1")).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("b@swu.ac.kr", request("10.0.0.1")).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("c@swu.ac.kr", request("10.0.0.1")).allowed()).isFalse();
+        assertThat(limiter.tryAcquire("c@swu.ac.kr", request("10.0.0.2")).allowed()).isTrue();
+        assertThat(limiter.getStats().rejectedByIp()).isEqualTo(1);
+    }
+
+    @Test
+    void 이메일_제한으로_거부되면_IP_토큰은_돌려줌() {
+        VerificationCodeRateLimiter limiter = new VerificationCodeRateLimiter(1, 60, 2, 60, 1000, false);
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        assertThat(limiter.tryAcquire("a@swu.ac.kr", request).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("a@swu.ac.kr", request).allowed()).isFalse();
+
+        // IP 토큰이 돌려졌으므로 다른 이메일 하나는 더 허용
+        assertThat(limiter.tryAcquire("b@swu.ac.kr", request).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("c@swu.ac.kr", request).allowed()).isFalse();
+    }
+
+    @Test
+    void 시간이_지나면_토큰이_다시_참() throws InterruptedException {
+        VerificationCodeRateLimiter limiter = new VerificationCodeRateLimiter(1, 1, 100, 1, 1000, false);
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        assertThat(limiter.tryAcquire("user@swu.ac.kr", request).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("user@swu.ac.kr", request).allowed()).isFalse();
+
+        Thread.sleep(1_100);
+
+        assertThat(limiter.tryAcquire("user@swu.ac.kr", request).allowed()).isTrue();
+    }
+
+    @Test
+    void 돌려준_토큰은_다시_사용_가능() {
+        VerificationCodeRateLimiter limiter = new VerificationCodeRateLimiter(1, 60, 1, 60, 1000, false);
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        assertThat(limiter.tryAcquire("user@swu.ac.kr", request).allowed()).isTrue();
+        limiter.refund("user@swu.ac.kr", request);
+
+        assertThat(limiter.tryAcquire("user@swu.ac.kr", request).allowed()).isTrue();
+        assertThat(limiter.tryAcquire("user@swu.ac.kr", request).allowed()).isFalse();
+        assertThat(limiter.getStats().refunded()).isEqualTo(1);
+    }
+
+    @Test
+    void 가득_찬_버킷은_정리됨() throws InterruptedException {
+        VerificationCodeRateLimiter limiter = new VerificationCodeRateLimiter(1, 1, 1, 1, 1000, false);
+        limiter.tryAcquire("user@swu.ac.kr", request("10.0.0.1"));
+        assertThat(limiter.getStats().emailKeys()).isEqualTo(1);
+
+        Thread.sleep(1_100);
+        limiter.cleanup();
+
+        assertThat(limiter.getStats().emailKeys()).isZero();
+        assertThat(limiter.getStats().ipKeys()).isZero();
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        return request;
+    }
+}